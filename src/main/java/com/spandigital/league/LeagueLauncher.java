@@ -0,0 +1,159 @@
+package com.spandigital.league;
+
+import com.spandigital.league.cli.BatchOptions;
+import com.spandigital.league.config.LeagueSettings;
+import com.spandigital.league.match.BatchProcessor;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Entry point of the packaged application. Batch runs (an --input argument) are processed straight away
+ * by a {@link BatchProcessor}, without starting a Spring context; for small files that startup would
+ * dominate the run. That processor gets the {@link LeagueSettings} Spring would bind: the packaged
+ * application.properties, overridden by environment variables (e.g. LEAGUE_OUTPUT_TOP), system
+ * properties and --league.* arguments, in that order. Configuration only Spring resolves (an
+ * application.properties or application.yml next to the jar or in ./config, spring.config.*,
+ * spring.profiles.* and spring.application.json settings, other dotted arguments) starts
+ * {@link LeagueApplication}, as does everything else, including the interactive menu.
+ */
+public final class LeagueLauncher {
+
+    private static final List<String> CONFIG_FILES = List.of("application.properties", "application.yml", "application.yaml");
+
+    private LeagueLauncher() {
+    }
+
+    public static void main(String[] args) {
+        if (BatchOptions.isBatch(args) && !needsSpring(args, System.getenv(), System.getProperties(), Path.of(""))) {
+            int status = batch(args);
+            if (status != 0) {
+                System.exit(status);
+            }
+            return;
+        }
+        // Spring takes the main class (and its AOT initializer) from the innermost main method
+        LeagueApplication.main(args);
+    }
+
+    /**
+     * Processes a batch run without Spring. Invalid options and unreadable inputs or unwritable outputs are
+     * reported as a single line on standard error rather than a stack trace.
+     *
+     * @param args The command line arguments
+     * @return The exit status: 0, or 1 if the run failed
+     */
+    static int batch(String[] args) {
+        try {
+            new BatchProcessor(settings(args, System.getenv(), System.getProperties()))
+                    .process(BatchOptions.parse(args));
+            return 0;
+        } catch (IllegalArgumentException | UncheckedIOException e) {
+            System.err.println(e.getMessage());
+            return 1;
+        }
+    }
+
+    /**
+     * Binds the league settings as the Spring context would: the packaged application.properties, overridden
+     * by environment variables, system properties and --league.*=value arguments. Environment variables
+     * are matched by their relaxed names, e.g. LEAGUE_OUTPUT_ECHOMATCHES or LEAGUE_OUTPUT_ECHO_MATCHES for
+     * league.output.echo-matches, and placeholders may refer to any variable or property.
+     *
+     * @param args The command line arguments
+     * @param environment The environment variables, usually {@link System#getenv()}
+     * @param systemProperties The system properties, usually {@link System#getProperties()}
+     * @return The bound settings
+     * @throws IllegalArgumentException If a setting has an invalid value
+     */
+    static LeagueSettings settings(String[] args, Map<String, String> environment, Properties systemProperties) {
+        Properties properties = LeagueSettings.packagedProperties();
+        properties.putAll(environment);
+        for (String name : LeagueSettings.names()) {
+            for (String variable : environmentNames(name)) {
+                String value = environment.get(variable);
+                if (value != null) {
+                    properties.setProperty(name, value);
+                    break;
+                }
+            }
+        }
+        for (String name : systemProperties.stringPropertyNames()) {
+            properties.setProperty(name, systemProperties.getProperty(name));
+        }
+        for (String arg : args) {
+            int equals = arg.indexOf('=');
+            if (arg.startsWith("--") && equals > 0 && LeagueSettings.names().contains(arg.substring(2, equals))) {
+                properties.setProperty(arg.substring(2, equals), arg.substring(equals + 1));
+            }
+        }
+        return LeagueSettings.bind(properties);
+    }
+
+    /**
+     * Whether configuration is present that only the Spring context resolves. Environment variables and
+     * system properties of the league settings are bound by {@link #settings} and do not count.
+     *
+     * @param args The command line arguments
+     * @param environment The environment variables
+     * @param systemProperties The system properties
+     * @param workingDirectory The directory Spring looks for external configuration in
+     * @return true if there are spring.config.*, spring.profiles.* or spring.application.json settings,
+     *         dotted arguments other than --league.*=value ones, or an external application.properties
+     *         or application.yml
+     */
+    static boolean needsSpring(String[] args, Map<String, String> environment, Properties systemProperties,
+                               Path workingDirectory) {
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                int equals = arg.indexOf('=');
+                String name = arg.substring(2, equals < 0 ? arg.length() : equals);
+                if (name.contains(".") && (equals < 0 || !LeagueSettings.names().contains(name))) {
+                    return true;
+                }
+            }
+        }
+        for (String name : environment.keySet()) {
+            if (name.startsWith("SPRING_CONFIG_") || name.startsWith("SPRING_PROFILES_")
+                    || name.equals("SPRING_APPLICATION_JSON")) {
+                return true;
+            }
+        }
+        for (String name : systemProperties.stringPropertyNames()) {
+            if (name.startsWith("spring.config.") || name.startsWith("spring.profiles.")
+                    || name.equals("spring.application.json")) {
+                return true;
+            }
+        }
+        return hasConfigFile(workingDirectory) || hasConfigFile(workingDirectory.resolve("config"))
+                || hasConfigSubdirectory(workingDirectory.resolve("config"));
+    }
+
+    // The environment variable names Spring binds to a setting, most specific first
+    private static List<String> environmentNames(String name) {
+        String upper = name.toUpperCase(Locale.ROOT).replace('.', '_');
+        return List.of(name, upper.replace("-", ""), upper.replace('-', '_'));
+    }
+
+    private static boolean hasConfigFile(Path directory) {
+        return CONFIG_FILES.stream().anyMatch(file -> Files.exists(directory.resolve(file)));
+    }
+
+    // Spring also reads the config files of every direct subdirectory of ./config
+    private static boolean hasConfigSubdirectory(Path config) {
+        if (!Files.isDirectory(config)) {
+            return false;
+        }
+        try (var directories = Files.list(config)) {
+            return directories.filter(Files::isDirectory).anyMatch(LeagueLauncher::hasConfigFile);
+        } catch (IOException e) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.spandigital.league.archive;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A binary, columnar archive of match results, written by {@link MatchArchiveWriter}.
+ * Layout (little-endian):
+ * <pre>
+ *   int   magic ("LGAR")
+ *   int   format version
+ *   int   team count
+ *   int   team dictionary size in bytes
+ *   long  match count
+ *   team dictionary: per team id, an int byte length followed by the UTF-8 name
+ *   zero padding to a 4-byte boundary
+ *   int[match count] team A ids, int[match count] team B ids,
+ *   int[match count] team A scores, int[match count] team B scores
+ * </pre>
+ * Opening an archive only reads the header and dictionary; the columns are memory-mapped on demand,
+ * so reloading skips text parsing and name lookups entirely.
+ */
+public final class MatchArchive {
+
+    static final int MAGIC = 0x5241474C; // "LGAR" read as a little-endian int
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 24;
+    static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    public static final int TEAM_A = 0;
+    public static final int TEAM_B = 1;
+    public static final int SCORE_A = 2;
+    public static final int SCORE_B = 3;
+    /** Most matches one column mapping may cover, keeping it below the 2 GB limit of a single mapping. */
+    public static final int MAX_MAPPED_MATCHES = 1 << 28;
+
+    private final String[] teams;
+    private final long matchCount;
+    private final long columnsOffset;
+
+    private MatchArchive(String[] teams, long matchCount, long columnsOffset) {
+        this.teams = teams;
+        this.matchCount = matchCount;
+        this.columnsOffset = columnsOffset;
+    }
+
+    /**
+     * Reads the header and team dictionary of an archive.
+     *
+     * @param channel A channel of the archive file
+     * @return The archive
+     * @throws IOException If the file cannot be read or is not a match archive
+     */
+    public static MatchArchive open(FileChannel channel) throws IOException {
+        ByteBuffer header = read(channel, 0, HEADER_SIZE);
+        if (header.getInt() != MAGIC) {
+            throw new IOException("Not a match archive");
+        }
+        int version = header.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported match archive version " + version);
+        }
+        int teamCount = header.getInt();
+        int dictionarySize = header.getInt();
+        long matchCount = header.getLong();
+        if (teamCount < 0 || dictionarySize < 0 || dictionarySize > channel.size() - HEADER_SIZE || matchCount < 0) {
+            throw new IOException("Corrupt match archive header");
+        }
+
+        // The whole dictionary is read at once; names are decoded straight from the buffer
+        ByteBuffer dictionary = read(channel, HEADER_SIZE, dictionarySize);
+        byte[] bytes = dictionary.array();
+        String[] teams = new String[teamCount];
+        for (int team = 0; team < teamCount; team++) {
+            int length = dictionary.remaining() >= Integer.BYTES ? dictionary.getInt() : -1;
+            if (length < 0 || length > dictionary.remaining()) {
+                throw new IOException("Corrupt match archive dictionary");
+            }
+            teams[team] = new String(bytes, dictionary.position(), length, StandardCharsets.UTF_8);
+            dictionary.position(dictionary.position() + length);
+        }
+        long columnsOffset = align(HEADER_SIZE + (long) dictionarySize);
+        if (columnsOffset + 4L * Integer.BYTES * matchCount > channel.size()) {
+            throw new IOException("Truncated match archive");
+        }
+        return new MatchArchive(teams, matchCount, columnsOffset);
+    }
+
+    /**
+     * @return Team names indexed by the team ids stored in the columns
+     */
+    public String[] teams() {
+        return teams.clone();
+    }
+
+    public int teamCount() {
+        return teams.length;
+    }
+
+    public long matchCount() {
+        return matchCount;
+    }
+
+    /**
+     * Memory-maps a range of one column.
+     *
+     * @param channel A channel of the archive file
+     * @param column {@link #TEAM_A}, {@link #TEAM_B}, {@link #SCORE_A} or {@link #SCORE_B}
+     * @param from The first match of the range
+     * @param to The end (exclusive) of the range, at most {@link #MAX_MAPPED_MATCHES} after from
+     * @return The column values of the range, indexed from 0
+     * @throws IOException If the file cannot be mapped
+     */
+    public IntBuffer column(FileChannel channel, int column, long from, long to) throws IOException {
+        long offset = columnsOffset + ((long) column * matchCount + from) * Integer.BYTES;
+        return channel.map(FileChannel.MapMode.READ_ONLY, offset, (to - from) * Integer.BYTES)
+                      .order(BYTE_ORDER)
+                      .asIntBuffer();
+    }
+
+    static long align(long position) {
+        return (position + Integer.BYTES - 1) & -Integer.BYTES;
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(BYTE_ORDER);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Truncated match archive");
+            }
+        }
+        return buffer.flip();
+    }
+}
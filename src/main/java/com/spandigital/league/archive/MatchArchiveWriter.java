@@ -0,0 +1,200 @@
+package com.spandigital.league.archive;
+
+import com.spandigital.league.standings.MatchSink;
+import com.spandigital.league.standings.TeamDictionary;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes every match it receives to a {@link MatchArchive}, e.g. alongside the standings during a CSV import.
+ * The match count is only known at the end, so each column is streamed to its own temporary file next to
+ * the archive; {@link #close()} writes the header and team dictionary and appends the columns. The archive
+ * only appears under its final name once complete, and {@link #abort()} leaves an existing one untouched.
+ * Not thread-safe.
+ */
+public class MatchArchiveWriter implements MatchSink, Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int COLUMNS = 4;
+
+    private final Path archive;
+    private final TeamDictionary teams = new TeamDictionary();
+    private final Path[] columnFiles = new Path[COLUMNS];
+    private final FileChannel[] columns = new FileChannel[COLUMNS];
+    private final ByteBuffer[] buffers = new ByteBuffer[COLUMNS];
+    private long matchCount;
+    private boolean closed;
+
+    private MatchArchiveWriter(Path archive) {
+        this.archive = archive.toAbsolutePath();
+    }
+
+    /**
+     * @param archive The archive file to write; replaced when the writer is closed
+     * @return A writer for the archive
+     * @throws IOException If the temporary column files cannot be created
+     */
+    public static MatchArchiveWriter create(Path archive) throws IOException {
+        MatchArchiveWriter writer = new MatchArchiveWriter(archive);
+        try {
+            for (int column = 0; column < COLUMNS; column++) {
+                writer.columnFiles[column] = Files.createTempFile(writer.archive.getParent(),
+                        writer.archive.getFileName().toString(), ".column" + column);
+                writer.columns[column] = FileChannel.open(writer.columnFiles[column],
+                        StandardOpenOption.READ, StandardOpenOption.WRITE);
+                writer.buffers[column] = ByteBuffer.allocateDirect(BUFFER_SIZE).order(MatchArchive.BYTE_ORDER);
+            }
+        } catch (IOException e) {
+            writer.deleteColumns();
+            throw e;
+        }
+        return writer;
+    }
+
+    @Override
+    public void accept(String teamA, int scoreA, String teamB, int scoreB) {
+        put(MatchArchive.TEAM_A, teams.idOf(teamA));
+        put(MatchArchive.TEAM_B, teams.idOf(teamB));
+        put(MatchArchive.SCORE_A, scoreA);
+        put(MatchArchive.SCORE_B, scoreB);
+        matchCount++;
+    }
+
+    public long matchCount() {
+        return matchCount;
+    }
+
+    /**
+     * Completes the archive: writes the header and dictionary, appends the columns and moves the
+     * archive into place. The temporary column files are always removed.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            for (int column = 0; column < COLUMNS; column++) {
+                drain(column);
+            }
+            Path partial = Files.createTempFile(archive.getParent(), archive.getFileName().toString(), ".partial");
+            try {
+                writeArchive(partial);
+                Files.move(partial, archive, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(partial);
+            }
+        } finally {
+            deleteColumns();
+        }
+    }
+
+    /**
+     * Discards the matches written so far, e.g. when reading the input failed part-way: the temporary
+     * column files are removed and the archive is left as it was. Closing afterwards does nothing.
+     *
+     * @throws IOException If a temporary column file cannot be closed or deleted
+     */
+    public void abort() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        deleteColumns();
+    }
+
+    private void writeArchive(Path file) throws IOException {
+        try (FileChannel out = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            byte[][] names = new byte[teams.size()][];
+            long dictionarySize = 0;
+            for (int team = 0; team < names.length; team++) {
+                names[team] = teams.name(team).getBytes(StandardCharsets.UTF_8);
+                dictionarySize += Integer.BYTES + names[team].length;
+            }
+            if (dictionarySize > Integer.MAX_VALUE - MatchArchive.HEADER_SIZE) {
+                throw new IOException("Team dictionary too large for a match archive");
+            }
+
+            ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE).order(MatchArchive.BYTE_ORDER);
+            buffer.putInt(MatchArchive.MAGIC)
+                  .putInt(MatchArchive.VERSION)
+                  .putInt(names.length)
+                  .putInt((int) dictionarySize)
+                  .putLong(matchCount);
+            for (byte[] name : names) {
+                if (buffer.remaining() < Integer.BYTES + name.length) {
+                    buffer = write(out, buffer, Integer.BYTES + name.length);
+                }
+                buffer.putInt(name.length).put(name);
+            }
+            long padding = MatchArchive.align(MatchArchive.HEADER_SIZE + dictionarySize)
+                    - (MatchArchive.HEADER_SIZE + dictionarySize);
+            if (buffer.remaining() < padding) {
+                buffer = write(out, buffer, 0);
+            }
+            for (int i = 0; i < padding; i++) {
+                buffer.put((byte) 0);
+            }
+            write(out, buffer, 0);
+
+            for (FileChannel column : columns) {
+                long size = column.size();
+                for (long position = 0; position < size; ) {
+                    position += column.transferTo(position, size - position, out);
+                }
+            }
+        }
+    }
+
+    // Writes the buffered bytes and returns a buffer with room for at least the given number of bytes
+    private static ByteBuffer write(FileChannel out, ByteBuffer buffer, int room) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+        buffer.clear();
+        return room > buffer.capacity() ? ByteBuffer.allocate(room).order(MatchArchive.BYTE_ORDER) : buffer;
+    }
+
+    private void put(int column, int value) {
+        ByteBuffer buffer = buffers[column];
+        if (!buffer.hasRemaining()) {
+            drain(column);
+        }
+        buffer.putInt(value);
+    }
+
+    private void drain(int column) {
+        ByteBuffer buffer = buffers[column];
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                columns[column].write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.clear();
+    }
+
+    private void deleteColumns() throws IOException {
+        for (int column = 0; column < COLUMNS; column++) {
+            if (columns[column] != null) {
+                columns[column].close();
+            }
+            if (columnFiles[column] != null) {
+                Files.deleteIfExists(columnFiles[column]);
+            }
+        }
+    }
+}
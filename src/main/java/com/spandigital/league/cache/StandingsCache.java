@@ -0,0 +1,341 @@
+package com.spandigital.league.cache;
+
+import com.spandigital.league.standings.StandingsTable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * An on-disk cache of computed standings, keyed by the input files they were computed from, so repeat
+ * runs over unchanged historical files skip reading and parsing altogether.
+ * <p>
+ * Inputs are fingerprinted in two steps. The fast fingerprint covers each file's absolute path, size and
+ * modification time and costs one stat per file; like make or rsync, it trusts that a file whose size and
+ * modification time are unchanged has unchanged contents. When the fast fingerprint is unknown but an
+ * entry was stored for files of the same sizes, e.g. because a file was touched or copied, the files are
+ * hashed with SHA-256 and looked up by their content. Otherwise the contents are new and the lookup is a
+ * miss without reading them; their hash is then computed in the background while the caller reads the
+ * files, instead of after it. Standings are stored under the content hash, with small key and sizes files
+ * mapping the fast fingerprint and the file sizes to it, so the next run over the same files is a hit
+ * without reading them.
+ * <p>
+ * Every hit refreshes the entry's modification time; once there are more than maxEntries entries the
+ * least recently used ones are evicted. Files are written under a temporary name and moved into place,
+ * so runs sharing a directory never see a partial entry. Tie-breakers are applied when printing and are
+ * not part of an entry.
+ */
+public class StandingsCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 64;
+    static final String ENTRY_SUFFIX = ".standings";
+    static final String KEY_SUFFIX = ".key";
+    static final String SIZES_SUFFIX = ".sizes";
+    private static final int MAGIC = 0x4C475343; // "LGSC"
+    // Part of every fingerprint and hash: bump it when parsing or the entry layout changes
+    private static final int VERSION = 2;
+    private static final int BUFFER_SIZE = 1 << 20;
+
+    private final Path directory;
+    private final int maxEntries;
+
+    /**
+     * @param directory The directory entries are stored in, created when needed
+     * @param maxEntries Most entries kept, 0 for {@value #DEFAULT_MAX_ENTRIES}
+     */
+    public StandingsCache(Path directory, int maxEntries) {
+        this.directory = directory;
+        this.maxEntries = maxEntries > 0 ? maxEntries : DEFAULT_MAX_ENTRIES;
+    }
+
+    /**
+     * @return The default cache directory, under java.io.tmpdir
+     */
+    public static Path defaultDirectory() {
+        return Path.of(System.getProperty("java.io.tmpdir"), "league-standings-cache");
+    }
+
+    /**
+     * Fingerprints the input files by path, size and modification time. Their contents are only hashed
+     * when {@link #get(Key)} does not know the fingerprint.
+     *
+     * @param files The input files, in the order they are processed
+     * @return The cache key of the files
+     * @throws IOException If a file cannot be accessed
+     */
+    public Key key(List<Path> files) throws IOException {
+        List<Path> absolute = files.stream().map(file -> file.toAbsolutePath().normalize()).toList();
+        return new Key(absolute, fingerprint(absolute), sizes(absolute));
+    }
+
+    /**
+     * Looks up the standings computed from the key's files. Files are only hashed here when an entry was
+     * stored for files of the same sizes; on a miss for new contents the hash {@link #put(Key, StandingsTable)}
+     * needs is computed in the background, while the caller reads the files.
+     *
+     * @param key The key of the input files
+     * @return The cached standings, or null when none are cached
+     * @throws IOException If the files cannot be hashed or the cache directory cannot be accessed
+     */
+    public StandingsTable get(Key key) throws IOException {
+        Path keyFile = directory.resolve(key.fingerprint + KEY_SUFFIX);
+        String contentHash = readKeyFile(keyFile);
+        boolean known = contentHash != null;
+        if (known) {
+            key.contentHash = CompletableFuture.completedFuture(contentHash);
+        } else if (readKeyFile(directory.resolve(key.sizes + SIZES_SUFFIX)) != null) {
+            contentHash = key.contentHash();
+        } else {
+            key.hashInBackground();
+            return null;
+        }
+
+        Path entry = directory.resolve(contentHash + ENTRY_SUFFIX);
+        StandingsTable standings = readEntry(entry);
+        if (standings == null) {
+            return null;
+        }
+        Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+        if (!known) {
+            writeKeyFile(keyFile, contentHash);
+        }
+        return standings;
+    }
+
+    /**
+     * Stores standings computed from the key's files and evicts the least recently used entries beyond
+     * maxEntries. Nothing is stored when a file changed since the key was taken, as the standings may
+     * then reflect neither version.
+     *
+     * @param key The key of the input files, taken before they were read and passed to {@link #get(Key)}
+     * @param standings The standings computed from the files
+     * @return Whether the standings were stored
+     * @throws IOException If the files cannot be hashed or the entry cannot be written
+     */
+    public boolean put(Key key, StandingsTable standings) throws IOException {
+        String contentHash = key.contentHash();
+        if (!fingerprint(key.files).equals(key.fingerprint)) {
+            return false;
+        }
+
+        Files.createDirectories(directory);
+        Path entry = directory.resolve(contentHash + ENTRY_SUFFIX);
+        Path temporary = Files.createTempFile(directory, contentHash, ".partial");
+        try {
+            try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                standings.writeTo(out);
+            }
+            Files.move(temporary, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+        writeKeyFile(directory.resolve(key.fingerprint + KEY_SUFFIX), contentHash);
+        writeKeyFile(directory.resolve(key.sizes + SIZES_SUFFIX), contentHash);
+        evict();
+        return true;
+    }
+
+    /**
+     * Removes the least recently used entries beyond maxEntries, and key and sizes files of entries that
+     * are gone.
+     */
+    private void evict() throws IOException {
+        record Use(Path entry, FileTime lastUse) {
+        }
+        List<Path> entries = list(ENTRY_SUFFIX);
+        if (entries.size() > maxEntries) {
+            List<Use> uses = new ArrayList<>(entries.size());
+            for (Path entry : entries) {
+                FileTime lastUse = lastModified(entry);
+                if (lastUse != null) {
+                    uses.add(new Use(entry, lastUse));
+                }
+            }
+            uses.sort(Comparator.comparing(Use::lastUse).reversed());
+            for (Use use : uses.subList(Math.min(maxEntries, uses.size()), uses.size())) {
+                Files.deleteIfExists(use.entry());
+            }
+        }
+
+        for (String suffix : List.of(KEY_SUFFIX, SIZES_SUFFIX)) {
+            for (Path keyFile : list(suffix)) {
+                String contentHash = readKeyFile(keyFile);
+                if (contentHash != null && !Files.exists(directory.resolve(contentHash + ENTRY_SUFFIX))) {
+                    Files.deleteIfExists(keyFile);
+                }
+            }
+        }
+    }
+
+    private List<Path> list(String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(suffix)).toList();
+        }
+    }
+
+    private static FileTime lastModified(Path file) throws IOException {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (NoSuchFileException e) {
+            // Evicted by another run in the meantime
+            return null;
+        }
+    }
+
+    private static StandingsTable readEntry(Path entry) throws IOException {
+        if (!Files.exists(entry)) {
+            return null;
+        }
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(entry)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not a standings cache entry");
+            }
+            return StandingsTable.readFrom(in);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            // A corrupt or outdated entry is a miss; it is replaced once the standings are recomputed
+            Files.deleteIfExists(entry);
+            return null;
+        }
+    }
+
+    private static String readKeyFile(Path keyFile) throws IOException {
+        try {
+            return Files.readString(keyFile, StandardCharsets.US_ASCII).strip();
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    private void writeKeyFile(Path keyFile, String contentHash) throws IOException {
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, keyFile.getFileName().toString(), ".partial");
+        try {
+            Files.writeString(temporary, contentHash, StandardCharsets.US_ASCII);
+            Files.move(temporary, keyFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private static String fingerprint(List<Path> files) throws IOException {
+        MessageDigest digest = sha256();
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(VERSION).flip());
+        ByteBuffer numbers = ByteBuffer.allocate(3 * Long.BYTES);
+        for (Path file : files) {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            byte[] path = file.toString().getBytes(StandardCharsets.UTF_8);
+            numbers.clear()
+                   .putLong(path.length)
+                   .putLong(attributes.size())
+                   .putLong(attributes.lastModifiedTime().to(TimeUnit.NANOSECONDS));
+            digest.update(numbers.flip());
+            digest.update(path);
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    // The file sizes in order, without paths or times, so touched and copied files of unchanged sizes match
+    private static String sizes(List<Path> files) throws IOException {
+        MessageDigest digest = sha256();
+        ByteBuffer numbers = ByteBuffer.allocate(Long.BYTES);
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(VERSION).flip());
+        for (Path file : files) {
+            digest.update(numbers.clear().putLong(Files.size(file)).flip());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    // Hashes each file on its own, so file boundaries are part of the hash, then hashes the file hashes
+    private static String contentHash(List<Path> files) throws IOException {
+        MessageDigest digest = sha256();
+        digest.update(ByteBuffer.allocate(Integer.BYTES).putInt(VERSION).flip());
+        MessageDigest fileDigest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        for (Path file : files) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                while (channel.read(buffer.clear()) >= 0) {
+                    fileDigest.update(buffer.flip());
+                }
+            }
+            digest.update(fileDigest.digest());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * Identifies a list of input files: their fast fingerprint, their sizes, and their content hash once
+     * computed or being computed.
+     */
+    public static final class Key {
+
+        private final List<Path> files;
+        private final String fingerprint;
+        private final String sizes;
+        private CompletableFuture<String> contentHash;
+
+        private Key(List<Path> files, String fingerprint, String sizes) {
+            this.files = files;
+            this.fingerprint = fingerprint;
+            this.sizes = sizes;
+        }
+
+        private void hashInBackground() {
+            contentHash = new CompletableFuture<>();
+            Thread.ofVirtual().name("standings-cache-hash").start(() -> {
+                try {
+                    contentHash.complete(StandingsCache.contentHash(files));
+                } catch (IOException | RuntimeException e) {
+                    contentHash.completeExceptionally(e);
+                }
+            });
+        }
+
+        private String contentHash() throws IOException {
+            if (contentHash == null) {
+                contentHash = CompletableFuture.completedFuture(StandingsCache.contentHash(files));
+            }
+            try {
+                return contentHash.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while hashing the input files", e);
+            } catch (ExecutionException e) {
+                throw e.getCause() instanceof IOException ioException ? ioException : new IOException(e.getCause());
+            }
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.spandigital.league.checkpoint;
+
+import com.spandigital.league.standings.StandingsTable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+
+/**
+ * The progress of an append-only CSV file: the offset just after the last complete line that was read,
+ * and the standings of every match before it. A later run over the grown file restores the standings
+ * and only reads from the offset on.
+ * <p>
+ * A checkpoint only applies while the file's first offset bytes are unchanged. Rather than re-reading
+ * all of them, it holds SHA-256 hashes of up to {@value #SAMPLE_SIZE} bytes at the start of the file and
+ * right before the offset, which catches truncated, rewritten and replaced files; an edit in the middle
+ * of a large file that leaves both samples alone goes unnoticed.
+ *
+ * @param offset The number of bytes read, ending with a line separator
+ * @param head The SHA-256 hash of the first bytes up to the offset
+ * @param tail The SHA-256 hash of the last bytes before the offset
+ * @param standings The standings of the matches before the offset
+ */
+public record Checkpoint(long offset, byte[] head, byte[] tail, StandingsTable standings) {
+
+    static final int SAMPLE_SIZE = 1 << 16;
+    private static final int MAGIC = 0x4C474350; // "LGCP"
+    private static final int VERSION = 1;
+    private static final int HASH_SIZE = 32;
+
+    /**
+     * Takes a checkpoint of a file read up to an offset.
+     *
+     * @param channel The file
+     * @param offset The number of bytes read
+     * @param standings The standings of the matches before the offset
+     * @return The checkpoint
+     * @throws IOException If the file cannot be read
+     */
+    public static Checkpoint of(FileChannel channel, long offset, StandingsTable standings) throws IOException {
+        return new Checkpoint(offset, head(channel, offset), tail(channel, offset), standings);
+    }
+
+    /**
+     * @param channel The file, now possibly longer
+     * @return Whether the file still starts with the bytes this checkpoint was taken of
+     * @throws IOException If the file cannot be read
+     */
+    public boolean matches(FileChannel channel) throws IOException {
+        return channel.size() >= offset
+                && Arrays.equals(head, head(channel, offset))
+                && Arrays.equals(tail, tail(channel, offset));
+    }
+
+    /**
+     * @param file A checkpoint file
+     * @return The checkpoint, or null when there is none
+     * @throws IOException If the file cannot be read or is not a checkpoint
+     */
+    public static Checkpoint read(Path file) throws IOException {
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not a checkpoint: " + file);
+            }
+            long offset = in.readLong();
+            byte[] head = new byte[HASH_SIZE];
+            in.readFully(head);
+            byte[] tail = new byte[HASH_SIZE];
+            in.readFully(tail);
+            if (offset < 0) {
+                throw new IOException("Corrupt checkpoint: " + file);
+            }
+            return new Checkpoint(offset, head, tail, StandingsTable.readFrom(in));
+        } catch (NoSuchFileException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Writes the checkpoint, replacing the file only once it is complete.
+     *
+     * @param file The checkpoint file
+     * @throws IOException If the file cannot be written
+     */
+    public void write(Path file) throws IOException {
+        Path absolute = file.toAbsolutePath();
+        Path partial = Files.createTempFile(absolute.getParent(), absolute.getFileName().toString(), ".partial");
+        try {
+            try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(partial)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(offset);
+                out.write(head);
+                out.write(tail);
+                standings.writeTo(out);
+            }
+            Files.move(partial, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(partial);
+        }
+    }
+
+    private static byte[] head(FileChannel channel, long offset) throws IOException {
+        return hash(channel, 0, Math.min(offset, SAMPLE_SIZE));
+    }
+
+    private static byte[] tail(FileChannel channel, long offset) throws IOException {
+        long length = Math.min(offset, SAMPLE_SIZE);
+        return hash(channel, offset - length, length);
+    }
+
+    private static byte[] hash(FileChannel channel, long position, long length) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate((int) length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                // The file is shorter than the range, which no longer matches anyway
+                break;
+            }
+        }
+        digest.update(buffer.flip());
+        return digest.digest();
+    }
+}
@@ -0,0 +1,317 @@
+package com.spandigital.league.cli;
+
+import com.spandigital.league.processor.MultiFileMatchProcessor;
+import com.spandigital.league.standings.TieBreaker;
+import lombok.Builder;
+import lombok.Singular;
+
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Options of the non-interactive batch mode, parsed from the application arguments:
+ * <pre>
+ *   --input &lt;file&gt;        File, directory or glob pattern to read; repeatable (required).
+ *                        Directories and globs are read as CSV files, concurrently
+ *   --format &lt;format&gt;     csv (line by line), mapped (memory-mapped, parallel; the default)
+ *                        or archive (binary match archives)
+ *   --output &lt;file&gt;       File to write to instead of standard output
+ *   --archive &lt;file&gt;      Also write every processed match to a binary match archive
+ *   --parallelism &lt;n&gt;    Worker threads for the mapped and archive formats, defaults to the available processors
+ *   --top &lt;n&gt;            Only print the n best ranked teams
+ *   --tie-breakers &lt;list&gt; Ranking criteria in order, e.g. points,goal-difference,goals-for,name
+ *   --full-table         Print played, won, drawn, lost, goals for and against and goal difference too
+ *   --quiet              Do not echo every processed match
+ *   --metrics            Print read, parse, aggregate, rank and write metrics to standard error
+ *   --cache              Reuse the standings cached for unchanged inputs instead of reading them again;
+ *                        only applies with --quiet; not with --archive, --round or --positions
+ *   --checkpoint         Save progress next to each CSV file (as &lt;file&gt;.checkpoint) and only read the
+ *                        lines appended since the last run; not with --archive, --round or --positions
+ *   --serve &lt;port&gt;       Serve the standings as JSON and CSV on http://127.0.0.1:&lt;port&gt;/standings while
+ *                        the inputs are read and afterwards, until stopped; 0 picks a free port
+ *   --leagues            Read "League, TeamA ScoreA, TeamB ScoreB" lines into separate standings per league
+ *                        and print a summary and one table per league; matches are not echoed
+ *   --round &lt;n&gt;          Print the standings as they were after round n instead of at the end; a round
+ *                        is a run of matches in which no team plays twice
+ *   --positions          Also print every team's position after each round
+ *   --spill &lt;n&gt;          Keep at most n teams in memory, spilling partial standings to temporary files
+ *                        and merging the ranking from disk beyond that; 0 never spills
+ * </pre>
+ * Values may be given as {@code --option value} or {@code --option=value}, and flags may be switched off
+ * with {@code --flag=false}. Arguments containing a dot, like {@code --league.output.top=5}, are Spring
+ * properties and are left to Spring; any argument that is not an option is rejected, so quote globs.
+ *
+ * @param inputs The input files, directories or glob patterns, processed in order into one table
+ * @param format How the files are read
+ * @param output The output file, or null for standard output
+ * @param archive The match archive to write, or null for none
+ * @param parallelism Worker threads for the mapped and archive formats, 0 for the default
+ * @param top The number of teams to print, or null for the configured default
+ * @param tieBreakers The ranking criteria, or null for the configured default
+ * @param fullTable Whether the full table is printed instead of points only
+ * @param quiet Whether per-match echo lines are suppressed
+ * @param metrics Whether metrics are recorded and reported
+ * @param cache Whether standings are looked up in and stored to the standings cache
+ * @param checkpoint Whether CSV files are read incrementally from their checkpoints
+ * @param serve The port to serve the standings on, or null to not serve them
+ * @param leagues Whether matches are partitioned by the league they are tagged with
+ * @param round The round to print the standings after, or null for the end of the input
+ * @param positions Whether a chart of every team's position after each round is printed
+ * @param spill The most teams kept in memory before standings are spilled to disk, 0 to never spill, or
+ *              null for the configured default
+ */
+@Builder(toBuilder = true)
+public record BatchOptions(@Singular List<String> inputs, InputFormat format, Path output, Path archive,
+                           int parallelism, Integer top, List<TieBreaker> tieBreakers, boolean fullTable,
+                           boolean quiet, boolean metrics, boolean cache,
+                           boolean checkpoint, Integer serve, boolean leagues,
+                           Integer round, boolean positions, Integer spill) {
+
+    public static final String USAGE = "Usage: --input <file> [--input <file> ...] [--format csv|mapped|archive] "
+            + "[--output <file>] [--archive <file>] [--parallelism <n>] [--top <n>] [--tie-breakers <list>] "
+            + "[--full-table] [--quiet] [--metrics] [--cache] [--checkpoint] [--serve <port>] [--leagues] "
+            + "[--round <n>] [--positions] [--spill <n>]";
+
+    public enum InputFormat {
+        CSV,
+        MAPPED,
+        ARCHIVE
+    }
+
+    // The options that take part in the compatibility table, by the flag they are given with
+    private enum Option {
+        ARCHIVE_FORMAT("--format archive"),
+        MULTI_FILE_INPUT("a directory or glob --input"),
+        ARCHIVE("--archive"),
+        CHECKPOINT("--checkpoint"),
+        CACHE("--cache"),
+        SERVE("--serve"),
+        LEAGUES("--leagues"),
+        ROUND("--round"),
+        POSITIONS("--positions"),
+        SPILL("--spill");
+
+        private final String flag;
+
+        Option(String flag) {
+            this.flag = flag;
+        }
+    }
+
+    // The options without a value, which may still be given as --flag=true or --flag=false
+    private static final Set<String> FLAGS = Set.of("--quiet", "--full-table", "--metrics", "--cache",
+            "--checkpoint", "--leagues", "--positions");
+
+    private record Incompatibility(Set<Option> options, String reason) {
+    }
+
+    // The options each option cannot be combined with, and why
+    private static final Map<Option, Incompatibility> INCOMPATIBLE = Map.of(
+            Option.MULTI_FILE_INPUT, new Incompatibility(EnumSet.of(Option.ARCHIVE_FORMAT),
+                    "directories and glob patterns are read as CSV files"),
+            Option.CACHE, new Incompatibility(EnumSet.of(Option.ARCHIVE, Option.ROUND, Option.POSITIONS),
+                    "the cache holds the standings, not every match"),
+            Option.CHECKPOINT, new Incompatibility(
+                    EnumSet.of(Option.ARCHIVE_FORMAT, Option.MULTI_FILE_INPUT, Option.ARCHIVE, Option.ROUND,
+                            Option.POSITIONS),
+                    "a checkpoint is saved per CSV file and holds its standings, not every match"),
+            Option.LEAGUES, new Incompatibility(
+                    EnumSet.of(Option.ARCHIVE_FORMAT, Option.ARCHIVE, Option.CHECKPOINT, Option.CACHE, Option.SERVE,
+                            Option.ROUND, Option.POSITIONS, Option.SPILL),
+                    "leagues read CSV input into one table per league, the other options hold a single table"),
+            Option.SPILL, new Incompatibility(
+                    EnumSet.of(Option.ARCHIVE_FORMAT, Option.ARCHIVE, Option.CHECKPOINT, Option.CACHE, Option.SERVE,
+                            Option.ROUND, Option.POSITIONS),
+                    "spilled standings are read from CSV input and never held in memory as a whole table"));
+
+    /**
+     * @param args The application arguments
+     * @return Whether the arguments ask for batch mode, i.e. name at least one input file
+     */
+    public static boolean isBatch(String... args) {
+        for (String arg : args) {
+            if (arg.equals("--input") || arg.startsWith("--input=")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param args The application arguments
+     * @return The parsed options
+     * @throws IllegalArgumentException If an option is unknown, lacks a value or has an invalid value, or an
+     *                                  argument is not an option
+     */
+    public static BatchOptions parse(String... args) {
+        BatchOptionsBuilder options = builder().format(InputFormat.MAPPED);
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            if (!arg.startsWith("--")) {
+                // e.g. the further files of a shell-expanded "--input data/*.csv", which would be left out
+                throw new IllegalArgumentException("Unexpected argument " + arg + ". " + USAGE);
+            }
+            int equals = arg.indexOf('=');
+            String name = equals < 0 ? arg : arg.substring(0, equals);
+            if (name.contains(".")) {
+                continue;
+            }
+            if (FLAGS.contains(name)) {
+                boolean on = equals < 0 || flag(name, arg.substring(equals + 1));
+                switch (name) {
+                    case "--quiet" -> options.quiet(on);
+                    case "--full-table" -> options.fullTable(on);
+                    case "--metrics" -> options.metrics(on);
+                    case "--cache" -> options.cache(on);
+                    case "--checkpoint" -> options.checkpoint(on);
+                    case "--leagues" -> options.leagues(on);
+                    default -> options.positions(on);
+                }
+                continue;
+            }
+
+            String value;
+            if (equals >= 0) {
+                value = arg.substring(equals + 1);
+            } else if (i + 1 < args.length) {
+                value = args[++i];
+            } else {
+                throw new IllegalArgumentException("Missing value for " + name + ". " + USAGE);
+            }
+
+            switch (name) {
+                case "--input" -> options.input(value);
+                case "--format" -> options.format(format(value));
+                case "--output" -> options.output(Path.of(value));
+                case "--archive" -> options.archive(Path.of(value));
+                case "--parallelism" -> options.parallelism(number(name, value));
+                case "--top" -> options.top(number(name, value));
+                case "--tie-breakers" -> options.tieBreakers(tieBreakers(value));
+                case "--serve" -> options.serve(number(name, value));
+                case "--round" -> options.round(number(name, value));
+                case "--spill" -> options.spill(number(name, value));
+                default -> throw new IllegalArgumentException("Unknown option " + name + ". " + USAGE);
+            }
+        }
+
+        BatchOptions parsed = options.build();
+        if (parsed.inputs().isEmpty()) {
+            throw new IllegalArgumentException("No input file given. " + USAGE);
+        }
+        return parsed;
+    }
+
+    /**
+     * Checks the options against {@link #INCOMPATIBLE}, the one table of options that cannot be combined.
+     *
+     * @throws IllegalArgumentException If two options cannot be combined
+     */
+    public void validate() {
+        Set<Option> given = given();
+        for (Option option : given) {
+            Incompatibility incompatibility = INCOMPATIBLE.get(option);
+            if (incompatibility == null) {
+                continue;
+            }
+            for (Option other : incompatibility.options()) {
+                if (given.contains(other)) {
+                    throw new IllegalArgumentException(option.flag + " cannot be combined with " + other.flag
+                            + ": " + incompatibility.reason());
+                }
+            }
+        }
+    }
+
+    /**
+     * @return Whether every match is needed, in order, rather than only the standings: for the match
+     *         archive and the history behind --round and --positions
+     */
+    public boolean needsEveryMatch() {
+        return archive != null || needsHistory();
+    }
+
+    /**
+     * @return Whether the standings after every round are recorded, for --round or --positions
+     */
+    public boolean needsHistory() {
+        return round != null || positions;
+    }
+
+    private Set<Option> given() {
+        Set<Option> given = EnumSet.noneOf(Option.class);
+        if (format == InputFormat.ARCHIVE) {
+            given.add(Option.ARCHIVE_FORMAT);
+        }
+        if (inputs.stream().anyMatch(MultiFileMatchProcessor::isMultiFile)) {
+            given.add(Option.MULTI_FILE_INPUT);
+        }
+        if (archive != null) {
+            given.add(Option.ARCHIVE);
+        }
+        if (checkpoint) {
+            given.add(Option.CHECKPOINT);
+        }
+        if (cache) {
+            given.add(Option.CACHE);
+        }
+        if (serve != null) {
+            given.add(Option.SERVE);
+        }
+        if (leagues) {
+            given.add(Option.LEAGUES);
+        }
+        if (round != null) {
+            given.add(Option.ROUND);
+        }
+        if (positions) {
+            given.add(Option.POSITIONS);
+        }
+        if (spill != null && spill > 0) {
+            given.add(Option.SPILL);
+        }
+        return given;
+    }
+
+    private static InputFormat format(String value) {
+        try {
+            return InputFormat.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown format " + value + ". " + USAGE);
+        }
+    }
+
+    private static List<TieBreaker> tieBreakers(String value) {
+        try {
+            return TieBreaker.parse(value);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException(e.getMessage() + ". " + USAGE);
+        }
+    }
+
+    private static boolean flag(String name, String value) {
+        if (value.equalsIgnoreCase("true")) {
+            return true;
+        }
+        if (value.equalsIgnoreCase("false")) {
+            return false;
+        }
+        throw new IllegalArgumentException("Invalid value for " + name + ": " + value + ", expected true or false. "
+                + USAGE);
+    }
+
+    private static int number(String name, String value) {
+        try {
+            int number = Integer.parseInt(value);
+            if (number < 0) {
+                throw new NumberFormatException();
+            }
+            return number;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid value for " + name + ": " + value + ". " + USAGE);
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.spandigital.league.config;
+
+import com.spandigital.league.cache.StandingsCache;
+import com.spandigital.league.standings.StandingsHistory;
+import com.spandigital.league.standings.TieBreaker;
+import org.springframework.core.convert.ConversionException;
+import org.springframework.core.convert.ConversionService;
+import org.springframework.core.convert.support.DefaultConversionService;
+import org.springframework.util.PropertyPlaceholderHelper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+import java.util.function.BiConsumer;
+
+/**
+ * The league.* settings of the application, declared once in {@link #SETTINGS} and bound from plain
+ * {@link Properties} by {@link #bind(Properties)}. The Spring context binds its Environment through the
+ * same method (see {@link SettingsConfiguration}) and the Spring-free launcher binds the packaged
+ * application.properties, environment variables, system properties and arguments, so a setting added
+ * here applies on both paths. Values are converted like Spring converts @Value properties, e.g. "on",
+ * "yes" and "1" are true, and ${...} placeholders are resolved against the properties being bound.
+ */
+public class LeagueSettings {
+
+    /** The packaged properties file holding the defaults of the settings. */
+    public static final String PROPERTIES = "application.properties";
+
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 100_000;
+
+    private static final List<Setting<?>> SETTINGS = List.of(
+            new Setting<>("league.parallel-threshold", Integer.class, LeagueSettings::setParallelThreshold),
+            new Setting<>("league.output.echo-matches", Boolean.class, LeagueSettings::setEchoMatches),
+            new Setting<>("league.output.top", Integer.class, LeagueSettings::setTop),
+            new Setting<>("league.output.full-table", Boolean.class, LeagueSettings::setFullTable),
+            new Setting<>("league.ranking.tie-breakers", String.class, LeagueSettings::setTieBreakers),
+            new Setting<>("league.metrics.enabled", Boolean.class, LeagueSettings::setMetricsEnabled),
+            new Setting<>("league.cache.enabled", Boolean.class, LeagueSettings::setCacheEnabled),
+            new Setting<>("league.cache.directory", String.class, LeagueSettings::setCacheDirectory),
+            new Setting<>("league.cache.max-entries", Integer.class, LeagueSettings::setCacheMaxEntries),
+            new Setting<>("league.history.snapshot-interval", Integer.class, LeagueSettings::setHistoryInterval),
+            new Setting<>("league.spill.max-teams", Integer.class, LeagueSettings::setSpillMaxTeams),
+            new Setting<>("league.spill.directory", String.class, LeagueSettings::setSpillDirectory));
+
+    private static final List<String> NAMES = SETTINGS.stream().map(Setting::name).toList();
+
+    /** Result lists of at least this many matches are reduced in parallel by processResults. */
+    private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+
+    /** Whether every processed match is echoed; quiet mode (false) only prints the standings. */
+    private boolean echoMatches = true;
+
+    /** Only the best ranked teams are printed when positive; 0 prints the whole table. */
+    private int top;
+
+    /** Whether the full table (played, won, drawn, lost, goals, goal difference) is printed instead of points only. */
+    private boolean fullTable;
+
+    /** Criteria teams are ranked by, in order, e.g. "points,goal-difference,goals-for,name". */
+    private List<TieBreaker> tieBreakers = TieBreaker.DEFAULT;
+
+    /** Whether read, parse, aggregate, rank and write metrics are recorded and reported to stderr. */
+    private boolean metricsEnabled;
+
+    /** Whether batch standings are cached on disk and reused while the input files are unchanged. */
+    private boolean cacheEnabled;
+
+    /** Directory of the standings cache. */
+    private Path cacheDirectory = StandingsCache.defaultDirectory();
+
+    /** Most standings kept in the cache; the least recently used are evicted. */
+    private int cacheMaxEntries = StandingsCache.DEFAULT_MAX_ENTRIES;
+
+    /** Matches between the standings snapshots of a history; more snapshots make lookups of past standings faster. */
+    private int historyInterval = StandingsHistory.DEFAULT_INTERVAL;
+
+    /** Most teams batch runs keep in memory before spilling partial standings to disk; 0 never spills. */
+    private int spillMaxTeams;
+
+    /** Directory the spill files are created in, or null for java.io.tmpdir. */
+    private Path spillDirectory;
+
+    /**
+     * @return The property names of every setting, e.g. "league.output.top"
+     */
+    public static List<String> names() {
+        return NAMES;
+    }
+
+    /**
+     * Binds the settings from properties. Settings without a property keep their defaults.
+     *
+     * @param properties The properties, which may hold others that placeholders refer to
+     * @return The bound settings
+     * @throws IllegalArgumentException If a value cannot be converted or a placeholder cannot be resolved
+     */
+    public static LeagueSettings bind(Properties properties) {
+        PropertyPlaceholderHelper placeholders = new PropertyPlaceholderHelper("${", "}", ":", '\\', false);
+        ConversionService conversion = DefaultConversionService.getSharedInstance();
+        LeagueSettings settings = new LeagueSettings();
+        for (Setting<?> setting : SETTINGS) {
+            String value = properties.getProperty(setting.name());
+            if (value != null) {
+                setting.bind(settings, conversion, placeholders.replacePlaceholders(value, properties));
+            }
+        }
+        return settings;
+    }
+
+    /**
+     * @return The properties of the packaged application.properties, empty if there is none
+     */
+    public static Properties packagedProperties() {
+        Properties packaged = new Properties();
+        try (InputStream in = LeagueSettings.class.getClassLoader().getResourceAsStream(PROPERTIES)) {
+            if (in != null) {
+                packaged.load(in);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return packaged;
+    }
+
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    public void setParallelThreshold(int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    public boolean isEchoMatches() {
+        return echoMatches;
+    }
+
+    public void setEchoMatches(boolean echoMatches) {
+        this.echoMatches = echoMatches;
+    }
+
+    public int getTop() {
+        return top;
+    }
+
+    public void setTop(int top) {
+        this.top = atLeast(0, top);
+    }
+
+    public boolean isFullTable() {
+        return fullTable;
+    }
+
+    public void setFullTable(boolean fullTable) {
+        this.fullTable = fullTable;
+    }
+
+    public List<TieBreaker> getTieBreakers() {
+        return tieBreakers;
+    }
+
+    /**
+     * @param tieBreakers Comma-separated ranking criteria, see {@link TieBreaker#parse(String)}
+     */
+    public void setTieBreakers(String tieBreakers) {
+        this.tieBreakers = TieBreaker.parse(tieBreakers);
+    }
+
+    public boolean isMetricsEnabled() {
+        return metricsEnabled;
+    }
+
+    public void setMetricsEnabled(boolean metricsEnabled) {
+        this.metricsEnabled = metricsEnabled;
+    }
+
+    public boolean isCacheEnabled() {
+        return cacheEnabled;
+    }
+
+    public void setCacheEnabled(boolean cacheEnabled) {
+        this.cacheEnabled = cacheEnabled;
+    }
+
+    public Path getCacheDirectory() {
+        return cacheDirectory;
+    }
+
+    /**
+     * @param cacheDirectory Directory of the standings cache; blank for the default under java.io.tmpdir
+     */
+    public void setCacheDirectory(String cacheDirectory) {
+        this.cacheDirectory = cacheDirectory.isBlank() ? StandingsCache.defaultDirectory() : Path.of(cacheDirectory);
+    }
+
+    public int getCacheMaxEntries() {
+        return cacheMaxEntries;
+    }
+
+    public void setCacheMaxEntries(int cacheMaxEntries) {
+        this.cacheMaxEntries = atLeast(0, cacheMaxEntries);
+    }
+
+    public int getHistoryInterval() {
+        return historyInterval;
+    }
+
+    public void setHistoryInterval(int historyInterval) {
+        this.historyInterval = atLeast(1, historyInterval);
+    }
+
+    public int getSpillMaxTeams() {
+        return spillMaxTeams;
+    }
+
+    public void setSpillMaxTeams(int spillMaxTeams) {
+        this.spillMaxTeams = atLeast(0, spillMaxTeams);
+    }
+
+    public Path getSpillDirectory() {
+        return spillDirectory;
+    }
+
+    /**
+     * @param spillDirectory Directory the spill files are created in; blank for java.io.tmpdir
+     */
+    public void setSpillDirectory(String spillDirectory) {
+        this.spillDirectory = spillDirectory.isBlank() ? null : Path.of(spillDirectory);
+    }
+
+    // The limits match those of the corresponding batch options, e.g. --top and --spill
+    private static int atLeast(int minimum, int value) {
+        if (value < minimum) {
+            throw new IllegalArgumentException(value + " is less than " + minimum);
+        }
+        return value;
+    }
+
+    /**
+     * A setting: its property name, the type its value is converted to and where the value goes.
+     */
+    private record Setting<T>(String name, Class<T> type, BiConsumer<LeagueSettings, T> setter) {
+
+        void bind(LeagueSettings settings, ConversionService conversion, String value) {
+            T converted;
+            try {
+                converted = conversion.convert(value, type);
+            } catch (ConversionException e) {
+                throw new IllegalArgumentException("Invalid value for " + name + ": " + value, e);
+            }
+            // Blank values convert to null for numbers and booleans and keep the default, as unset ones do
+            if (converted != null) {
+                try {
+                    setter.accept(settings, converted);
+                } catch (IllegalArgumentException e) {
+                    throw new IllegalArgumentException("Invalid value for " + name + ": " + e.getMessage(), e);
+                }
+            }
+        }
+    }
+}
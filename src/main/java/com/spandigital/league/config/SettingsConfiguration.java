@@ -0,0 +1,27 @@
+package com.spandigital.league.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.util.Properties;
+
+/**
+ * Binds the {@link LeagueSettings} from the Spring Environment, with its property sources, profiles and
+ * relaxed names, through the same {@link LeagueSettings#bind(Properties)} the Spring-free launcher uses.
+ */
+@Configuration(proxyBeanMethods = false)
+public class SettingsConfiguration {
+
+    @Bean
+    public LeagueSettings leagueSettings(Environment environment) {
+        Properties properties = new Properties();
+        for (String name : LeagueSettings.names()) {
+            String value = environment.getProperty(name);
+            if (value != null) {
+                properties.setProperty(name, value);
+            }
+        }
+        return LeagueSettings.bind(properties);
+    }
+}
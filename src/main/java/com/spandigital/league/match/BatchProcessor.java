@@ -0,0 +1,551 @@
+package com.spandigital.league.match;
+
+import com.spandigital.league.archive.MatchArchiveWriter;
+import com.spandigital.league.cache.StandingsCache;
+import com.spandigital.league.cli.BatchOptions;
+import com.spandigital.league.config.LeagueSettings;
+import com.spandigital.league.metrics.LeagueMetrics;
+import com.spandigital.league.output.EchoingMatchSink;
+import com.spandigital.league.output.StandingsWriter;
+import com.spandigital.league.processor.AbstractMatchProcessor;
+import com.spandigital.league.processor.ArchiveMatchProcessor;
+import com.spandigital.league.processor.CSVFileMatchProcessor;
+import com.spandigital.league.processor.CheckpointedCSVFileMatchProcessor;
+import com.spandigital.league.processor.MappedCSVFileMatchProcessor;
+import com.spandigital.league.processor.MultiFileMatchProcessor;
+import com.spandigital.league.server.PublishedStandings;
+import com.spandigital.league.server.StandingsServer;
+import com.spandigital.league.standings.ConcurrentStandingsTable;
+import com.spandigital.league.standings.LeagueMatchSink;
+import com.spandigital.league.standings.MatchSink;
+import com.spandigital.league.standings.MergeableMatchSink;
+import com.spandigital.league.standings.PartitionedStandings;
+import com.spandigital.league.standings.SpillingStandings;
+import com.spandigital.league.standings.StandingsHistory;
+import com.spandigital.league.standings.StandingsTable;
+import com.spandigital.league.standings.TeamStanding;
+import com.spandigital.league.standings.TieBreaker;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * The headless batch pipeline behind --input: validates the {@link BatchOptions}, reads the inputs with
+ * the processor their format needs and writes the standings, the league tables or the spilled ranking.
+ * Used by {@link MatchServiceImpl} for batch arguments and by the Spring-free launcher directly.
+ */
+public class BatchProcessor {
+
+    private static final LeagueMetrics METRICS = LeagueMetrics.global();
+
+    private final LeagueSettings settings;
+
+    /**
+     * @param settings The league settings the options fall back to
+     */
+    public BatchProcessor(LeagueSettings settings) {
+        this.settings = settings;
+    }
+
+    /**
+     * Processes the input files without any prompts, going straight to the chosen file processor,
+     * and writes the standings to the output file or standard output. Directory and glob inputs are
+     * read as CSV files, concurrently. When an archive is requested, every processed match is also
+     * written to a binary match archive that later runs reload quickly. With the standings cache
+     * enabled, quiet runs over unchanged inputs print the cached standings without reading them. With
+     * checkpoints, CSV files are only read from where the previous run stopped. Quiet runs over several
+     * inputs read them concurrently, each into its own partial of one shared table. With a serve port,
+     * the standings are served over HTTP while the inputs are read and, once the output is written,
+     * until the process is stopped. With leagues, every league is aggregated into its own standings and
+     * the output is a summary of all leagues followed by each league's table. A round prints the standings
+     * as they were after it, and positions add a chart of every team's position after each round. With
+     * a spill budget, standings of more teams than the budget are aggregated on disk and the ranking is
+     * merged from there.
+     *
+     * @param options The batch options
+     * @throws IllegalArgumentException If options cannot be combined (see {@link BatchOptions#validate()}), an
+     *                                  input file cannot be read or reading stops on an error, a directory or glob
+     *                                  has no files or the serve port cannot be bound
+     * @throws UncheckedIOException If the output file cannot be written
+     */
+    public void process(BatchOptions options) {
+        options.validate();
+        options = withSettings(options);
+        for (String input : options.inputs()) {
+            checkInput(input);
+        }
+
+        List<TieBreaker> ranking = options.tieBreakers() != null ? options.tieBreakers() : settings.getTieBreakers();
+        if (options.leagues()) {
+            writeLeagues(options, ranking);
+            return;
+        }
+        if (options.spill() != null && options.spill() > 0) {
+            writeSpilled(options, ranking, options.spill());
+            return;
+        }
+        PublishedStandings published = null;
+        StandingsServer server = null;
+        if (options.serve() != null) {
+            published = new PublishedStandings();
+            published.setTieBreakers(ranking);
+            try {
+                server = StandingsServer.start(published, options.serve());
+            } catch (IOException e) {
+                throw new IllegalArgumentException("Cannot serve standings on port " + options.serve() + ": "
+                        + e.getMessage());
+            }
+        }
+
+        try {
+            writeBatch(options, ranking, published);
+        } catch (RuntimeException e) {
+            if (server != null) {
+                server.close();
+            }
+            throw e;
+        }
+        if (server != null) {
+            serveUntilStopped(server);
+        }
+    }
+
+    /**
+     * Applies the configured spill budget and cache to options that do not set them. They follow the same
+     * compatibility rules as the --spill and --cache flags, but where a flag would fail the run, a configured
+     * setting that does not apply is left out with a warning on standard error. The spill budget is applied
+     * first, as it keeps the run within the heap, so a configured cache gives way to it.
+     *
+     * @param options Validated options
+     * @return The options with the applicable settings
+     */
+    private BatchOptions withSettings(BatchOptions options) {
+        if (options.spill() == null && settings.getSpillMaxTeams() > 0) {
+            options = withSetting(options, options.toBuilder().spill(settings.getSpillMaxTeams()).build(),
+                    "league.spill.max-teams");
+        }
+        if (!options.cache() && settings.isCacheEnabled()) {
+            options = withSetting(options, options.toBuilder().cache(true).build(), "league.cache.enabled");
+        }
+        return options;
+    }
+
+    private static BatchOptions withSetting(BatchOptions options, BatchOptions configured, String setting) {
+        try {
+            configured.validate();
+            return configured;
+        } catch (IllegalArgumentException e) {
+            System.err.println("Ignoring " + setting + " for this run: " + e.getMessage());
+            return options;
+        }
+    }
+
+    private void writeBatch(BatchOptions options, List<TieBreaker> ranking, PublishedStandings published) {
+        boolean metrics = startMetrics(settings.isMetricsEnabled() || options.metrics());
+        boolean echo = settings.isEchoMatches() && !options.quiet();
+        StandingsHistory history = null;
+        if (options.needsHistory()) {
+            history = new StandingsHistory(settings.getHistoryInterval());
+            history.setTieBreakers(ranking);
+        }
+        // Echo lines need every match, so only quiet runs can take the standings from the cache
+        StandingsCache cache = options.cache() && !echo
+                ? new StandingsCache(settings.getCacheDirectory(), settings.getCacheMaxEntries()) : null;
+        StandingsCache.Key cacheKey = null;
+        StandingsTable standings = null;
+        if (cache != null) {
+            try {
+                cacheKey = cache.key(batchFiles(options));
+                standings = cache.get(cacheKey);
+            } catch (IOException e) {
+                System.err.println("Standings cache unavailable: " + e.getMessage());
+                cache = null;
+            }
+        }
+
+        try (var writer = options.output() != null ? StandingsWriter.toFile(options.output())
+                                                   : StandingsWriter.to(System.out);
+             var archive = options.archive() != null ? MatchArchiveWriter.create(options.archive()) : null) {
+            if (standings == null) {
+                long invalidLines = AbstractMatchProcessor.invalidLines();
+                boolean complete = true;
+                if (options.inputs().size() > 1 && !echo && !options.needsEveryMatch() && !options.checkpoint()) {
+                    if (published != null) {
+                        complete = readBatchInputsConcurrently(options, published);
+                        standings = published.snapshot();
+                    } else {
+                        var shared = new ConcurrentStandingsTable();
+                        complete = readBatchInputsConcurrently(options, shared);
+                        standings = shared.snapshot();
+                    }
+                } else {
+                    // Served standings are the table itself, so checkpoints are restored into what clients see
+                    StandingsTable table = published == null ? new StandingsTable() : null;
+                    MergeableMatchSink target = published != null ? published : table;
+                    MatchSink sink = echo ? new EchoingMatchSink(writer, target) : target;
+                    if (archive != null) {
+                        sink = sink.andThen(archive);
+                    }
+                    if (history != null) {
+                        // Not mergeable, so parallel readers replay their partials into it in input order
+                        sink = sink.andThen(history);
+                    }
+                    for (String input : options.inputs()) {
+                        complete &= readBatchInput(options, input, sink, target);
+                    }
+                    standings = published != null ? published.snapshot() : table;
+                }
+                if (!complete && archive != null) {
+                    // The archive would only hold the matches read before the error
+                    archive.abort();
+                }
+                requireComplete(complete);
+                // A hit would not print the "Invalid format" lines, so inputs with any are never cached. The
+                // count is process-wide: invalid lines of a concurrent run can only keep these standings out
+                if (cache != null && AbstractMatchProcessor.invalidLines() == invalidLines) {
+                    storeStandings(cache, cacheKey, standings);
+                }
+            } else if (published != null) {
+                published.merge(standings);
+            }
+
+            if (options.round() != null && options.round() > history.rounds()) {
+                throw new IllegalArgumentException("Cannot print round " + options.round() + ", the input has "
+                        + history.rounds() + " rounds");
+            }
+            writer.line("Processed " + standings.matchCount() + " match results");
+            if (options.round() != null) {
+                standings = history.atRound(options.round());
+                writer.line("Standings after round " + options.round() + " of " + history.rounds() + ", "
+                        + standings.matchCount() + " matches");
+            }
+            writeStandings(writer, standings, ranking, options.top() != null ? options.top() : settings.getTop(),
+                    settings.isFullTable() || options.fullTable());
+            if (options.positions()) {
+                writer.positions(history.positionsByRound());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        reportMetrics(metrics);
+    }
+
+    /**
+     * Reads the inputs into standings that spill to disk once they hold more teams than the budget, and
+     * writes the ranking merged back from disk. Within the budget the output is that of the in-memory path.
+     * Mapped files are read line by line and directories and globs one file at a time, as the partials of
+     * their chunks or files are not bounded by the budget.
+     */
+    private void writeSpilled(BatchOptions options, List<TieBreaker> ranking, int maxTeams) {
+        boolean metrics = startMetrics(settings.isMetricsEnabled() || options.metrics());
+        boolean echo = settings.isEchoMatches() && !options.quiet();
+        BatchOptions sequential = options.format() == BatchOptions.InputFormat.MAPPED
+                ? options.toBuilder().format(BatchOptions.InputFormat.CSV).build() : options;
+        int limit = options.top() != null ? options.top() : settings.getTop();
+
+        try (var spilling = new SpillingStandings(maxTeams, settings.getSpillDirectory());
+             var writer = options.output() != null ? StandingsWriter.toFile(options.output())
+                                                   : StandingsWriter.to(System.out)) {
+            spilling.setTieBreakers(ranking);
+            MatchSink sink = echo ? new EchoingMatchSink(writer, spilling) : spilling;
+            boolean complete = true;
+            for (Path file : batchFiles(options)) {
+                complete &= readBatchInput(sequential, file.toString(), sink, null);
+            }
+            requireComplete(complete);
+            writer.line("Processed " + spilling.matchCount() + " match results");
+            Iterable<TeamStanding> ranked = spilling.ranking(limit);
+            if (settings.isFullTable() || options.fullTable()) {
+                writer.table(ranked);
+            } else {
+                writer.standings(ranked);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        reportMetrics(metrics);
+    }
+
+    /**
+     * Reads the inputs into one partition per league and writes the summary and every league's table.
+     * The leagues are independent, so their tables are ranked and rendered in parallel.
+     */
+    private void writeLeagues(BatchOptions options, List<TieBreaker> ranking) {
+        boolean metrics = startMetrics(settings.isMetricsEnabled() || options.metrics());
+        var leagues = new PartitionedStandings();
+        leagues.setTieBreakers(ranking);
+        requireComplete(options.inputs().size() > 1 ? readBatchInputsConcurrently(options, leagues)
+                                                    : readBatchInput(options, options.inputs().get(0), leagues, null));
+
+        int limit = options.top() != null ? options.top() : settings.getTop();
+        boolean full = settings.isFullTable() || options.fullTable();
+        List<String> names = leagues.leagues();
+
+        try (var writer = options.output() != null ? StandingsWriter.toFile(options.output())
+                                                   : StandingsWriter.to(System.out)) {
+            Charset charset = writer.charset();
+            List<LeagueSection> sections = names.parallelStream()
+                                                .map(league -> leagueSection(league, leagues.league(league), limit,
+                                                        full, charset))
+                                                .toList();
+            writer.line("Processed " + leagues.matchCount() + " match results in " + names.size()
+                    + (names.size() == 1 ? " league" : " leagues"));
+            for (LeagueSection section : sections) {
+                writer.line(section.summary());
+            }
+            for (LeagueSection section : sections) {
+                writer.write(section.table());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        reportMetrics(metrics);
+    }
+
+    private record LeagueSection(String summary, byte[] table) {
+    }
+
+    private static LeagueSection leagueSection(String league, StandingsTable standings, int limit, boolean fullTable,
+                                               Charset charset) {
+        String name = league.equals(LeagueMatchSink.DEFAULT_LEAGUE) ? "(no league)" : league;
+        int[] leader = standings.rankedTeamIds(1);
+        String summary = name + ": " + standings.matchCount() + " matches, " + standings.teamCount() + " teams"
+                + (leader.length > 0 ? ", leader " + standings.teamName(leader[0]) + " ("
+                + standings.points(leader[0]) + " pts)" : "");
+
+        var bytes = new ByteArrayOutputStream();
+        var writer = StandingsWriter.to(bytes, charset);
+        writer.line("");
+        writer.line("League: " + name);
+        writer.line("Processed " + standings.matchCount() + " match results");
+        writeStandings(writer, standings, standings.getTieBreakers(), limit, fullTable);
+        writer.flush();
+        return new LeagueSection(summary, bytes.toByteArray());
+    }
+
+    private static void serveUntilStopped(StandingsServer server) {
+        try (server) {
+            System.err.println("Serving standings on " + server.url() + " until stopped");
+            server.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Starts a fresh metrics run when metrics are configured or requested. The metrics are process-wide,
+     * so this also clears whatever a concurrent run has recorded so far.
+     *
+     * @return Whether metrics are being recorded
+     */
+    static boolean startMetrics(boolean enabled) {
+        if (!enabled) {
+            return false;
+        }
+        METRICS.reset();
+        METRICS.setEnabled(true);
+        return true;
+    }
+
+    static void reportMetrics(boolean started) {
+        if (started) {
+            METRICS.setEnabled(false);
+            METRICS.report(System.err);
+        }
+    }
+
+    private static void checkInput(String input) {
+        if (!MultiFileMatchProcessor.isMultiFile(input)) {
+            if (!Files.isReadable(Path.of(input))) {
+                throw new IllegalArgumentException("Cannot read input file: " + input);
+            }
+            return;
+        }
+        try {
+            MultiFileMatchProcessor.resolveFiles(input);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot read input files: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Partial standings of a truncated or unreadable input look like complete ones, so a batch that
+     * could not read everything fails instead of writing them.
+     *
+     * @throws IllegalArgumentException If reading stopped on an error
+     */
+    private static void requireComplete(boolean complete) {
+        if (!complete) {
+            throw new IllegalArgumentException("Reading the input failed, no standings were written");
+        }
+    }
+
+    /**
+     * @return Whether the whole input was read, i.e. reading did not stop on an error
+     */
+    private static boolean readBatchInput(BatchOptions options, String input, MatchSink sink,
+                                          MergeableMatchSink standings) {
+        return readBatchInput(options, input, sink, standings, null, null);
+    }
+
+    /**
+     * @param workers Pool the mapped and archive formats read on, or null for a pool per input
+     * @param openFiles Budget of files read at once across inputs, or null for none
+     * @return Whether the whole input was read, i.e. reading did not stop on an error
+     */
+    private static boolean readBatchInput(BatchOptions options, String input, MatchSink sink,
+                                          MergeableMatchSink standings, ExecutorService workers,
+                                          Semaphore openFiles) {
+        if (options.checkpoint()) {
+            // Only the appended lines are read, so the sequential reader is used for either CSV format
+            var processor = CheckpointedCSVFileMatchProcessor.builder()
+                                                             .sink(sink)
+                                                             .standings(standings)
+                                                             .build();
+            processor.processFile(input);
+            return !processor.isFailed();
+        }
+        if (MultiFileMatchProcessor.isMultiFile(input)) {
+            var processor = MultiFileMatchProcessor.builder()
+                                                   .sink(sink)
+                                                   .openFiles(openFiles)
+                                                   .build();
+            processor.processFiles(input);
+            return !processor.isFailed();
+        }
+        switch (options.format()) {
+            case CSV -> {
+                var processor = CSVFileMatchProcessor.builder()
+                                                     .sink(sink)
+                                                     .build();
+                processor.processFile(input);
+                return !processor.isFailed();
+            }
+            case MAPPED -> {
+                var processor = MappedCSVFileMatchProcessor.builder()
+                                                           .sink(sink)
+                                                           .parallelism(options.parallelism())
+                                                           .workers(workers)
+                                                           .build();
+                processor.processFile(input);
+                return !processor.isFailed();
+            }
+            case ARCHIVE -> {
+                var processor = ArchiveMatchProcessor.builder()
+                                                     .sink(sink)
+                                                     .parallelism(options.parallelism())
+                                                     .workers(workers)
+                                                     .build();
+                processor.processFile(input);
+                return !processor.isFailed();
+            }
+            default -> throw new IllegalArgumentException("Unknown format " + options.format());
+        }
+    }
+
+    /**
+     * Reads the inputs on virtual threads into partial tables and merges the partials into the shared
+     * table as each input completes. At most parallelism inputs (the available processors by default)
+     * are read at once, so no more partials are held. They share one pool of that many workers for the
+     * mapped and archive formats and one budget of {@value MultiFileMatchProcessor#DEFAULT_MAX_OPEN_FILES}
+     * files read at once, of which a single-file input takes one.
+     *
+     * @return Whether every input was read completely
+     */
+    private static boolean readBatchInputsConcurrently(BatchOptions options, MergeableMatchSink shared) {
+        int threads = options.parallelism() > 0 ? options.parallelism() : Runtime.getRuntime().availableProcessors();
+        Semaphore inputsAtOnce = new Semaphore(threads);
+        Semaphore openFiles = new Semaphore(MultiFileMatchProcessor.DEFAULT_MAX_OPEN_FILES);
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        try {
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                List<Future<Boolean>> inputs = new ArrayList<>(options.inputs().size());
+                for (String input : options.inputs()) {
+                    inputsAtOnce.acquire();
+                    inputs.add(executor.submit(() -> {
+                        try {
+                            return readPartial(options, input, shared, workers, openFiles);
+                        } finally {
+                            inputsAtOnce.release();
+                        }
+                    }));
+                }
+                boolean complete = true;
+                for (Future<Boolean> input : inputs) {
+                    complete &= input.get();
+                }
+                return complete;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reading inputs", e);
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException runtimeException
+                    ? runtimeException : new IllegalStateException(e.getCause());
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    // Reads one of several concurrent inputs into a partial of the shared table and merges it
+    private static boolean readPartial(BatchOptions options, String input, MergeableMatchSink shared,
+                                       ExecutorService workers, Semaphore openFiles) throws InterruptedException {
+        boolean multiFile = MultiFileMatchProcessor.isMultiFile(input);
+        if (!multiFile) {
+            openFiles.acquire();
+        }
+        try {
+            MergeableMatchSink partial = shared.newPartial();
+            // Checkpoints are read sequentially, so there are no checkpointed standings to restore
+            boolean complete = readBatchInput(options, input, partial, null, workers, openFiles);
+            shared.merge(partial);
+            return complete;
+        } finally {
+            if (!multiFile) {
+                openFiles.release();
+            }
+        }
+    }
+
+    // The files behind the inputs, in the order they are read
+    private static List<Path> batchFiles(BatchOptions options) throws IOException {
+        List<Path> files = new ArrayList<>();
+        for (String input : options.inputs()) {
+            if (MultiFileMatchProcessor.isMultiFile(input)) {
+                files.addAll(MultiFileMatchProcessor.resolveFiles(input));
+            } else {
+                files.add(Path.of(input));
+            }
+        }
+        return files;
+    }
+
+    private static void storeStandings(StandingsCache cache, StandingsCache.Key key, StandingsTable standings) {
+        try {
+            cache.put(key, standings);
+        } catch (IOException e) {
+            System.err.println("Standings cache unavailable: " + e.getMessage());
+        }
+    }
+
+    static void writeStandings(StandingsWriter writer, StandingsTable standings, List<TieBreaker> tieBreakers,
+                               int limit, boolean fullTable) {
+        standings.setTieBreakers(tieBreakers);
+        if (fullTable) {
+            writer.table(standings, limit);
+        } else {
+            writer.standings(standings, limit);
+        }
+    }
+}
@@ -1,105 +1,233 @@
 package com.spandigital.league.match;
 
+import com.spandigital.league.cli.BatchOptions;
+import com.spandigital.league.config.LeagueSettings;
 import com.spandigital.league.match.dto.Match;
 import com.spandigital.league.match.dto.MatchResult;
+import com.spandigital.league.metrics.LeagueMetrics;
+import com.spandigital.league.output.EchoingMatchSink;
+import com.spandigital.league.output.StandingsWriter;
+import com.spandigital.league.processor.AbstractMatchProcessor;
+import com.spandigital.league.processor.ArchiveMatchProcessor;
 import com.spandigital.league.processor.CSVFileMatchProcessor;
-import com.spandigital.league.processor.StdInMatchProcessor;
+import com.spandigital.league.processor.LineByLineInputStream;
+import com.spandigital.league.processor.MappedCSVFileMatchProcessor;
+import com.spandigital.league.processor.MultiFileMatchProcessor;
+import com.spandigital.league.processor.PipelinedStdInMatchProcessor;
+import com.spandigital.league.standings.MatchSink;
+import com.spandigital.league.standings.StandingsHistory;
+import com.spandigital.league.standings.StandingsTable;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.List;
-import java.util.Map;
 import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
 
 
 @Service
 public class MatchServiceImpl implements MatchService {
 
-    private final Scanner scanner = new Scanner(System.in);
+    private static final int MIN_LEAF_SIZE = 8_192;
+    private static final LeagueMetrics METRICS = LeagueMetrics.global();
 
+    // Reads no further than the menu needs, so option 1 still finds the rest of piped input on System.in
+    private final Scanner scanner = new Scanner(new LineByLineInputStream(System.in));
+
+    /** The league.* settings; their defaults unless the Spring context or the launcher bound others. */
+    private LeagueSettings settings = new LeagueSettings();
+
+    /**
+     * Reads match results and prints the standings. With an --input argument the files are processed
+     * headless (see {@link BatchOptions}); otherwise the input method is chosen from a menu on stdin.
+     *
+     * @param args The application arguments
+     */
     public void leagueResultInput(String... args) {
+        if (BatchOptions.isBatch(args)) {
+            processBatch(BatchOptions.parse(args));
+            return;
+        }
+
         System.out.println("Welcome to the Span Digital League");
         System.out.println("Please input team results");
         System.out.println("Choose input method:");
         System.out.println("1. Standard Input");
         System.out.println("2. CSV File");
+        System.out.println("3. CSV File (memory-mapped, parallel)");
+        System.out.println("4. Match Archive (binary)");
+        System.out.println("5. CSV Files (directory or glob, concurrent)");
 
-        List<MatchResult> results;
         int choice = scanner.nextInt();
         scanner.nextLine(); // consume newline
 
-        switch (choice) {
-            case 1:
-                var stdInProcessor = StdInMatchProcessor.builder()
-                                                        .scanner(scanner)
-                                                        .build();
-                results = stdInProcessor.processInput();
-                break;
-
-            case 2:
-                var csvProcessor = CSVFileMatchProcessor.builder()
-                                                        .scanner(scanner)
-                                                        .build();
-                results = csvProcessor.processInput();
-                break;
-
-            default:
-                System.out.println("Invalid choice. Exiting.");
-                return;
+        // Matches are aggregated as they are read instead of being collected first. They go to a partial
+        // that is only committed once the whole input was read, so a failed read counts nothing, as when the
+        // matches were collected first. The echo lines are spooled to a temporary file rather than the heap
+        // and only printed after a complete read, so memory still grows with the teams, not the matches
+        var standings = new StandingsTable();
+        var writer = StandingsWriter.to(System.out);
+        StandingsTable partial = standings.newPartial();
+        Path echoed = null;
+        try {
+            echoed = settings.isEchoMatches() ? Files.createTempFile("league-echo", ".txt") : null;
+            try (var spool = echoed != null ? StandingsWriter.toFile(echoed) : null) {
+                MatchSink sink = spool != null ? new EchoingMatchSink(spool, partial) : partial;
+                boolean metrics = BatchProcessor.startMetrics(settings.isMetricsEnabled());
+                AbstractMatchProcessor processor = processor(choice, sink);
+                if (processor == null) {
+                    System.out.println("Invalid choice. Exiting.");
+                    return;
+                }
+
+                processor.processInput();
+                boolean complete = !processor.isFailed();
+                if (complete) {
+                    standings.merge(partial);
+                }
+                writer.line("Processing " + standings.matchCount() + " match results...");
+                if (complete && spool != null) {
+                    spool.flush();
+                    writer.flush();
+                    Files.copy(echoed, System.out);
+                }
+                BatchProcessor.writeStandings(writer, standings, settings.getTieBreakers(), settings.getTop(),
+                        settings.isFullTable());
+                writer.line("Processing complete!");
+                writer.flush();
+                BatchProcessor.reportMetrics(metrics);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deleteSpool(echoed);
+        }
+    }
+
+    private AbstractMatchProcessor processor(int choice, MatchSink sink) {
+        return switch (choice) {
+            case 1 -> PipelinedStdInMatchProcessor.builder()
+                                                  .scanner(scanner)
+                                                  .sink(sink)
+                                                  .build();
+            case 2 -> CSVFileMatchProcessor.builder()
+                                           .scanner(scanner)
+                                           .sink(sink)
+                                           .build();
+            case 3 -> MappedCSVFileMatchProcessor.builder()
+                                                 .scanner(scanner)
+                                                 .sink(sink)
+                                                 .build();
+            case 4 -> ArchiveMatchProcessor.builder()
+                                           .scanner(scanner)
+                                           .sink(sink)
+                                           .build();
+            case 5 -> MultiFileMatchProcessor.builder()
+                                             .scanner(scanner)
+                                             .sink(sink)
+                                             .build();
+            default -> null;
+        };
+    }
+
+    private static void deleteSpool(Path spool) {
+        if (spool != null) {
+            try {
+                Files.deleteIfExists(spool);
+            } catch (IOException e) {
+                System.err.println("Could not delete " + spool + ": " + e.getMessage());
+            }
         }
+    }
 
-        System.out.println("Processing " + results.size() + " match results...");
-        processResults(results);
-        System.out.println("Processing complete!");
+    /**
+     * Processes the input files without any prompts, see {@link BatchProcessor#process(BatchOptions)}.
+     *
+     * @param options The batch options
+     */
+    public void processBatch(BatchOptions options) {
+        new BatchProcessor(settings).process(options);
     }
 
     /**
-     * Updates the points for a team in the standings map.
-     * The compute() method atomically updates the map entry by applying the provided
-     * remapping function. If the team doesn't exist in the map yet (v is null),
-     * the team is added with the initial pointsToAdd value. If the team already exists,
-     * the new points are added to their current total.
+     * Records an already collected list of results, in order, into a history from which the standings
+     * after any match or round and every team's positions over the season are read without replaying
+     * the list from the start.
      *
-     * @param teamPoints The map containing team standings
-     * @param team The name of the team to update
-     * @param pointsToAdd The number of points to add to the team's current total
+     * @param results The match results, in the order they were played
+     * @return The history, ranked by the configured tie-breakers
      */
-    private void updateTeamPoints(Map<String, Integer> teamPoints, String team, int pointsToAdd) {
-        teamPoints.compute(team, (k, v) -> (v == null) ? pointsToAdd : v + pointsToAdd);
+    public StandingsHistory history(List<MatchResult> results) {
+        var history = new StandingsHistory(settings.getHistoryInterval());
+        history.setTieBreakers(settings.getTieBreakers());
+        replay(results, history);
+        return history;
     }
 
+    /**
+     * Calculates and prints the standings for an already collected list of results.
+     * Lists of at least the configured parallel threshold of results are split across the common
+     * ForkJoinPool and the partial standings merged; the output is identical to the sequential path. A {@link MatchStore},
+     * as returned by the processors, is iterated without creating MatchResult views.
+     *
+     * @param results The match results to process
+     */
     public void processResults(List<MatchResult> results) {
-        // calculate team points
-        var teamPoints = new HashMap<String, Integer>();
+        var writer = StandingsWriter.to(System.out);
+        StandingsTable standings;
+        if (results.size() >= settings.getParallelThreshold()) {
+            if (settings.isEchoMatches()) {
+                replay(results, echo(writer));
+            }
+            long start = METRICS.start();
+            standings = reduceInParallel(results);
+            METRICS.stop(LeagueMetrics.Stage.AGGREGATE, start);
+        } else {
+            standings = new StandingsTable();
+            MatchSink sink = settings.isEchoMatches() ? new EchoingMatchSink(writer, standings) : standings;
+
+            long start = METRICS.start();
+            replay(results, sink);
+            METRICS.stop(LeagueMetrics.Stage.AGGREGATE, start);
+        }
+
+        BatchProcessor.writeStandings(writer, standings, settings.getTieBreakers(), settings.getTop(), settings.isFullTable());
+        writer.flush();
+    }
+
+    public LeagueSettings getSettings() {
+        return settings;
+    }
 
+    @Autowired
+    public void setSettings(LeagueSettings settings) {
+        this.settings = settings;
+    }
+
+    private static void replay(List<MatchResult> results, MatchSink sink) {
+        if (results instanceof MatchStore store) {
+            store.replay(sink);
+            return;
+        }
         for (MatchResult result : results) {
             Match match = result.match();
             var teamA = match.teamA();
             var teamB = match.teamB();
-
-            // Update points based on match result
-            if (teamA.score() > teamB.score()) {
-                // Team A wins
-                updateTeamPoints(teamPoints, teamA.name(), 3);
-                updateTeamPoints(teamPoints, teamB.name(), 0);
-            } else if (teamA.score() < teamB.score()) {
-                // Team B wins
-                updateTeamPoints(teamPoints, teamB.name(), 3);
-                updateTeamPoints(teamPoints, teamA.name(), 0);
-            } else {
-                // Draw
-                updateTeamPoints(teamPoints, teamA.name(), 1);
-                updateTeamPoints(teamPoints, teamB.name(), 1);
-            }
-
-            System.out.println("Processed: " + match);
+            sink.accept(teamA.name(), teamA.score(), teamB.name(), teamB.score());
         }
+    }
+
+    static StandingsTable reduceInParallel(List<MatchResult> results) {
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        int leafSize = Math.max(MIN_LEAF_SIZE, results.size() / (pool.getParallelism() * 4));
+        return pool.invoke(new StandingsReductionTask(results, 0, results.size(), leafSize));
+    }
 
-        // Print team standings
-        System.out.println("\nTeam Standings:");
-        teamPoints.entrySet().stream()
-                  .sorted(Map.Entry.<String, Integer>comparingByValue().reversed()
-                                   .thenComparing(Map.Entry.comparingByKey()))
-                  .forEach(entry -> System.out.println(entry.getKey() + ": " + entry.getValue() + " pts"));
+    private static MatchSink echo(StandingsWriter writer) {
+        return writer::matchProcessed;
     }
-}
\ No newline at end of file
+}
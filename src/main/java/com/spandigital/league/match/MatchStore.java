@@ -0,0 +1,139 @@
+package com.spandigital.league.match;
+
+import com.spandigital.league.match.dto.Match;
+import com.spandigital.league.match.dto.MatchResult;
+import com.spandigital.league.match.dto.TeamScore;
+import com.spandigital.league.standings.MatchSink;
+import com.spandigital.league.standings.MergeableMatchSink;
+import com.spandigital.league.standings.StandingsTable;
+import com.spandigital.league.standings.TeamDictionary;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Stores matches column by column rather than as objects: the team ids, assigned by a {@link TeamDictionary},
+ * and the scores live in four int arrays, 16 bytes per match, where a {@link MatchResult} takes six objects
+ * (the result, its Match, two TeamScores and two boxed scores). Every team name is kept once.
+ * <p>
+ * The store is a read-only List of MatchResult for the list-based API, but each element is a view created
+ * on access. {@link #replay(MatchSink)} feeds the matches to a sink without creating any, and into a
+ * {@link StandingsTable} by team id, so no name is looked up per match. Not thread-safe.
+ */
+public class MatchStore extends AbstractList<MatchResult> implements MergeableMatchSink, RandomAccess {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final TeamDictionary teams = new TeamDictionary();
+    private int[] teamA = new int[INITIAL_CAPACITY];
+    private int[] teamB = new int[INITIAL_CAPACITY];
+    private int[] scoreA = new int[INITIAL_CAPACITY];
+    private int[] scoreB = new int[INITIAL_CAPACITY];
+    private int size;
+
+    @Override
+    public void accept(String teamA, int scoreA, String teamB, int scoreB) {
+        add(teams.idOf(teamA), scoreA, teams.idOf(teamB), scoreB);
+    }
+
+    private void add(int teamA, int scoreA, int teamB, int scoreB) {
+        if (size == this.teamA.length) {
+            int capacity = size * 2;
+            this.teamA = Arrays.copyOf(this.teamA, capacity);
+            this.teamB = Arrays.copyOf(this.teamB, capacity);
+            this.scoreA = Arrays.copyOf(this.scoreA, capacity);
+            this.scoreB = Arrays.copyOf(this.scoreB, capacity);
+        }
+        this.teamA[size] = teamA;
+        this.teamB[size] = teamB;
+        this.scoreA[size] = scoreA;
+        this.scoreB[size] = scoreB;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * @param index The index of a match
+     * @return A new MatchResult view of the match
+     */
+    @Override
+    public MatchResult get(int index) {
+        Objects.checkIndex(index, size);
+        return new MatchResult(new Match(new TeamScore(teams.name(teamA[index]), scoreA[index]),
+                new TeamScore(teams.name(teamB[index]), scoreB[index])));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all matches; team names stay interned for the next matches.
+     */
+    @Override
+    public void clear() {
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Feeds every match, in order, to a sink.
+     *
+     * @param sink The sink to replay into
+     */
+    public void replay(MatchSink sink) {
+        replay(0, size, sink);
+    }
+
+    /**
+     * Feeds the matches in [from, to), in order, to a sink. A StandingsTable gets them by id: each team is
+     * looked up once, on its first match in the range, unless the range is too short for the id translation
+     * array to pay off.
+     *
+     * @param from The index of the first match
+     * @param to The index after the last match
+     * @param sink The sink to replay into
+     */
+    public void replay(int from, int to, MatchSink sink) {
+        Objects.checkFromToIndex(from, to, size);
+        if (sink instanceof StandingsTable table && teams.size() <= 2 * (to - from)) {
+            int[] ids = new int[teams.size()];
+            Arrays.fill(ids, -1);
+            for (int i = from; i < to; i++) {
+                int a = teamA[i];
+                int b = teamB[i];
+                if (ids[a] < 0) {
+                    ids[a] = table.teamId(teams.name(a));
+                }
+                if (ids[b] < 0) {
+                    ids[b] = table.teamId(teams.name(b));
+                }
+                table.record(ids[a], scoreA[i], ids[b], scoreB[i]);
+            }
+        } else {
+            for (int i = from; i < to; i++) {
+                sink.accept(teams.name(teamA[i]), scoreA[i], teams.name(teamB[i]), scoreB[i]);
+            }
+        }
+    }
+
+    @Override
+    public MatchStore newPartial() {
+        return new MatchStore();
+    }
+
+    @Override
+    public void merge(MergeableMatchSink partial) {
+        MatchStore other = (MatchStore) partial;
+        int[] ids = new int[other.teams.size()];
+        for (int team = 0; team < ids.length; team++) {
+            ids[team] = teams.idOf(other.teams.name(team));
+        }
+        for (int i = 0; i < other.size; i++) {
+            add(ids[other.teamA[i]], other.scoreA[i], ids[other.teamB[i]], other.scoreB[i]);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.spandigital.league.match;
+
+import com.spandigital.league.match.dto.Match;
+import com.spandigital.league.match.dto.MatchResult;
+import com.spandigital.league.standings.StandingsTable;
+
+import java.io.Serial;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Reduces a range of match results to a {@link StandingsTable} on a ForkJoinPool.
+ * Ranges are halved until they are at most leafSize long; each leaf fills its own partial table
+ * and partials are merged on the way back up. Merging only adds counters, so the split points
+ * do not affect the resulting standings. A {@link MatchStore} leaf is replayed by team id, without
+ * creating MatchResult views.
+ */
+class StandingsReductionTask extends RecursiveTask<StandingsTable> {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    // ForkJoinTask is Serializable, but these tasks only ever run in the pool they were forked in
+    private final transient List<MatchResult> results;
+    private final int from;
+    private final int to;
+    private final int leafSize;
+
+    StandingsReductionTask(List<MatchResult> results, int from, int to, int leafSize) {
+        this.results = results;
+        this.from = from;
+        this.to = to;
+        this.leafSize = leafSize;
+    }
+
+    @Override
+    protected StandingsTable compute() {
+        if (to - from <= leafSize) {
+            var standings = new StandingsTable();
+            if (results instanceof MatchStore store) {
+                store.replay(from, to, standings);
+                return standings;
+            }
+            for (int i = from; i < to; i++) {
+                Match match = results.get(i).match();
+                standings.accept(match.teamA().name(), match.teamA().score(), match.teamB().name(), match.teamB().score());
+            }
+            return standings;
+        }
+
+        int middle = (from + to) >>> 1;
+        var left = new StandingsReductionTask(results, from, middle, leafSize);
+        var right = new StandingsReductionTask(results, middle, to, leafSize);
+        left.fork();
+        StandingsTable standings = right.compute();
+        standings.merge(left.join());
+        return standings;
+    }
+}
@@ -0,0 +1,172 @@
+package com.spandigital.league.metrics;
+
+import java.io.PrintStream;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide counters and per-stage latency histograms of the hot path: lines read, invalid lines,
+ * and the time spent reading, parsing, aggregating, ranking and writing. Everything is lock-free, so
+ * parser threads record concurrently. Metrics are off by default; while disabled every call is a single
+ * volatile read and a branch, so instrumented code pays next to nothing. Stages nest where the code
+ * does: parse time includes aggregating into the parser's own sink, while {@link Stage#AGGREGATE} covers
+ * merging partials and reducing collected results.
+ * <p>
+ * There is one instance per process ({@link #global()}), which every run resets and enables when it
+ * starts and disables when it reports. Runs that overlap in one JVM, such as the standings server next
+ * to a batch or tests running in parallel, therefore record into and reset the same numbers, and each
+ * report covers all of them.
+ */
+public final class LeagueMetrics {
+
+    private static final LeagueMetrics GLOBAL = new LeagueMetrics();
+
+    /** The stages of a run that are timed. */
+    public enum Stage {
+        /** Filling buffers from files, channels and streams. */
+        READ,
+        /** Tokenizing lines, including passing the matches to the parser's sink. */
+        PARSE,
+        /** Merging partial standings and reducing collected results. */
+        AGGREGATE,
+        /** Sorting teams into ranking order. */
+        RANK,
+        /** Encoding and writing the standings table. */
+        WRITE
+    }
+
+    private final LongAdder lines = new LongAdder();
+    private final LongAdder invalidLines = new LongAdder();
+    private final Map<Stage, LatencyHistogram> stages = new EnumMap<>(Stage.class);
+    private volatile boolean enabled;
+    private volatile long startNanos = System.nanoTime();
+
+    LeagueMetrics() {
+        for (Stage stage : Stage.values()) {
+            stages.put(stage, new LatencyHistogram());
+        }
+    }
+
+    /**
+     * @return The metrics recorded by the processors, writers and standings of this process
+     */
+    public static LeagueMetrics global() {
+        return GLOBAL;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Turns recording on or off. Call {@link #reset()} first to start a fresh run.
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Starts timing a stage.
+     *
+     * @return The start time to pass to {@link #stop(Stage, long)}, or 0 when disabled
+     */
+    public long start() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records the time since {@link #start()} for a stage.
+     *
+     * @param stage The stage that ran
+     * @param start The value returned by start()
+     */
+    public void stop(Stage stage, long start) {
+        if (enabled && start != 0) {
+            stages.get(stage).record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Counts lines handed to a parser, valid or not.
+     *
+     * @param count The number of lines
+     */
+    public void lines(long count) {
+        if (enabled) {
+            lines.add(count);
+        }
+    }
+
+    public void invalidLine() {
+        if (enabled) {
+            invalidLines.increment();
+        }
+    }
+
+    public long lines() {
+        return lines.sum();
+    }
+
+    public long invalidLines() {
+        return invalidLines.sum();
+    }
+
+    /**
+     * @param stage A stage
+     * @return The durations recorded for the stage
+     */
+    public LatencyHistogram histogram(Stage stage) {
+        return stages.get(stage);
+    }
+
+    /**
+     * @return Lines per second since metrics were enabled or reset
+     */
+    public double linesPerSecond() {
+        long elapsed = System.nanoTime() - startNanos;
+        return elapsed > 0 ? lines() * (double) TimeUnit.SECONDS.toNanos(1) / elapsed : 0;
+    }
+
+    /**
+     * Clears all values and restarts the clock lines/s are measured by.
+     */
+    public void reset() {
+        lines.reset();
+        invalidLines.reset();
+        stages.values().forEach(LatencyHistogram::reset);
+        startNanos = System.nanoTime();
+    }
+
+    /**
+     * Prints the counters and, for every stage that ran, its count, total time and latency percentiles.
+     *
+     * @param out The stream to print to, e.g. System.err so the standings output stays unchanged
+     */
+    public void report(PrintStream out) {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format(Locale.ROOT, "Metrics: %d lines (%d invalid), %.0f lines/s%n",
+                lines(), invalidLines(), linesPerSecond()));
+        for (Stage stage : Stage.values()) {
+            LatencyHistogram histogram = stages.get(stage);
+            if (histogram.count() > 0) {
+                String perLine = stage == Stage.PARSE && lines() > 0
+                        ? String.format(Locale.ROOT, " (%.1f ns/line)", (double) histogram.totalNanos() / lines())
+                        : "";
+                report.append(String.format(Locale.ROOT,
+                        "  %-9s count=%d total=%.3f ms p50=%.3f ms p99=%.3f ms max=%.3f ms%s%n",
+                        stage.name().toLowerCase(Locale.ROOT), histogram.count(),
+                        histogram.total(TimeUnit.MILLISECONDS), millis(histogram.percentileNanos(50)),
+                        millis(histogram.percentileNanos(99)), millis(histogram.maxNanos()), perLine));
+            }
+        }
+        out.print(report);
+        out.flush();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -0,0 +1,51 @@
+package com.spandigital.league.metrics;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exports {@link LeagueMetrics} to Micrometer: "league.lines" and "league.lines.invalid" counters and,
+ * per stage (tag "stage"), a "league.stage" timer with "league.stage.max" and "league.stage.p99" gauges.
+ * Meters read the lock-free counters when the registry polls them, so binding adds no work to the hot path.
+ */
+public class LeagueMetricsBinder implements MeterBinder {
+
+    private final LeagueMetrics metrics;
+
+    public LeagueMetricsBinder(LeagueMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("league.lines", metrics, LeagueMetrics::lines)
+                       .description("Match lines handed to a parser")
+                       .register(registry);
+        FunctionCounter.builder("league.lines.invalid", metrics, LeagueMetrics::invalidLines)
+                       .description("Match lines that could not be parsed")
+                       .register(registry);
+
+        for (LeagueMetrics.Stage stage : LeagueMetrics.Stage.values()) {
+            String name = stage.name().toLowerCase(Locale.ROOT);
+            LatencyHistogram histogram = metrics.histogram(stage);
+            FunctionTimer.builder("league.stage", histogram, LatencyHistogram::count,
+                                 LatencyHistogram::totalNanos, TimeUnit.NANOSECONDS)
+                         .tag("stage", name)
+                         .register(registry);
+            Gauge.builder("league.stage.max", histogram, h -> h.maxNanos() / 1e9)
+                 .tag("stage", name)
+                 .baseUnit("seconds")
+                 .register(registry);
+            Gauge.builder("league.stage.p99", histogram, h -> h.percentileNanos(99) / 1e9)
+                 .tag("stage", name)
+                 .baseUnit("seconds")
+                 .register(registry);
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.spandigital.league.metrics;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Makes the process-wide {@link LeagueMetrics} available to Micrometer. The binder bean always exists;
+ * Spring Boot binds every MeterBinder bean to the application's MeterRegistry once one exists (e.g. with
+ * the actuator), and without a registry it is never bound, which costs nothing. Recording itself is
+ * switched on by league.metrics.enabled.
+ */
+@Configuration(proxyBeanMethods = false)
+public class MetricsConfiguration {
+
+    @Bean
+    public LeagueMetricsBinder leagueMetricsBinder() {
+        return new LeagueMetricsBinder(LeagueMetrics.global());
+    }
+}
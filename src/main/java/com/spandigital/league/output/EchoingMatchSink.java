@@ -0,0 +1,54 @@
+package com.spandigital.league.output;
+
+import com.spandigital.league.standings.MergeableMatchSink;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Echoes every match through a {@link StandingsWriter} and records it in mergeable standings, while
+ * staying mergeable itself. A partial renders its echo lines into its own buffer and fills a partial of
+ * the standings; merging it writes the buffered lines and merges the standings. Parallel readers
+ * therefore aggregate in their workers instead of buffering every match to replay it on merge, and the
+ * echo lines still come out in input order. Not thread-safe; use one partial per worker.
+ */
+public class EchoingMatchSink implements MergeableMatchSink {
+
+    private final StandingsWriter writer;
+    // The rendered echo lines of a partial; null for the sink that writes to the real output
+    private final ByteArrayOutputStream echoed;
+    private final MergeableMatchSink standings;
+
+    /**
+     * @param writer The writer echo lines go to
+     * @param standings The standings every match is recorded in
+     */
+    public EchoingMatchSink(StandingsWriter writer, MergeableMatchSink standings) {
+        this(writer, null, standings);
+    }
+
+    private EchoingMatchSink(StandingsWriter writer, ByteArrayOutputStream echoed, MergeableMatchSink standings) {
+        this.writer = writer;
+        this.echoed = echoed;
+        this.standings = standings;
+    }
+
+    @Override
+    public void accept(String teamA, int scoreA, String teamB, int scoreB) {
+        writer.matchProcessed(teamA, scoreA, teamB, scoreB);
+        standings.accept(teamA, scoreA, teamB, scoreB);
+    }
+
+    @Override
+    public EchoingMatchSink newPartial() {
+        ByteArrayOutputStream lines = new ByteArrayOutputStream();
+        return new EchoingMatchSink(StandingsWriter.to(lines, writer.charset()), lines, standings.newPartial());
+    }
+
+    @Override
+    public void merge(MergeableMatchSink partial) {
+        EchoingMatchSink other = (EchoingMatchSink) partial;
+        other.writer.flush();
+        writer.write(other.echoed.toByteArray());
+        standings.merge(other.standings);
+    }
+}
@@ -0,0 +1,487 @@
+package com.spandigital.league.output;
+
+import com.spandigital.league.metrics.LeagueMetrics;
+import com.spandigital.league.standings.SpillingStandings;
+import com.spandigital.league.standings.StandingsHistory;
+import com.spandigital.league.standings.StandingsTable;
+import com.spandigital.league.standings.TeamStanding;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Writes per-match echo lines and standings tables through one large reusable buffer, encoded like the
+ * target: in the charset of a PrintStream such as System.out (its stdout.encoding), otherwise as UTF-8.
+ * Lines are encoded straight into the buffer (no per-line String concatenation) and reach the
+ * underlying stream or channel in a single write per buffer-full, instead of one synchronized,
+ * flushing println per line. Call {@link #flush()} before anything else writes to the same target.
+ * Not thread-safe.
+ */
+public class StandingsWriter implements Flushable, Closeable {
+
+    static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+    private static final LeagueMetrics METRICS = LeagueMetrics.global();
+
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+    private static final byte[] PROCESSED = "Processed: ".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SCORE_SEPARATOR = " - ".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] STANDINGS_HEADER = "Team Standings:".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] POINTS_SEPARATOR = ": ".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] POINTS_SUFFIX = " pts".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] POSITIONS_HEADER = "Positions by round:".getBytes(StandardCharsets.UTF_8);
+    private static final String[] TABLE_COLUMNS = {"P", "W", "D", "L", "GF", "GA", "GD", "Pts"};
+    private static final int GOAL_DIFFERENCE_COLUMN = 6;
+    // Labels, digits and separators are written as the ASCII bytes above, in any charset that encodes them so
+    private static final String ASCII_SAMPLE = " +-:0123456789ADGLPSTW\r\n";
+
+    private final OutputStream out;
+    private final FileChannel channel;
+    private final Charset charset;
+    private final byte[] buffer;
+    private int position;
+
+    private StandingsWriter(OutputStream out, FileChannel channel, Charset charset, int bufferSize) {
+        this.out = out;
+        this.channel = channel;
+        this.charset = charset;
+        this.buffer = new byte[bufferSize];
+    }
+
+    /**
+     * @param out The stream to write to, e.g. System.out; closing the writer does not close it
+     * @return A writer buffering into the stream, in the stream's charset if it is a PrintStream and UTF-8 otherwise
+     */
+    public static StandingsWriter to(OutputStream out) {
+        return to(out, out instanceof PrintStream printStream ? printStream.charset() : StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @param out The stream to write to; closing the writer does not close it
+     * @param charset The charset to encode text in; charsets that do not encode ASCII as single bytes,
+     *                such as UTF-16, are replaced by UTF-8
+     * @return A writer buffering into the stream
+     */
+    public static StandingsWriter to(OutputStream out, Charset charset) {
+        return new StandingsWriter(out, null, asciiCompatible(charset) ? charset : StandardCharsets.UTF_8,
+                DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * @param channel The channel to write to; closing the writer closes it
+     * @return A writer buffering into the channel, as UTF-8
+     */
+    public static StandingsWriter to(FileChannel channel) {
+        return new StandingsWriter(null, channel, StandardCharsets.UTF_8, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Opens (creating or truncating) a file and writes to it through a FileChannel.
+     *
+     * @param path The file to write
+     * @return A writer for the file
+     * @throws IOException If the file cannot be opened
+     */
+    public static StandingsWriter toFile(Path path) throws IOException {
+        return to(FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING));
+    }
+
+    /**
+     * @return The charset text is encoded in; text rendered elsewhere and passed to {@link #write(byte[])}
+     * must use it too
+     */
+    public Charset charset() {
+        return charset;
+    }
+
+    /**
+     * Writes "Processed: TeamA ScoreA - TeamB ScoreB".
+     */
+    public void matchProcessed(String teamA, int scoreA, String teamB, int scoreB) {
+        write(PROCESSED);
+        write(teamA);
+        write((byte) ' ');
+        write(scoreA);
+        write(SCORE_SEPARATOR);
+        write(teamB);
+        write((byte) ' ');
+        write(scoreB);
+        write(LINE_SEPARATOR);
+    }
+
+    /**
+     * Writes a blank line, the "Team Standings:" header and one "Team: N pts" row per team, in ranking order.
+     *
+     * @param standings The standings to write
+     */
+    public void standings(StandingsTable standings) {
+        standings(standings, 0);
+    }
+
+    /**
+     * Writes the standings header and the rows of the best ranked teams only.
+     *
+     * @param standings The standings to write
+     * @param limit The maximum number of rows, or 0 for the whole table
+     */
+    public void standings(StandingsTable standings, int limit) {
+        write(LINE_SEPARATOR);
+        write(STANDINGS_HEADER);
+        write(LINE_SEPARATOR);
+        long start = METRICS.start();
+        int[] ranked = standings.rankedTeamIds(limit);
+        METRICS.stop(LeagueMetrics.Stage.RANK, start);
+        start = METRICS.start();
+        for (int team : ranked) {
+            write(standings.teamName(team));
+            write(POINTS_SEPARATOR);
+            write(standings.points(team));
+            write(POINTS_SUFFIX);
+            write(LINE_SEPARATOR);
+        }
+        METRICS.stop(LeagueMetrics.Stage.WRITE, start);
+    }
+
+    /**
+     * Writes the standings header and the full table of the best ranked teams, one aligned row per team:
+     * position, team, played, won, drawn, lost, goals for, goals against, goal difference and points.
+     *
+     * @param standings The standings to write
+     * @param limit The maximum number of rows, or 0 for the whole table
+     */
+    public void table(StandingsTable standings, int limit) {
+        write(LINE_SEPARATOR);
+        write(STANDINGS_HEADER);
+        write(LINE_SEPARATOR);
+        long start = METRICS.start();
+        int[] ranked = standings.rankedTeamIds(limit);
+        METRICS.stop(LeagueMetrics.Stage.RANK, start);
+        start = METRICS.start();
+
+        // Column widths fit the widest value of the rows written
+        int nameWidth = "Team".length();
+        int[] widths = columnWidths();
+        int[] row = new int[TABLE_COLUMNS.length];
+        for (int team : ranked) {
+            nameWidth = Math.max(nameWidth, standings.teamName(team).length());
+            tableRow(standings, team, row);
+            fit(widths, row);
+        }
+        int positionWidth = Math.max("Pos".length(), width(ranked.length, false));
+
+        tableHeader(positionWidth, nameWidth, widths);
+        for (int position = 0; position < ranked.length; position++) {
+            tableRow(standings, ranked[position], row);
+            tableLine(position + 1, standings.teamName(ranked[position]), row, positionWidth, nameWidth, widths);
+        }
+        METRICS.stop(LeagueMetrics.Stage.WRITE, start);
+    }
+
+    /**
+     * Writes the standings header and one "Team: N pts" row per standing, in the order given, e.g. a
+     * ranking merged from disk by {@link SpillingStandings}.
+     *
+     * @param ranking The standings in ranking order
+     */
+    public void standings(Iterable<TeamStanding> ranking) {
+        write(LINE_SEPARATOR);
+        write(STANDINGS_HEADER);
+        write(LINE_SEPARATOR);
+        long start = METRICS.start();
+        for (TeamStanding standing : ranking) {
+            write(standing.team());
+            write(POINTS_SEPARATOR);
+            write(standing.points());
+            write(POINTS_SUFFIX);
+            write(LINE_SEPARATOR);
+        }
+        METRICS.stop(LeagueMetrics.Stage.WRITE, start);
+    }
+
+    /**
+     * Writes the standings header and the full table of the standings, in the order given. The ranking
+     * is iterated twice, first to size the columns and then to write the rows, so no row is held in memory.
+     *
+     * @param ranking The standings in ranking order; every iteration must return the same standings
+     */
+    public void table(Iterable<TeamStanding> ranking) {
+        write(LINE_SEPARATOR);
+        write(STANDINGS_HEADER);
+        write(LINE_SEPARATOR);
+        long start = METRICS.start();
+        int nameWidth = "Team".length();
+        int[] widths = columnWidths();
+        int[] row = new int[TABLE_COLUMNS.length];
+        int rows = 0;
+        for (TeamStanding standing : ranking) {
+            nameWidth = Math.max(nameWidth, standing.team().length());
+            tableRow(standing, row);
+            fit(widths, row);
+            rows++;
+        }
+        int positionWidth = Math.max("Pos".length(), width(rows, false));
+
+        tableHeader(positionWidth, nameWidth, widths);
+        int position = 0;
+        for (TeamStanding standing : ranking) {
+            tableRow(standing, row);
+            tableLine(++position, standing.team(), row, positionWidth, nameWidth, widths);
+        }
+        METRICS.stop(LeagueMetrics.Stage.WRITE, start);
+    }
+
+    /**
+     * Writes a "Positions by round:" chart: one row per team, in the given order, with its position after
+     * each round, or '-' for rounds before its first match.
+     *
+     * @param chart The teams' positions, e.g. from {@link StandingsHistory#positionsByRound()}
+     */
+    public void positions(List<StandingsHistory.TeamPositions> chart) {
+        write(LINE_SEPARATOR);
+        write(POSITIONS_HEADER);
+        write(LINE_SEPARATOR);
+        long start = METRICS.start();
+        int rounds = chart.isEmpty() ? 0 : chart.get(0).positions().length;
+        int nameWidth = "Team".length();
+        for (StandingsHistory.TeamPositions team : chart) {
+            nameWidth = Math.max(nameWidth, team.team().length());
+        }
+        int width = Math.max(width(rounds, false), width(chart.size(), false));
+
+        write("Team");
+        spaces(nameWidth - "Team".length());
+        for (int round = 1; round <= rounds; round++) {
+            write((byte) ' ');
+            spaces(width - width(round, false));
+            write(round);
+        }
+        write(LINE_SEPARATOR);
+        for (StandingsHistory.TeamPositions team : chart) {
+            write(team.team());
+            spaces(nameWidth - team.team().length());
+            for (int position : team.positions()) {
+                write((byte) ' ');
+                if (position == 0) {
+                    spaces(width - 1);
+                    write((byte) '-');
+                } else {
+                    spaces(width - width(position, false));
+                    write(position);
+                }
+            }
+            write(LINE_SEPARATOR);
+        }
+        METRICS.stop(LeagueMetrics.Stage.WRITE, start);
+    }
+
+    private static int[] columnWidths() {
+        int[] widths = new int[TABLE_COLUMNS.length];
+        for (int column = 0; column < widths.length; column++) {
+            widths[column] = TABLE_COLUMNS[column].length();
+        }
+        return widths;
+    }
+
+    private static void fit(int[] widths, int[] row) {
+        for (int column = 0; column < widths.length; column++) {
+            widths[column] = Math.max(widths[column], width(row[column], column == GOAL_DIFFERENCE_COLUMN));
+        }
+    }
+
+    private void tableHeader(int positionWidth, int nameWidth, int[] widths) {
+        pad("Pos", positionWidth);
+        write(" Team");
+        spaces(nameWidth - "Team".length());
+        for (int column = 0; column < widths.length; column++) {
+            write((byte) ' ');
+            pad(TABLE_COLUMNS[column], widths[column]);
+        }
+        write(LINE_SEPARATOR);
+    }
+
+    private void tableLine(int position, String name, int[] row, int positionWidth, int nameWidth, int[] widths) {
+        spaces(positionWidth - width(position, false));
+        write(position);
+        write((byte) ' ');
+        write(name);
+        spaces(nameWidth - name.length());
+        for (int column = 0; column < widths.length; column++) {
+            boolean signed = column == GOAL_DIFFERENCE_COLUMN;
+            write((byte) ' ');
+            spaces(widths[column] - width(row[column], signed));
+            if (signed && row[column] > 0) {
+                write((byte) '+');
+            }
+            write(row[column]);
+        }
+        write(LINE_SEPARATOR);
+    }
+
+    private static void tableRow(TeamStanding standing, int[] row) {
+        row[0] = standing.played();
+        row[1] = standing.wins();
+        row[2] = standing.draws();
+        row[3] = standing.losses();
+        row[4] = standing.goalsFor();
+        row[5] = standing.goalsAgainst();
+        row[GOAL_DIFFERENCE_COLUMN] = standing.goalDifference();
+        row[7] = standing.points();
+    }
+
+    private static void tableRow(StandingsTable standings, int team, int[] row) {
+        row[0] = standings.played(team);
+        row[1] = standings.wins(team);
+        row[2] = standings.draws(team);
+        row[3] = standings.losses(team);
+        row[4] = standings.goalsFor(team);
+        row[5] = standings.goalsAgainst(team);
+        row[GOAL_DIFFERENCE_COLUMN] = standings.goalDifference(team);
+        row[7] = standings.points(team);
+    }
+
+    // Characters needed to print the value, including a sign; positive values get '+' when signed
+    private static int width(int value, boolean signed) {
+        int width = value < 0 || (signed && value > 0) ? 2 : 1;
+        for (long scale = 10; scale <= Math.abs((long) value); scale *= 10) {
+            width++;
+        }
+        return width;
+    }
+
+    private void pad(String text, int width) {
+        spaces(width - text.length());
+        write(text);
+    }
+
+    private void spaces(int count) {
+        for (int i = 0; i < count; i++) {
+            write((byte) ' ');
+        }
+    }
+
+    /**
+     * Writes a line of text followed by the line separator.
+     */
+    public void line(String text) {
+        write(text);
+        write(LINE_SEPARATOR);
+    }
+
+    public void write(String text) {
+        int length = text.length();
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= 0x80) {
+                write(text.substring(i).getBytes(charset));
+                return;
+            }
+            if (position == buffer.length) {
+                drain();
+            }
+            buffer[position++] = (byte) c;
+        }
+    }
+
+    public void write(int value) {
+        if (buffer.length - position < 11) {
+            drain();
+        }
+        long remaining = value;
+        if (remaining < 0) {
+            buffer[position++] = '-';
+            remaining = -remaining;
+        }
+        int digits = 1;
+        for (long scale = 10; scale <= remaining; scale *= 10) {
+            digits++;
+        }
+        for (int i = position + digits - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+        position += digits;
+    }
+
+    private void write(byte value) {
+        if (position == buffer.length) {
+            drain();
+        }
+        buffer[position++] = value;
+    }
+
+    /**
+     * Writes bytes as they are, e.g. text another writer rendered into a byte array.
+     */
+    public void write(byte[] bytes) {
+        if (bytes.length > buffer.length - position) {
+            drain();
+            if (bytes.length > buffer.length) {
+                writeThrough(bytes, bytes.length);
+                return;
+            }
+        }
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+    }
+
+    /**
+     * Writes the buffered bytes to the target and flushes it.
+     */
+    @Override
+    public void flush() {
+        drain();
+        if (out != null) {
+            try {
+                out.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private void drain() {
+        if (position > 0) {
+            writeThrough(buffer, position);
+            position = 0;
+        }
+    }
+
+    private static boolean asciiCompatible(Charset charset) {
+        return Arrays.equals(ASCII_SAMPLE.getBytes(charset), ASCII_SAMPLE.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private void writeThrough(byte[] bytes, int length) {
+        try {
+            if (channel != null) {
+                ByteBuffer source = ByteBuffer.wrap(bytes, 0, length);
+                while (source.hasRemaining()) {
+                    channel.write(source);
+                }
+            } else {
+                out.write(bytes, 0, length);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,62 +1,284 @@
 package com.spandigital.league.processor;
 
-import com.spandigital.league.match.dto.Match;
+import com.spandigital.league.match.MatchStore;
 import com.spandigital.league.match.dto.MatchResult;
-import com.spandigital.league.match.dto.TeamScore;
+import com.spandigital.league.metrics.LeagueMetrics;
+import com.spandigital.league.standings.LeagueMatchSink;
+import com.spandigital.league.standings.MatchSink;
+import com.spandigital.league.standings.MergeableMatchSink;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.experimental.SuperBuilder;
 
-import java.util.ArrayList;
+import java.io.IOException;
 import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
 
 @SuperBuilder
 @Getter
 public abstract class AbstractMatchProcessor {
 
-    private final List<MatchResult> results = new ArrayList<>();
+    /** Records read, parse and merge times of every processor. */
+    protected static final LeagueMetrics METRICS = LeagueMetrics.global();
+    // Counted whether or not metrics are enabled, see invalidLines()
+    private static final LongAdder INVALID_LINES = new LongAdder();
+
+    /** The matches read when no sink is set, stored compactly; its MatchResults are views. */
+    @Getter(AccessLevel.NONE)
+    private final MatchStore results = new MatchStore();
     private final Scanner scanner;
+    /** Receives every parsed match as it is read. When not set, matches are collected into results. */
+    private final MatchSink sink;
+    /** Set when reading stopped on an error; the matches read before it have still reached the sink. */
+    @Getter(AccessLevel.NONE)
+    private final AtomicBoolean failed = new AtomicBoolean();
 
     protected AbstractMatchProcessor(Scanner scanner) {
+        this(scanner, null);
+    }
+
+    protected AbstractMatchProcessor(Scanner scanner, MatchSink sink) {
         this.scanner = scanner;
+        this.sink = sink;
     }
 
+    /**
+     * Reads all input, streaming every match to the sink.
+     *
+     * @return The collected match results; empty when a sink was supplied
+     */
     public abstract List<MatchResult> processInput();
 
-    protected void processLine(String line) {
-        var parts = line.split(",");
-        if (parts.length == 2) {
+    /**
+     * @return The matches read so far when no sink is set, as a {@link MatchStore}
+     */
+    public List<MatchResult> getResults() {
+        return results;
+    }
+
+    /**
+     * @return Whether reading stopped on an error, so the sink did not receive the whole input
+     */
+    public boolean isFailed() {
+        return failed.get();
+    }
+
+    protected void markFailed() {
+        failed.set(true);
+    }
+
+    /**
+     * @return The sink parsed matches go to: the configured sink, or the results list adapter
+     */
+    protected MatchSink target() {
+        return sink != null ? sink : results;
+    }
+
+    /**
+     * Creates an empty partial of the target sink for a worker to fill independently.
+     * Targets that cannot be split get a {@link MatchStore} whose matches are replayed on merge.
+     *
+     * @return The new partial sink
+     */
+    protected MergeableMatchSink newPartial() {
+        return target() instanceof MergeableMatchSink mergeable ? mergeable.newPartial() : new MatchStore();
+    }
 
-            var teamScoreA = extractTeamScore(parts[0]);
-            var teamScoreB = extractTeamScore(parts[1]);
+    /**
+     * Merges a partial created by {@link #newPartial()} into the target sink.
+     * Callers merge partials in input order.
+     *
+     * @param partial The partial to merge
+     */
+    protected void mergePartial(MergeableMatchSink partial) {
+        long start = METRICS.start();
+        if (target() instanceof MergeableMatchSink mergeable) {
+            mergeable.merge(partial);
+        } else {
+            ((MatchStore) partial).replay(target());
+        }
+        METRICS.stop(LeagueMetrics.Stage.AGGREGATE, start);
+    }
 
-            Match match = new Match(
-                    teamScoreA,
-                    teamScoreB
-            );
+    /**
+     * Waits for a worker's result, rethrowing its failure as thrown by the worker.
+     *
+     * @param future The worker's future
+     * @return The worker's result
+     * @throws IOException If the worker failed with an IOException or the wait was interrupted
+     */
+    protected static <T> T await(Future<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while reading input", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            throw new IOException(e.getCause());
+        }
+    }
 
-            results.add(new MatchResult(match));
+    /**
+     * Stops the workers of a read once its partials were merged or one of them failed. A pool of the
+     * read's own is shut down; on a pool shared with other readers only the read's own tasks are cancelled.
+     *
+     * @param executor The pool the tasks were submitted to
+     * @param shared Whether the pool is shared with other readers
+     * @param tasks The tasks the read submitted
+     */
+    protected static void stopWorkers(ExecutorService executor, boolean shared, List<? extends Future<?>> tasks) {
+        if (shared) {
+            tasks.forEach(task -> task.cancel(true));
         } else {
-            System.out.println("Invalid format, please use: TeamA ScoreA, TeamB ScoreB");
+            executor.shutdownNow();
         }
     }
 
-    private TeamScore extractTeamScore(String part) {
-        // Extract just the score (last set of digits in the string)
-        String scoreStr = part.replaceAll(".*?(\\d+)\\s*$", "$1");
-        int score;
+    protected void processLine(String line) {
+        processLine(line, target());
+    }
+
+    /**
+     * Parses a single "TeamA ScoreA, TeamB ScoreB" line in one pass over its characters.
+     * Behaves like splitting on "," (trailing empty parts dropped) and requiring exactly two parts,
+     * but locates the comma and the score digits by index instead of going through String.split
+     * and regular expressions. For a {@link LeagueMatchSink}, the line may start with a league field:
+     * "League, TeamA ScoreA, TeamB ScoreB".
+     *
+     * @param line The raw input line
+     * @param target The sink to pass the parsed match to
+     */
+    protected void processLine(String line, MatchSink target) {
+        long start = METRICS.start();
+        METRICS.lines(1);
         try {
-            score = Integer.parseInt(scoreStr);
-        } catch (NumberFormatException e) {
-            throw new NumberFormatException("Invalid score format: " + part);
+            parseLine(line, target);
+        } finally {
+            METRICS.stop(LeagueMetrics.Stage.PARSE, start);
         }
+    }
 
-        // Extract team name (everything except the last set of digits)
-        String name = part.replaceAll("\\s*\\d+\\s*$", "").trim();
+    private static void parseLine(String line, MatchSink target) {
+        int end = line.length();
+        while (end > 0 && line.charAt(end - 1) == ',') {
+            end--;
+        }
+        int start = 0;
+        int comma = line.indexOf(',');
+        if (comma >= 0 && comma < end) {
+            int nextComma = line.indexOf(',', comma + 1);
+            String league = null;
+            if (nextComma >= 0 && nextComma < end && target instanceof LeagueMatchSink) {
+                int lastComma = line.indexOf(',', nextComma + 1);
+                if (lastComma < 0 || lastComma >= end) {
+                    league = teamName(line, 0, comma);
+                    start = comma + 1;
+                    comma = nextComma;
+                    nextComma = -1;
+                }
+            }
+            if (nextComma < 0 || nextComma >= end) {
+                int digitsA = scoreStart(line, start, comma);
+                int scoreA = parseScore(line, digitsA, start, comma);
+                int digitsB = scoreStart(line, comma + 1, end);
+                int scoreB = parseScore(line, digitsB, comma + 1, end);
+
+                String teamA = teamName(line, start, digitsA);
+                String teamB = teamName(line, comma + 1, digitsB);
+                if (league != null) {
+                    ((LeagueMatchSink) target).accept(league, teamA, scoreA, teamB, scoreB);
+                } else {
+                    target.accept(teamA, scoreA, teamB, scoreB);
+                }
+                return;
+            }
+        }
+        invalidLine();
+    }
+
+    /**
+     * Counts and reports a line that is not a match, as every parser does.
+     */
+    static void invalidLine() {
+        INVALID_LINES.increment();
+        METRICS.invalidLine();
+        System.out.println("Invalid format, please use: TeamA ScoreA, TeamB ScoreB");
+    }
+
+    /**
+     * @return The invalid lines every processor of this process has reported so far, also while metrics
+     *         are disabled; the difference over a run tells whether its input had any
+     */
+    public static long invalidLines() {
+        return INVALID_LINES.sum();
+    }
+
+    /**
+     * Finds the score in line[from, to): the last run of digits, optionally followed by whitespace.
+     *
+     * @return The index the digit run starts at
+     */
+    private static int scoreStart(String line, int from, int to) {
+        int digitsEnd = to;
+        while (digitsEnd > from && isWhitespace(line.charAt(digitsEnd - 1))) {
+            digitsEnd--;
+        }
+        int digitsStart = digitsEnd;
+        while (digitsStart > from && isDigit(line.charAt(digitsStart - 1))) {
+            digitsStart--;
+        }
+        if (digitsStart == digitsEnd) {
+            throw invalidScore(line, from, to);
+        }
+        return digitsStart;
+    }
+
+    private static int parseScore(String line, int digitsStart, int from, int to) {
+        int score = 0;
+        for (int i = digitsStart; i < to && isDigit(line.charAt(i)); i++) {
+            int digit = line.charAt(i) - '0';
+            if (score > (Integer.MAX_VALUE - digit) / 10) {
+                throw invalidScore(line, from, to);
+            }
+            score = score * 10 + digit;
+        }
+        return score;
+    }
+
+    // Extract a team name (everything before the score) or league, trimmed like String.trim()
+    private static String teamName(String line, int from, int digitsStart) {
+        int nameStart = from;
+        int nameEnd = digitsStart;
+        while (nameStart < nameEnd && line.charAt(nameStart) <= ' ') {
+            nameStart++;
+        }
+        while (nameEnd > nameStart && line.charAt(nameEnd - 1) <= ' ') {
+            nameEnd--;
+        }
+        return line.substring(nameStart, nameEnd);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    // Same character set as the regex \s
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
 
-        return TeamScore.builder()
-                        .score(score)
-                        .name(name)
-                        .build();
+    private static NumberFormatException invalidScore(String line, int from, int to) {
+        return new NumberFormatException("Invalid score format: " + line.substring(from, to));
     }
 }
@@ -0,0 +1,135 @@
+package com.spandigital.league.processor;
+
+import com.spandigital.league.archive.MatchArchive;
+import com.spandigital.league.match.dto.MatchResult;
+import com.spandigital.league.metrics.LeagueMetrics;
+import com.spandigital.league.standings.MergeableMatchSink;
+import com.spandigital.league.standings.StandingsTable;
+import lombok.experimental.SuperBuilder;
+
+import java.io.IOException;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Reloads matches from a binary {@link MatchArchive} instead of parsing text. The id and score columns
+ * are memory-mapped and split into ranges that are read on separate workers into partials of the target,
+ * merged in archive order. When a partial is a {@link StandingsTable} the archive's team ids are
+ * translated once and matches are recorded by id, so no name is looked up per match.
+ */
+@SuperBuilder
+public class ArchiveMatchProcessor extends AbstractMatchProcessor {
+
+    private static final long MIN_RANGE_SIZE = 1 << 20;
+
+    /** Number of worker threads, defaults to the number of available processors. */
+    private final int parallelism;
+    /** Pool shared with other readers to read the ranges on; by default each archive gets a pool of its own. */
+    private final ExecutorService workers;
+
+    public ArchiveMatchProcessor(Scanner scanner) {
+        super(scanner);
+        this.parallelism = 0;
+        this.workers = null;
+    }
+
+    @Override
+    public List<MatchResult> processInput() {
+        System.out.println("Enter match archive path:");
+        String filePath = getScanner().nextLine();
+        return processFile(filePath);
+    }
+
+    /**
+     * Reads all match results from the given archive.
+     *
+     * @param filePath Path of the archive
+     * @return The accumulated match results, or an empty list if the archive could not be read
+     */
+    public List<MatchResult> processFile(String filePath) {
+        try {
+            readArchive(filePath);
+        } catch (Exception e) {
+            markFailed();
+            System.err.println("Error reading match archive: " + e.getMessage());
+            return Collections.emptyList();
+        }
+        return getResults();
+    }
+
+    private void readArchive(String filePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+            MatchArchive archive = MatchArchive.open(channel);
+            long matchCount = archive.matchCount();
+            if (matchCount == 0) {
+                return;
+            }
+            String[] teams = archive.teams();
+            int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+            long rangeSize = Math.min(MatchArchive.MAX_MAPPED_MATCHES,
+                    Math.max(MIN_RANGE_SIZE, (matchCount + threads - 1) / threads));
+
+            ExecutorService executor = workers != null ? workers
+                    : Executors.newFixedThreadPool((int) Math.min(threads, (matchCount + rangeSize - 1) / rangeSize));
+            List<Future<MergeableMatchSink>> partials = new ArrayList<>();
+            try {
+                for (long from = 0; from < matchCount; from += rangeSize) {
+                    long start = from;
+                    long end = Math.min(matchCount, from + rangeSize);
+                    MergeableMatchSink partial = newPartial();
+                    partials.add(executor.submit(() -> readRange(channel, archive, teams, start, end, partial)));
+                }
+                for (Future<MergeableMatchSink> partial : partials) {
+                    mergePartial(await(partial));
+                }
+            } finally {
+                stopWorkers(executor, executor == workers, partials);
+            }
+        }
+    }
+
+    private static MergeableMatchSink readRange(FileChannel channel, MatchArchive archive, String[] teams,
+                                                long from, long to, MergeableMatchSink partial) throws IOException {
+        IntBuffer teamA = archive.column(channel, MatchArchive.TEAM_A, from, to);
+        IntBuffer teamB = archive.column(channel, MatchArchive.TEAM_B, from, to);
+        IntBuffer scoreA = archive.column(channel, MatchArchive.SCORE_A, from, to);
+        IntBuffer scoreB = archive.column(channel, MatchArchive.SCORE_B, from, to);
+        int count = (int) (to - from);
+        long start = METRICS.start();
+
+        if (partial instanceof StandingsTable table) {
+            int[] ids = new int[teams.length];
+            for (int team = 0; team < teams.length; team++) {
+                ids[team] = table.teamId(teams[team]);
+            }
+            for (int i = 0; i < count; i++) {
+                table.record(ids[checked(teamA.get(i), ids.length)], scoreA.get(i),
+                        ids[checked(teamB.get(i), ids.length)], scoreB.get(i));
+            }
+        } else {
+            for (int i = 0; i < count; i++) {
+                partial.accept(teams[checked(teamA.get(i), teams.length)], scoreA.get(i),
+                        teams[checked(teamB.get(i), teams.length)], scoreB.get(i));
+            }
+        }
+        METRICS.lines(count);
+        METRICS.stop(LeagueMetrics.Stage.PARSE, start);
+        return partial;
+    }
+
+    private static int checked(int team, int teamCount) {
+        if (team < 0 || team >= teamCount) {
+            throw new IllegalStateException("Corrupt match archive: unknown team id " + team);
+        }
+        return team;
+    }
+}
@@ -0,0 +1,162 @@
+package com.spandigital.league.processor;
+
+import com.spandigital.league.metrics.LeagueMetrics;
+import com.spandigital.league.standings.LeagueMatchSink;
+import com.spandigital.league.standings.MatchSink;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Parses UTF-8 encoded match lines straight from a {@link ByteBuffer}.
+ * Mirrors {@link AbstractMatchProcessor#processLine(String)}: lines end at '\n', '\r' or "\r\n"
+ * like BufferedReader.readLine(), and every delimiter, digit and whitespace is ASCII so the
+ * scan never has to decode bytes. Scores are parsed as ASCII digits, and a team name is only decoded
+ * the first time its bytes are seen; after that a {@link TeamNameCache} lookup returns the same String.
+ * For a {@link LeagueMatchSink}, lines may start with a league field, "League, TeamA ScoreA, TeamB ScoreB".
+ * Not thread-safe; use one parser per worker.
+ */
+final class ByteMatchLineParser {
+
+    private static final LeagueMetrics METRICS = LeagueMetrics.global();
+
+    private final TeamNameCache names = new TeamNameCache();
+    private byte[] scratch = new byte[64];
+
+    /**
+     * Parses every line between the buffer's position and limit.
+     *
+     * @param buffer The bytes to parse, not modified
+     * @param sink The sink to pass parsed matches to
+     */
+    void parse(ByteBuffer buffer, MatchSink sink) {
+        long start = METRICS.start();
+        int lines = 0;
+        int limit = buffer.limit();
+        int lineStart = buffer.position();
+        LeagueMatchSink leagues = sink instanceof LeagueMatchSink leagueSink ? leagueSink : null;
+        for (int i = lineStart; i < limit; i++) {
+            byte b = buffer.get(i);
+            if (b == '\n' || b == '\r') {
+                parseLine(buffer, lineStart, i, sink, leagues);
+                lines++;
+                if (b == '\r' && i + 1 < limit && buffer.get(i + 1) == '\n') {
+                    i++;
+                }
+                lineStart = i + 1;
+            }
+        }
+        if (lineStart < limit) {
+            parseLine(buffer, lineStart, limit, sink, leagues);
+            lines++;
+        }
+        METRICS.lines(lines);
+        METRICS.stop(LeagueMetrics.Stage.PARSE, start);
+    }
+
+    private void parseLine(ByteBuffer buffer, int start, int end, MatchSink sink, LeagueMatchSink leagues) {
+        while (end > start && buffer.get(end - 1) == ',') {
+            end--;
+        }
+        int comma = indexOfComma(buffer, start, end);
+        int nextComma = comma >= 0 ? indexOfComma(buffer, comma + 1, end) : -1;
+        String league = null;
+        if (nextComma >= 0 && leagues != null && indexOfComma(buffer, nextComma + 1, end) < 0) {
+            league = name(buffer, start, comma);
+            start = comma + 1;
+            comma = nextComma;
+            nextComma = -1;
+        }
+        if (comma >= 0 && nextComma < 0) {
+            int digitsA = scoreStart(buffer, start, comma);
+            int scoreA = parseScore(buffer, digitsA, start, comma);
+            int digitsB = scoreStart(buffer, comma + 1, end);
+            int scoreB = parseScore(buffer, digitsB, comma + 1, end);
+
+            String teamA = name(buffer, start, digitsA);
+            String teamB = name(buffer, comma + 1, digitsB);
+            if (league != null) {
+                leagues.accept(league, teamA, scoreA, teamB, scoreB);
+            } else {
+                sink.accept(teamA, scoreA, teamB, scoreB);
+            }
+        } else {
+            AbstractMatchProcessor.invalidLine();
+        }
+    }
+
+    private static int indexOfComma(ByteBuffer buffer, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) == ',') {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int scoreStart(ByteBuffer buffer, int from, int to) {
+        int digitsEnd = to;
+        while (digitsEnd > from && isWhitespace(buffer.get(digitsEnd - 1))) {
+            digitsEnd--;
+        }
+        int digitsStart = digitsEnd;
+        while (digitsStart > from && isDigit(buffer.get(digitsStart - 1))) {
+            digitsStart--;
+        }
+        if (digitsStart == digitsEnd) {
+            throw invalidScore(buffer, from, to);
+        }
+        return digitsStart;
+    }
+
+    private int parseScore(ByteBuffer buffer, int digitsStart, int from, int to) {
+        int score = 0;
+        for (int i = digitsStart; i < to && isDigit(buffer.get(i)); i++) {
+            int digit = buffer.get(i) - '0';
+            if (score > (Integer.MAX_VALUE - digit) / 10) {
+                throw invalidScore(buffer, from, to);
+            }
+            score = score * 10 + digit;
+        }
+        return score;
+    }
+
+    // Multi-byte UTF-8 sequences only use bytes >= 0x80, so trimming ASCII control bytes matches String.trim()
+    private String name(ByteBuffer buffer, int from, int to) {
+        int nameStart = from;
+        int nameEnd = to;
+        while (nameStart < nameEnd && (buffer.get(nameStart) & 0xFF) <= ' ') {
+            nameStart++;
+        }
+        while (nameEnd > nameStart && (buffer.get(nameEnd - 1) & 0xFF) <= ' ') {
+            nameEnd--;
+        }
+        return names.name(copy(buffer, nameStart, nameEnd), nameEnd - nameStart);
+    }
+
+    private String decode(ByteBuffer buffer, int from, int to) {
+        return new String(copy(buffer, from, to), 0, to - from, StandardCharsets.UTF_8);
+    }
+
+    private byte[] copy(ByteBuffer buffer, int from, int to) {
+        int length = to - from;
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        buffer.get(from, scratch, 0, length);
+        return scratch;
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+
+    // Same character set as the regex \s
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || (b >= '\t' && b <= '\r');
+    }
+
+    private NumberFormatException invalidScore(ByteBuffer buffer, int from, int to) {
+        return new NumberFormatException("Invalid score format: " + decode(buffer, from, to));
+    }
+}
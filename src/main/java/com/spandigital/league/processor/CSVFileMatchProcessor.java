@@ -1,10 +1,15 @@
 package com.spandigital.league.processor;
 
 import com.spandigital.league.match.dto.MatchResult;
+import com.spandigital.league.metrics.LeagueMetrics;
+import com.spandigital.league.standings.MatchSink;
 import lombok.experimental.SuperBuilder;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.Collections;
 import java.util.List;
 import java.util.Scanner;
@@ -12,6 +17,8 @@ import java.util.Scanner;
 @SuperBuilder
 public class CSVFileMatchProcessor extends AbstractMatchProcessor {
 
+    static final int READ_BUFFER_SIZE = 1 << 16;
+
     public CSVFileMatchProcessor(Scanner scanner) {
         super(scanner);
     }
@@ -20,17 +27,87 @@ public class CSVFileMatchProcessor extends AbstractMatchProcessor {
     public List<MatchResult> processInput() {
         System.out.println("Enter CSV file path:");
         String filePath = getScanner().nextLine();
+        return processFile(filePath);
+    }
 
-        try (BufferedReader fileReader = new BufferedReader(new FileReader(filePath))) {
-            String csvLine;
-
-            while ((csvLine = fileReader.readLine()) != null) {
-                processLine(csvLine);
-            }
+    /**
+     * Reads all match results from the given CSV file.
+     *
+     * @param filePath Path of the CSV file
+     * @return The accumulated match results, or an empty list if the file could not be read
+     */
+    public List<MatchResult> processFile(String filePath) {
+        try {
+            readFile(filePath);
         } catch (Exception e) {
+            markFailed();
             System.err.println("Error reading CSV file: " + e.getMessage());
             return Collections.emptyList();
         }
         return getResults();
     }
+
+    /**
+     * Reads the file through a FileChannel into a reusable byte buffer and tokenizes the raw UTF-8
+     * bytes, without decoding lines to Strings; only complete lines are handed to the parser and the
+     * remainder is carried over to the next read. The buffer grows for lines longer than itself.
+     */
+    protected void readFile(String filePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+            ByteMatchLineParser parser = new ByteMatchLineParser();
+            MatchSink sink = target();
+            ByteBuffer rest = readLines(channel, parser, sink);
+            // The last line may not end with a line separator
+            parser.parse(rest, sink);
+        }
+    }
+
+    /**
+     * Parses every complete line from the channel's position to its end.
+     *
+     * @return The bytes after the last complete line: an unterminated last line, possibly empty
+     */
+    static ByteBuffer readLines(FileChannel channel, ByteMatchLineParser parser, MatchSink sink) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+        while (read(channel, buffer) >= 0) {
+            buffer.flip();
+            int limit = buffer.limit();
+            int end = completeLinesEnd(buffer);
+            parser.parse(buffer.limit(end), sink);
+            buffer.limit(limit).position(end);
+
+            if (end == 0 && limit == buffer.capacity()) {
+                buffer = ByteBuffer.allocate(buffer.capacity() * 2).put(buffer);
+            } else {
+                buffer.compact();
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static int read(FileChannel channel, ByteBuffer buffer) throws IOException {
+        long start = METRICS.start();
+        int read = channel.read(buffer);
+        METRICS.stop(LeagueMetrics.Stage.READ, start);
+        return read;
+    }
+
+    /**
+     * @return The index just after the last line separator that certainly ends a line; a trailing '\r'
+     * does not count, as the next read may start with the '\n' of the same "\r\n"
+     */
+    private static int completeLinesEnd(ByteBuffer buffer) {
+        int limit = buffer.limit();
+        for (int i = limit - 1; i >= 0; i--) {
+            if (buffer.get(i) == '\n') {
+                return i + 1;
+            }
+        }
+        for (int i = limit - 2; i >= 0; i--) {
+            if (buffer.get(i) == '\r') {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
 }
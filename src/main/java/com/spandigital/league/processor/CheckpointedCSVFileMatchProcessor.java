@@ -0,0 +1,104 @@
+package com.spandigital.league.processor;
+
+import com.spandigital.league.checkpoint.Checkpoint;
+import com.spandigital.league.standings.MatchSink;
+import com.spandigital.league.standings.MergeableMatchSink;
+import com.spandigital.league.standings.StandingsTable;
+import lombok.experimental.SuperBuilder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Scanner;
+
+/**
+ * Reads a CSV file that only ever grows at the end, like a season file appended to every match day,
+ * without re-reading what earlier runs read. After each run a {@link Checkpoint} holds the offset of
+ * the last complete line and the standings up to it; the next run merges those standings into the
+ * target table, positions the channel at the offset and only parses the appended lines. When the file
+ * no longer starts with the checkpointed bytes it is read from the start.
+ * <p>
+ * An unterminated last line is passed to the sink but left out of the checkpoint, as it may still be
+ * being written; the next run reads it again from the offset.
+ */
+@SuperBuilder
+public class CheckpointedCSVFileMatchProcessor extends CSVFileMatchProcessor {
+
+    static final String CHECKPOINT_SUFFIX = ".checkpoint";
+
+    /** The checkpoint file, defaults to the CSV file's path with {@value #CHECKPOINT_SUFFIX} appended. */
+    private final Path checkpoint;
+    /**
+     * The standings restored standings are merged into, e.g. a table that is also served; defaults to the
+     * sink when it is a StandingsTable.
+     */
+    private final MergeableMatchSink standings;
+
+    public CheckpointedCSVFileMatchProcessor(Scanner scanner) {
+        super(scanner);
+        this.checkpoint = null;
+        this.standings = null;
+    }
+
+    /**
+     * @param filePath Path of a CSV file
+     * @return The default checkpoint file of the CSV file
+     */
+    public static Path checkpointOf(String filePath) {
+        return Path.of(filePath + CHECKPOINT_SUFFIX);
+    }
+
+    @Override
+    protected void readFile(String filePath) throws IOException {
+        MergeableMatchSink restoreTarget = standings != null ? standings
+                : target() instanceof StandingsTable table ? table : null;
+        if (restoreTarget == null) {
+            throw new IllegalStateException("Checkpointed reading needs standings to restore into");
+        }
+        Path checkpointFile = checkpoint != null ? checkpoint : checkpointOf(filePath);
+
+        try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+            Checkpoint previous = readCheckpoint(checkpointFile);
+            StandingsTable state;
+            if (previous != null && previous.matches(channel)) {
+                state = previous.standings();
+                restoreTarget.merge(state);
+                channel.position(previous.offset());
+            } else {
+                if (previous != null) {
+                    System.err.println("Checkpoint does not match " + filePath + ", reading it from the start");
+                }
+                state = new StandingsTable();
+            }
+
+            ByteMatchLineParser parser = new ByteMatchLineParser();
+            MatchSink sink = target();
+            ByteBuffer rest = readLines(channel, parser, sink.andThen(state));
+            long offset = channel.position() - rest.remaining();
+            // The last line may not end with a line separator, nor be complete yet
+            parser.parse(rest, sink);
+
+            saveCheckpoint(checkpointFile, Checkpoint.of(channel, offset, state));
+        }
+    }
+
+    private static Checkpoint readCheckpoint(Path file) {
+        try {
+            return Checkpoint.read(file);
+        } catch (IOException e) {
+            System.err.println("Ignoring unreadable checkpoint: " + e.getMessage());
+            return null;
+        }
+    }
+
+    // The standings were read successfully either way, so a checkpoint that cannot be saved only costs the next run
+    private static void saveCheckpoint(Path file, Checkpoint checkpoint) {
+        try {
+            checkpoint.write(file);
+        } catch (IOException e) {
+            System.err.println("Unable to save checkpoint: " + e.getMessage());
+        }
+    }
+}
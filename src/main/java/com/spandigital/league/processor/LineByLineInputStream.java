@@ -0,0 +1,55 @@
+package com.spandigital.league.processor;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Hands out at most one line per read and never reports bytes as available, so a Scanner or Reader
+ * on top of it reads no further than the line it needs. Whatever follows stays in the underlying
+ * stream for the next reader, e.g. the {@link PipelinedStdInMatchProcessor} reading standard input
+ * directly after the menu choice was read from it. Meant for a few short prompt answers; the bytes
+ * are read one at a time.
+ */
+public class LineByLineInputStream extends InputStream {
+
+    private final InputStream in;
+
+    /**
+     * @param in The stream to read lines from; closing this stream does not close it
+     */
+    public LineByLineInputStream(InputStream in) {
+        this.in = in;
+    }
+
+    @Override
+    public int read() throws IOException {
+        return in.read();
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        int read = 0;
+        while (read < length) {
+            int b = in.read();
+            if (b < 0) {
+                return read == 0 ? -1 : read;
+            }
+            bytes[offset + read++] = (byte) b;
+            if (b == '\n') {
+                break;
+            }
+        }
+        return read;
+    }
+
+    /**
+     * @return 0, so readers decoding ahead stop after the line they were given
+     */
+    @Override
+    public int available() {
+        return 0;
+    }
+}
@@ -0,0 +1,130 @@
+package com.spandigital.league.processor;
+
+import com.spandigital.league.standings.MergeableMatchSink;
+import lombok.experimental.SuperBuilder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Reads a CSV file by memory-mapping it and parsing line-aligned chunks on separate workers.
+ * Each worker parses its chunk straight from the mapped bytes into a partial of the target sink; the
+ * partials are merged in file order, so the outcome is the same as the sequential {@link CSVFileMatchProcessor}.
+ */
+@SuperBuilder
+public class MappedCSVFileMatchProcessor extends CSVFileMatchProcessor {
+
+    private static final long MIN_CHUNK_SIZE = 1 << 20;
+    // A single mapping is limited to Integer.MAX_VALUE bytes
+    private static final long MAX_CHUNK_SIZE = 1 << 28;
+
+    /** Number of worker threads, defaults to the number of available processors. */
+    private final int parallelism;
+    /** Target chunk size in bytes, defaults to the file size divided by the parallelism. */
+    private final long chunkSize;
+    /** Pool shared with other readers to parse the chunks on; by default each file gets a pool of its own. */
+    private final ExecutorService workers;
+
+    public MappedCSVFileMatchProcessor(Scanner scanner) {
+        super(scanner);
+        this.parallelism = 0;
+        this.chunkSize = 0;
+        this.workers = null;
+    }
+
+    @Override
+    protected void readFile(String filePath) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(filePath), StandardOpenOption.READ)) {
+            int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+            List<long[]> chunks = splitIntoChunks(channel, threads);
+            if (chunks.isEmpty()) {
+                return;
+            }
+
+            ExecutorService executor = workers != null ? workers
+                    : Executors.newFixedThreadPool(Math.min(threads, chunks.size()));
+            List<Future<MergeableMatchSink>> partials = new ArrayList<>(chunks.size());
+            try {
+                for (long[] chunk : chunks) {
+                    MergeableMatchSink partial = newPartial();
+                    partials.add(executor.submit(() -> parseChunk(channel, chunk[0], chunk[1], partial)));
+                }
+                for (Future<MergeableMatchSink> partial : partials) {
+                    mergePartial(await(partial));
+                }
+            } finally {
+                stopWorkers(executor, executor == workers, partials);
+            }
+        }
+    }
+
+    private static MergeableMatchSink parseChunk(FileChannel channel, long start, long end,
+                                                 MergeableMatchSink partial) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        new ByteMatchLineParser().parse(buffer, partial);
+        return partial;
+    }
+
+    /**
+     * Splits the file into [start, end) ranges that each end just after a line end, '\n', '\r' or "\r\n"
+     * as the parser reads them (or at the end of the file), so no line is shared between two chunks.
+     */
+    private List<long[]> splitIntoChunks(FileChannel channel, int threads) throws IOException {
+        long size = channel.size();
+        long target = chunkSize > 0 ? chunkSize : Math.max(MIN_CHUNK_SIZE, (size + threads - 1) / threads);
+        target = Math.min(target, MAX_CHUNK_SIZE);
+
+        List<long[]> chunks = new ArrayList<>();
+        long start = 0;
+        while (start < size) {
+            long end = start + target >= size ? size : nextLineStart(channel, start + target, size);
+            if (end - start > Integer.MAX_VALUE) {
+                throw new IOException("Line too long to map near offset " + start);
+            }
+            chunks.add(new long[] {start, end});
+            start = end;
+        }
+        return chunks;
+    }
+
+    private static long nextLineStart(FileChannel channel, long from, long size) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long position = from - 1;
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                byte b = buffer.get(i);
+                if (b == '\n') {
+                    return position + i + 1;
+                }
+                if (b == '\r') {
+                    // "\r\n" is one line end; splitting it would leave the next chunk a blank line
+                    long next = position + i + 1;
+                    boolean crlf = i + 1 < read ? buffer.get(i + 1) == '\n' : next < size && byteAt(channel, next) == '\n';
+                    return crlf ? next + 1 : next;
+                }
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private static int byteAt(FileChannel channel, long position) throws IOException {
+        ByteBuffer one = ByteBuffer.allocate(1);
+        return channel.read(one, position) == 1 ? one.get(0) : -1;
+    }
+}
@@ -0,0 +1,194 @@
+package com.spandigital.league.processor;
+
+import com.spandigital.league.match.dto.MatchResult;
+import com.spandigital.league.standings.MergeableMatchSink;
+import lombok.experimental.SuperBuilder;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Stream;
+
+/**
+ * Reads every CSV file of a directory, or every file matching a glob such as {@code data/2024/*.csv}
+ * or <code>data/**&#47;*.csv</code>. Each file is read on its own virtual thread into a partial of the target
+ * sink, at most maxOpenFiles at a time and no further ahead of the merge, and the partials are merged in
+ * path order; the outcome is the same as reading the files one after the other with the
+ * {@link CSVFileMatchProcessor}.
+ */
+@SuperBuilder
+public class MultiFileMatchProcessor extends AbstractMatchProcessor {
+
+    public static final int DEFAULT_MAX_OPEN_FILES = 64;
+    private static final String GLOB_CHARACTERS = "*?[{";
+
+    /** Most files read, or read but not yet merged, at the same time, defaults to {@value #DEFAULT_MAX_OPEN_FILES}. */
+    private final int maxOpenFiles;
+
+    /** Open-file budget shared with other readers, a permit per file being read; by default only maxOpenFiles applies. */
+    private final Semaphore openFiles;
+
+    public MultiFileMatchProcessor(Scanner scanner) {
+        super(scanner);
+        this.maxOpenFiles = 0;
+        this.openFiles = null;
+    }
+
+    @Override
+    public List<MatchResult> processInput() {
+        System.out.println("Enter CSV directory or glob pattern:");
+        String pattern = getScanner().nextLine();
+        return processFiles(pattern);
+    }
+
+    /**
+     * Reads all match results from the files of a directory or glob.
+     *
+     * @param pattern A directory, whose *.csv files are read, or a glob pattern
+     * @return The accumulated match results, or an empty list if a file could not be read
+     */
+    public List<MatchResult> processFiles(String pattern) {
+        try {
+            readFiles(resolveFiles(pattern));
+        } catch (Exception e) {
+            markFailed();
+            System.err.println("Error reading CSV files: " + e.getMessage());
+            return Collections.emptyList();
+        }
+        return getResults();
+    }
+
+    /**
+     * @param input An input path
+     * @return Whether the input names several files: a directory or a glob pattern. An existing file is
+     *         read as itself even if its name has glob characters, e.g. results[2024].csv
+     */
+    public static boolean isMultiFile(String input) {
+        Path path;
+        try {
+            path = Path.of(input);
+        } catch (InvalidPathException e) {
+            // Not a path on this platform, e.g. '*' on Windows, so only a glob pattern
+            return indexOfGlob(input) >= 0;
+        }
+        return !Files.isRegularFile(path) && (indexOfGlob(input) >= 0 || Files.isDirectory(path));
+    }
+
+    /**
+     * Lists the files of a directory or glob pattern.
+     *
+     * @param pattern A directory, whose *.csv files are listed, or a glob pattern; "**" crosses directories
+     * @return The matching regular files, sorted by path
+     * @throws IOException If no file matches or a directory cannot be listed
+     */
+    public static List<Path> resolveFiles(String pattern) throws IOException {
+        int glob = indexOfGlob(pattern);
+        Path base;
+        PathMatcher matcher;
+        int maxDepth;
+        if (glob < 0) {
+            base = Path.of(pattern);
+            matcher = FileSystems.getDefault().getPathMatcher("glob:*.csv");
+            maxDepth = 1;
+        } else {
+            // Walk from the directory before the first glob character, as deep as the pattern reaches
+            int separator = -1;
+            int depth = 1;
+            for (int i = 0; i < pattern.length(); i++) {
+                if (isSeparator(pattern.charAt(i))) {
+                    if (i < glob) {
+                        separator = i;
+                    } else {
+                        depth++;
+                    }
+                }
+            }
+            base = Path.of(separator < 0 ? "" : pattern.substring(0, separator + 1));
+            matcher = FileSystems.getDefault().getPathMatcher("glob:" + pattern);
+            maxDepth = pattern.contains("**") ? Integer.MAX_VALUE : depth;
+        }
+        if (!Files.isDirectory(base)) {
+            throw new IOException("Not a directory: " + base);
+        }
+
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(base, maxDepth)) {
+            files = paths.filter(path -> glob < 0 ? matcher.matches(path.getFileName()) : matcher.matches(path))
+                         .filter(Files::isRegularFile)
+                         .sorted()
+                         .toList();
+        }
+        if (files.isEmpty()) {
+            throw new IOException("No files match " + pattern);
+        }
+        return files;
+    }
+
+    // Only a window of maxOpenFiles files ahead of the merge is read, so no more partials than that are
+    // held at once however many files there are; the next file is submitted as the oldest one is merged
+    private void readFiles(List<Path> files) throws IOException {
+        int window = maxOpenFiles > 0 ? maxOpenFiles : DEFAULT_MAX_OPEN_FILES;
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            Deque<Future<MergeableMatchSink>> pending = new ArrayDeque<>(window);
+            Iterator<Path> next = files.iterator();
+            while (next.hasNext() || !pending.isEmpty()) {
+                while (next.hasNext() && pending.size() < window) {
+                    Path file = next.next();
+                    MergeableMatchSink partial = newPartial();
+                    pending.add(executor.submit(() -> readFile(file, partial, openFiles)));
+                }
+                mergePartial(await(pending.poll()));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static MergeableMatchSink readFile(Path file, MergeableMatchSink partial, Semaphore openFiles)
+            throws IOException, InterruptedException {
+        if (openFiles != null) {
+            openFiles.acquire();
+        }
+        try {
+            CSVFileMatchProcessor.builder()
+                                 .sink(partial)
+                                 .build()
+                                 .readFile(file.toString());
+        } catch (IOException e) {
+            throw new IOException(file + ": " + e.getMessage(), e);
+        } finally {
+            if (openFiles != null) {
+                openFiles.release();
+            }
+        }
+        return partial;
+    }
+
+    private static boolean isSeparator(char c) {
+        return c == '/' || c == File.separatorChar;
+    }
+
+    private static int indexOfGlob(String pattern) {
+        for (int i = 0; i < pattern.length(); i++) {
+            if (GLOB_CHARACTERS.indexOf(pattern.charAt(i)) >= 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,191 @@
+package com.spandigital.league.processor;
+
+import com.spandigital.league.match.dto.MatchResult;
+import com.spandigital.league.metrics.LeagueMetrics;
+import com.spandigital.league.standings.MergeableMatchSink;
+import lombok.experimental.SuperBuilder;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+/**
+ * Reads match results like the {@link StdInMatchProcessor}, up to a line reading 'done' (in any case)
+ * or the end of the input, but pipelines reading and parsing. A reader virtual thread only reads raw
+ * bytes and looks for line ends; each batch of complete lines goes to a pool of parser threads, which
+ * parse it with a {@link ByteMatchLineParser} into a partial of the target sink. Parsed batches wait in
+ * a bounded queue and are merged in input order, so the outcome is the same as parsing line by line,
+ * and the reader pauses when the parsers fall behind.
+ * <p>
+ * A batch is also handed over as soon as no more input is available, so interactively typed lines are
+ * processed immediately. Any stream can be read instead of standard input, e.g. a socket's.
+ */
+@SuperBuilder
+public class PipelinedStdInMatchProcessor extends AbstractMatchProcessor {
+
+    static final int DEFAULT_BATCH_SIZE = 1 << 20;
+    // Marks the end of the input in the queue of parsed batches
+    private static final Future<MergeableMatchSink> END = CompletableFuture.completedFuture(null);
+
+    /** The stream to read, defaults to standard input. */
+    private final InputStream input;
+    /** Number of parser threads, defaults to the number of available processors. */
+    private final int parallelism;
+    /** Bytes of input in one batch, defaults to {@value #DEFAULT_BATCH_SIZE}; longer lines grow the batch. */
+    private final int batchSize;
+
+    public PipelinedStdInMatchProcessor(Scanner scanner) {
+        super(scanner);
+        this.input = null;
+        this.parallelism = 0;
+        this.batchSize = 0;
+    }
+
+    @Override
+    public List<MatchResult> processInput() {
+        System.out.println("Enter match results (format: TeamA,ScoreA,TeamB,ScoreB)");
+        System.out.println("Enter 'done' when finished");
+
+        try {
+            readLines(input != null ? input : System.in);
+        } catch (IOException e) {
+            markFailed();
+            System.out.println("Unable to process input: " + e.getMessage());
+        }
+        return getResults();
+    }
+
+    private void readLines(InputStream in) throws IOException {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        BlockingQueue<Future<MergeableMatchSink>> batches = new ArrayBlockingQueue<>(threads * 2);
+        ExecutorService parsers = Executors.newFixedThreadPool(threads);
+        ThreadLocal<ByteMatchLineParser> lineParsers = ThreadLocal.withInitial(ByteMatchLineParser::new);
+        Thread reader = Thread.ofVirtual()
+                              .name("match-reader")
+                              .start(() -> read(in, batches, lines -> parse(parsers, lineParsers, lines)));
+        try {
+            Future<MergeableMatchSink> batch;
+            while ((batch = take(batches)) != END) {
+                mergePartial(await(batch));
+            }
+        } finally {
+            reader.interrupt();
+            parsers.shutdownNow();
+        }
+    }
+
+    /**
+     * Reads the stream into batches of complete lines up to a 'done' line or the end of the stream,
+     * handing each batch to the parsers and queueing the result. Read failures are queued too, so they
+     * surface in input order; the end is marked with {@link #END}.
+     */
+    private void read(InputStream in, BlockingQueue<Future<MergeableMatchSink>> batches,
+                      Function<ByteBuffer, Future<MergeableMatchSink>> parser) {
+        try {
+            try {
+                readBatches(in, batches, parser);
+            } catch (IOException e) {
+                batches.put(CompletableFuture.failedFuture(e));
+            }
+            batches.put(END);
+        } catch (InterruptedException e) {
+            // Merging stopped early, e.g. after a parse error; nobody is waiting for more batches
+        }
+    }
+
+    private void readBatches(InputStream in, BlockingQueue<Future<MergeableMatchSink>> batches,
+                             Function<ByteBuffer, Future<MergeableMatchSink>> parser)
+            throws IOException, InterruptedException {
+        int size = batchSize > 0 ? batchSize : DEFAULT_BATCH_SIZE;
+        byte[] buffer = new byte[size];
+        int filled = 0;
+        int linesEnd = 0;
+        int scanned = 0;
+        while (true) {
+            long start = METRICS.start();
+            int read = in.read(buffer, filled, buffer.length - filled);
+            METRICS.stop(LeagueMetrics.Stage.READ, start);
+            if (read < 0) {
+                // The last line may not end with a line separator
+                int end = filled > linesEnd && buffer[filled - 1] == '\r' ? filled - 1 : filled;
+                if (end > linesEnd && isDone(buffer, linesEnd, end)) {
+                    filled = linesEnd;
+                }
+                if (filled > 0) {
+                    batches.put(parser.apply(ByteBuffer.wrap(buffer, 0, filled)));
+                }
+                return;
+            }
+            filled += read;
+
+            // Lines end at '\n', '\r' or "\r\n"; a trailing '\r' waits for the next read
+            for (int i = scanned; i < filled; i++) {
+                byte b = buffer[i];
+                if (b == '\n' || b == '\r') {
+                    if (b == '\r' && i + 1 == filled) {
+                        break;
+                    }
+                    if (isDone(buffer, linesEnd, i)) {
+                        if (linesEnd > 0) {
+                            batches.put(parser.apply(ByteBuffer.wrap(buffer, 0, linesEnd)));
+                        }
+                        return;
+                    }
+                    if (b == '\r' && buffer[i + 1] == '\n') {
+                        i++;
+                    }
+                    linesEnd = i + 1;
+                }
+            }
+            scanned = filled > linesEnd && buffer[filled - 1] == '\r' ? filled - 1 : filled;
+
+            if (linesEnd > 0 && (filled == buffer.length || in.available() == 0)) {
+                batches.put(parser.apply(ByteBuffer.wrap(buffer, 0, linesEnd)));
+                byte[] next = new byte[Math.max(size, filled - linesEnd)];
+                System.arraycopy(buffer, linesEnd, next, 0, filled - linesEnd);
+                buffer = next;
+                filled -= linesEnd;
+                scanned -= linesEnd;
+                linesEnd = 0;
+            } else if (filled == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+            }
+        }
+    }
+
+    private Future<MergeableMatchSink> parse(ExecutorService parsers, ThreadLocal<ByteMatchLineParser> lineParsers,
+                                             ByteBuffer lines) {
+        MergeableMatchSink partial = newPartial();
+        return parsers.submit(() -> {
+            lineParsers.get().parse(lines, partial);
+            return partial;
+        });
+    }
+
+    private static boolean isDone(byte[] buffer, int from, int to) {
+        return to - from == 4
+                && (buffer[from] | 0x20) == 'd'
+                && (buffer[from + 1] | 0x20) == 'o'
+                && (buffer[from + 2] | 0x20) == 'n'
+                && (buffer[from + 3] | 0x20) == 'e';
+    }
+
+    private static Future<MergeableMatchSink> take(BlockingQueue<Future<MergeableMatchSink>> batches) throws IOException {
+        try {
+            return batches.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while reading input", e);
+        }
+    }
+}
@@ -27,6 +27,7 @@ public class StdInMatchProcessor extends AbstractMatchProcessor {
                 processLine(line);
             }
         } catch (IOException e) {
+            markFailed();
             System.out.println("Unable to process input: " + e.getMessage());
         }
         return getResults();
@@ -0,0 +1,88 @@
+package com.spandigital.league.processor;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Maps the UTF-8 bytes of a team name to its String, so a name is decoded once, when the team is
+ * first seen, instead of once per line. Lookups hash and compare raw bytes in an open addressing
+ * table; repeated names return the same String instance, whose hash code is then already cached
+ * for the standings' dictionary lookup. Once {@link #MAX_NAMES} names are cached, further new names are
+ * decoded on every use rather than growing the cache. Not thread-safe.
+ */
+final class TeamNameCache {
+
+    static final int MAX_NAMES = 1 << 20;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private byte[][] keys = new byte[INITIAL_CAPACITY][];
+    private String[] names = new String[INITIAL_CAPACITY];
+    private int[] hashes = new int[INITIAL_CAPACITY];
+    private int size;
+
+    /**
+     * @param bytes A buffer holding the UTF-8 encoded name
+     * @param length The length of the name, starting at index 0
+     * @return The decoded name
+     */
+    String name(byte[] bytes, int length) {
+        int hash = hash(bytes, length);
+        int mask = keys.length - 1;
+        int slot = hash & mask;
+        byte[] key;
+        while ((key = keys[slot]) != null) {
+            if (hashes[slot] == hash && Arrays.equals(key, 0, key.length, bytes, 0, length)) {
+                return names[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        String name = new String(bytes, 0, length, StandardCharsets.UTF_8);
+        if (size < MAX_NAMES) {
+            keys[slot] = Arrays.copyOf(bytes, length);
+            names[slot] = name;
+            hashes[slot] = hash;
+            // Keep the load factor at or below one half
+            if (++size * 2 > keys.length) {
+                rehash();
+            }
+        }
+        return name;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static int hash(byte[] bytes, int length) {
+        int hash = 1;
+        for (int i = 0; i < length; i++) {
+            hash = 31 * hash + bytes[i];
+        }
+        // Spread the high bits, the table is indexed by the low ones
+        return hash ^ (hash >>> 16);
+    }
+
+    private void rehash() {
+        byte[][] oldKeys = keys;
+        String[] oldNames = names;
+        int[] oldHashes = hashes;
+        int capacity = oldKeys.length * 2;
+        keys = new byte[capacity][];
+        names = new String[capacity];
+        hashes = new int[capacity];
+
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) {
+                int slot = oldHashes[i] & mask;
+                while (keys[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                names[slot] = oldNames[i];
+                hashes[slot] = oldHashes[i];
+            }
+        }
+    }
+}
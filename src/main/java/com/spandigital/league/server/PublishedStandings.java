@@ -0,0 +1,98 @@
+package com.spandigital.league.server;
+
+import com.spandigital.league.match.dto.Match;
+import com.spandigital.league.match.dto.MatchResult;
+import com.spandigital.league.standings.ConcurrentStandingsTable;
+import com.spandigital.league.standings.MergeableMatchSink;
+import com.spandigital.league.standings.StandingsTable;
+import com.spandigital.league.standings.TieBreaker;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Standings that are updated by ingestion threads and read by HTTP clients. Every recorded match or
+ * merged partial bumps a version; the table is rendered to JSON and CSV bytes at most once per version,
+ * by the first reader that finds the rendered bytes out of date. Every other read returns the same
+ * bytes, so serving the table costs the same however many teams it has. Versions are counted per
+ * instance from 0, so every instance also draws a random epoch that tells its versions apart. Thread-safe.
+ */
+public class PublishedStandings implements MergeableMatchSink {
+
+    private final ConcurrentStandingsTable table = new ConcurrentStandingsTable();
+    private final long epoch = ThreadLocalRandom.current().nextLong();
+    private final AtomicLong version = new AtomicLong();
+    private final Object renderLock = new Object();
+    private volatile RenderedStandings rendered = RenderedStandings.render(epoch, 0, new StandingsTable());
+
+    public void accept(MatchResult result) {
+        Match match = result.match();
+        accept(match.teamA().name(), match.teamA().score(), match.teamB().name(), match.teamB().score());
+    }
+
+    @Override
+    public void accept(String teamA, int scoreA, String teamB, int scoreB) {
+        table.accept(teamA, scoreA, teamB, scoreB);
+        // Bumped after the update, so a render that misses the match is always followed by another
+        version.incrementAndGet();
+    }
+
+    @Override
+    public StandingsTable newPartial() {
+        return table.newPartial();
+    }
+
+    /**
+     * Adds a StandingsTable's counters as one new version, e.g. a partial or standings read from a cache.
+     */
+    @Override
+    public void merge(MergeableMatchSink partial) {
+        table.merge(partial);
+        version.incrementAndGet();
+    }
+
+    /**
+     * @return The standings rendered at the current version, rendering them first if they changed
+     */
+    public RenderedStandings current() {
+        RenderedStandings current = rendered;
+        if (current.version() == version.get()) {
+            return current;
+        }
+        synchronized (renderLock) {
+            current = rendered;
+            long latest = version.get();
+            if (current.version() != latest) {
+                // The snapshot includes at least every match counted in latest
+                current = RenderedStandings.render(epoch, latest, table.snapshot());
+                rendered = current;
+            }
+            return current;
+        }
+    }
+
+    /**
+     * @return A consistent copy of the standings, see {@link ConcurrentStandingsTable#snapshot()}
+     */
+    public StandingsTable snapshot() {
+        return table.snapshot();
+    }
+
+    /**
+     * @return The number of changes published so far
+     */
+    public long version() {
+        return version.get();
+    }
+
+    /**
+     * @param tieBreakers The criteria the published table is ranked by
+     */
+    public void setTieBreakers(List<TieBreaker> tieBreakers) {
+        synchronized (renderLock) {
+            table.setTieBreakers(tieBreakers);
+            version.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.spandigital.league.server;
+
+import com.spandigital.league.standings.StandingsTable;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * The standings rendered once as JSON and CSV, ready to be written to any number of clients as they are.
+ *
+ * @param epoch Identifies the published standings the version counts changes of; versions restart at 0
+ *              for every new instance, e.g. after a restart
+ * @param version The version of the standings the bytes were rendered from
+ * @param json The full table as a UTF-8 JSON document
+ * @param csv The full table as UTF-8 CSV with a header row
+ */
+public record RenderedStandings(long epoch, long version, byte[] json, byte[] csv) {
+
+    private static final String CSV_HEADER =
+            "position,team,played,won,drawn,lost,goals_for,goals_against,goal_difference,points\n";
+
+    /**
+     * Renders the whole table in ranking order.
+     *
+     * @param epoch The epoch of the published standings
+     * @param version The version of the standings
+     * @param standings The standings, ranked by their own tie-breakers
+     * @return The rendered standings
+     */
+    public static RenderedStandings render(long epoch, long version, StandingsTable standings) {
+        int[] ranked = standings.rankedTeamIds(0);
+        StringBuilder json = new StringBuilder(64 + ranked.length * 160);
+        StringBuilder csv = new StringBuilder(CSV_HEADER.length() + ranked.length * 64);
+        json.append("{\"version\":").append(version)
+            .append(",\"matches\":").append(standings.matchCount())
+            .append(",\"standings\":[");
+        csv.append(CSV_HEADER);
+        for (int position = 0; position < ranked.length; position++) {
+            int team = ranked[position];
+            String name = standings.teamName(team);
+            if (position > 0) {
+                json.append(',');
+            }
+            json.append("{\"position\":").append(position + 1).append(",\"team\":");
+            jsonString(json, name);
+            json.append(",\"played\":").append(standings.played(team))
+                .append(",\"won\":").append(standings.wins(team))
+                .append(",\"drawn\":").append(standings.draws(team))
+                .append(",\"lost\":").append(standings.losses(team))
+                .append(",\"goalsFor\":").append(standings.goalsFor(team))
+                .append(",\"goalsAgainst\":").append(standings.goalsAgainst(team))
+                .append(",\"goalDifference\":").append(standings.goalDifference(team))
+                .append(",\"points\":").append(standings.points(team))
+                .append('}');
+
+            csv.append(position + 1).append(',');
+            csvField(csv, name);
+            csv.append(',').append(standings.played(team))
+               .append(',').append(standings.wins(team))
+               .append(',').append(standings.draws(team))
+               .append(',').append(standings.losses(team))
+               .append(',').append(standings.goalsFor(team))
+               .append(',').append(standings.goalsAgainst(team))
+               .append(',').append(standings.goalDifference(team))
+               .append(',').append(standings.points(team))
+               .append('\n');
+        }
+        json.append("]}");
+        return new RenderedStandings(epoch, version, json.toString().getBytes(StandardCharsets.UTF_8),
+                csv.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return The entity tag of this version, the same for both formats. It includes the epoch, so a
+     * client revalidating after a restart does not match a different table that reached the same version
+     */
+    public String etag() {
+        return "\"" + Long.toHexString(epoch) + "-" + version + "\"";
+    }
+
+    private static void jsonString(StringBuilder json, String value) {
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> json.append("\\\"");
+                case '\\' -> json.append("\\\\");
+                case '\n' -> json.append("\\n");
+                case '\r' -> json.append("\\r");
+                case '\t' -> json.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        json.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        json.append(c);
+                    }
+                }
+            }
+        }
+        json.append('"');
+    }
+
+    // Names with a separator or quote are quoted, with quotes doubled
+    private static void csvField(StringBuilder csv, String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0) {
+            csv.append(value);
+            return;
+        }
+        csv.append('"').append(value.replace("\"", "\"\"")).append('"');
+    }
+}
@@ -0,0 +1,141 @@
+package com.spandigital.league.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A minimal HTTP server, on the loopback interface only, serving {@link PublishedStandings} with the
+ * JDK's built-in server:
+ * <pre>
+ *   GET /standings       The full table as JSON (also /standings.json)
+ *   GET /standings.csv   The full table as CSV
+ * </pre>
+ * Responses carry the standings epoch and version as ETag; a request whose If-None-Match matches it
+ * gets 304 Not Modified without a body. Each exchange runs on its own virtual thread.
+ * <p>
+ * Starting a server sets the JVM-wide system property {@code sun.net.httpserver.nodelay} to true unless
+ * it is already set, which turns on TCP_NODELAY for every JDK HTTP server in the process, not only this
+ * one. Pass {@code -Dsun.net.httpserver.nodelay=false} to keep the JDK default.
+ */
+public class StandingsServer implements Closeable {
+
+    private static final String JSON = "application/json; charset=utf-8";
+    private static final String CSV = "text/csv; charset=utf-8";
+    private static final String NODELAY = "sun.net.httpserver.nodelay";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final PublishedStandings standings;
+    private final CountDownLatch stopped = new CountDownLatch(1);
+
+    private StandingsServer(HttpServer server, ExecutorService executor, PublishedStandings standings) {
+        this.server = server;
+        this.executor = executor;
+        this.standings = standings;
+    }
+
+    /**
+     * Binds to the loopback address and starts serving.
+     *
+     * @param standings The standings to serve
+     * @param port The port, or 0 for any free port
+     * @return The running server
+     * @throws IOException If the port cannot be bound
+     */
+    public static StandingsServer start(PublishedStandings standings, int port) throws IOException {
+        // The server writes headers and body separately; without TCP_NODELAY each response waits for a
+        // delayed ACK. Read once, when the server classes initialise, so an explicit setting wins
+        if (System.getProperty(NODELAY) == null) {
+            System.setProperty(NODELAY, "true");
+        }
+        HttpServer http = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        StandingsServer server = new StandingsServer(http, executor, standings);
+        http.createContext("/standings", exchange -> server.handle(exchange, false));
+        http.createContext("/standings.json", exchange -> server.handle(exchange, false));
+        http.createContext("/standings.csv", exchange -> server.handle(exchange, true));
+        http.setExecutor(executor);
+        http.start();
+        return server;
+    }
+
+    /**
+     * @return The port the server listens on
+     */
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * @return The URL of the JSON standings
+     */
+    public String url() {
+        return "http://" + server.getAddress().getHostString() + ":" + port() + "/standings";
+    }
+
+    /**
+     * Blocks until the server is closed, e.g. by another thread or a shutdown hook.
+     *
+     * @throws InterruptedException If the waiting thread is interrupted
+     */
+    public void await() throws InterruptedException {
+        stopped.await();
+    }
+
+    /**
+     * Stops accepting requests and ends the exchanges in progress.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+        stopped.countDown();
+    }
+
+    private void handle(HttpExchange exchange, boolean csv) throws IOException {
+        try (exchange) {
+            // Contexts match by prefix, so /standings would otherwise also answer /standingsXYZ
+            String path = exchange.getRequestURI().getPath();
+            if (!path.equals(exchange.getHttpContext().getPath())) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            String method = exchange.getRequestMethod();
+            boolean head = method.equals("HEAD");
+            if (!head && !method.equals("GET")) {
+                exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            RenderedStandings current = standings.current();
+            String etag = current.etag();
+            exchange.getResponseHeaders().set("ETag", etag);
+            exchange.getResponseHeaders().set("Cache-Control", "no-cache");
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+            byte[] body = csv ? current.csv() : current.json();
+            exchange.getResponseHeaders().set("Content-Type", csv ? CSV : JSON);
+            if (head) {
+                exchange.getResponseHeaders().set("Content-Length", Integer.toString(body.length));
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+}
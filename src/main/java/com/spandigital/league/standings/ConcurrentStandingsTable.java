@@ -0,0 +1,222 @@
+package com.spandigital.league.standings;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A standings table that many threads update at once, e.g. one per ingestion thread. The counters of
+ * a {@link StandingsTable} live in atomic int arrays indexed by team id, so updates to different teams
+ * never block each other and updates to the same team are lock-free atomic adds. The arrays grow in
+ * chunks of {@value #CHUNK_TEAMS} teams that are never copied, so no update is lost to a resize.
+ * <p>
+ * Each update holds one of a set of striped locks, picked by the writing thread, so writers on different
+ * stripes never contend for a lock. {@link #snapshot()} takes every stripe: it sees each match completely
+ * or not at all and copies the counters into a StandingsTable that is ranked while the writers carry on.
+ * Producers that aggregate into their own {@link #newPartial() partials} and {@link #merge(MergeableMatchSink)}
+ * them touch the shared counters once per team rather than once per match.
+ */
+public class ConcurrentStandingsTable implements MergeableMatchSink {
+
+    private static final int CHUNK_SHIFT = 10;
+    static final int CHUNK_TEAMS = 1 << CHUNK_SHIFT;
+
+    // Same layout as StandingsTable: counters at fixed offsets in a block of 8 ints per team
+    private static final int POINTS = 0;
+    private static final int WINS = 1;
+    private static final int DRAWS = 2;
+    private static final int LOSSES = 3;
+    private static final int GOALS_FOR = 4;
+    private static final int GOALS_AGAINST = 5;
+    private static final int STRIDE_SHIFT = 3;
+
+    private final ConcurrentHashMap<String, Integer> ids = new ConcurrentHashMap<>();
+    private final ReentrantLock[] stripes;
+    private final LongAdder matchCount = new LongAdder();
+    private final Object growLock = new Object();
+    // Only grows, by copying the chunk references; replaced under growLock
+    private volatile Chunk[] chunks = new Chunk[0];
+    private int teamCount;
+    private volatile List<TieBreaker> tieBreakers = TieBreaker.DEFAULT;
+
+    private record Chunk(AtomicIntegerArray counters, String[] names) {
+
+        Chunk() {
+            this(new AtomicIntegerArray(CHUNK_TEAMS << STRIDE_SHIFT), new String[CHUNK_TEAMS]);
+        }
+    }
+
+    /**
+     * Creates a table with a lock stripe per available processor, rounded up to a power of two.
+     */
+    public ConcurrentStandingsTable() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @param stripes The number of lock stripes, rounded up to a power of two; more stripes mean fewer
+     *                writers sharing a lock and a slower snapshot
+     */
+    public ConcurrentStandingsTable(int stripes) {
+        int count = Integer.highestOneBit(Math.max(1, stripes) * 2 - 1);
+        this.stripes = new ReentrantLock[count];
+        for (int i = 0; i < count; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    @Override
+    public void accept(String teamA, int scoreA, String teamB, int scoreB) {
+        ReentrantLock stripe = stripe();
+        stripe.lock();
+        try {
+            int a = teamId(teamA);
+            int b = teamId(teamB);
+            if (scoreA > scoreB) {
+                add(a, POINTS, 3);
+                add(a, WINS, 1);
+                add(b, LOSSES, 1);
+            } else if (scoreA < scoreB) {
+                add(b, POINTS, 3);
+                add(b, WINS, 1);
+                add(a, LOSSES, 1);
+            } else {
+                add(a, POINTS, 1);
+                add(b, POINTS, 1);
+                add(a, DRAWS, 1);
+                add(b, DRAWS, 1);
+            }
+            add(a, GOALS_FOR, scoreA);
+            add(a, GOALS_AGAINST, scoreB);
+            add(b, GOALS_FOR, scoreB);
+            add(b, GOALS_AGAINST, scoreA);
+            matchCount.increment();
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    /**
+     * @return A StandingsTable the calling thread fills on its own, to merge here afterwards
+     */
+    @Override
+    public StandingsTable newPartial() {
+        StandingsTable partial = new StandingsTable();
+        partial.setTieBreakers(tieBreakers);
+        return partial;
+    }
+
+    /**
+     * Adds a {@link StandingsTable}'s counters, as one update: a snapshot sees all of them or none.
+     *
+     * @param partial A StandingsTable, e.g. from {@link #newPartial()}
+     */
+    @Override
+    public void merge(MergeableMatchSink partial) {
+        StandingsTable other = (StandingsTable) partial;
+        ReentrantLock stripe = stripe();
+        stripe.lock();
+        try {
+            for (int otherId = 0; otherId < other.teamCount(); otherId++) {
+                int team = teamId(other.teamName(otherId));
+                add(team, POINTS, other.points(otherId));
+                add(team, WINS, other.wins(otherId));
+                add(team, DRAWS, other.draws(otherId));
+                add(team, LOSSES, other.losses(otherId));
+                add(team, GOALS_FOR, other.goalsFor(otherId));
+                add(team, GOALS_AGAINST, other.goalsAgainst(otherId));
+            }
+            matchCount.add(other.matchCount());
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    /**
+     * Copies the standings as of a single point in time: every match recorded before it is included
+     * and none recorded after it. Writers wait while the counters are copied, not while they are ranked.
+     *
+     * @return A new table with the current counters and tie-breakers
+     */
+    public StandingsTable snapshot() {
+        int locked = 0;
+        try {
+            // Writers hold one stripe at a time, so taking them in order cannot deadlock
+            for (ReentrantLock stripe : stripes) {
+                stripe.lock();
+                locked++;
+            }
+            StandingsTable table = new StandingsTable();
+            table.setTieBreakers(tieBreakers);
+            Chunk[] chunks = this.chunks;
+            for (int team = 0; team < teamCount; team++) {
+                Chunk chunk = chunks[team >>> CHUNK_SHIFT];
+                int block = (team & (CHUNK_TEAMS - 1)) << STRIDE_SHIFT;
+                AtomicIntegerArray counters = chunk.counters();
+                table.add(new TeamStanding(chunk.names()[team & (CHUNK_TEAMS - 1)],
+                        counters.get(block + POINTS), counters.get(block + WINS), counters.get(block + DRAWS),
+                        counters.get(block + LOSSES), counters.get(block + GOALS_FOR),
+                        counters.get(block + GOALS_AGAINST)));
+            }
+            table.addMatchCount(matchCount.sum());
+            return table;
+        } finally {
+            for (int i = 0; i < locked; i++) {
+                stripes[i].unlock();
+            }
+        }
+    }
+
+    /**
+     * @return The number of matches recorded so far; may be mid-update while writers are running
+     */
+    public long matchCount() {
+        return matchCount.sum();
+    }
+
+    public List<TieBreaker> getTieBreakers() {
+        return tieBreakers;
+    }
+
+    /**
+     * @param tieBreakers The criteria snapshots and partials are ranked by
+     */
+    public void setTieBreakers(List<TieBreaker> tieBreakers) {
+        this.tieBreakers = List.copyOf(tieBreakers);
+    }
+
+    private ReentrantLock stripe() {
+        return stripes[(int) Thread.currentThread().threadId() & (stripes.length - 1)];
+    }
+
+    // Called with a stripe held, so a snapshot never sees a team that is half added
+    private int teamId(String name) {
+        Integer id = ids.get(name);
+        return id != null ? id : ids.computeIfAbsent(name, this::newTeam);
+    }
+
+    private Integer newTeam(String name) {
+        synchronized (growLock) {
+            int id = teamCount;
+            int chunk = id >>> CHUNK_SHIFT;
+            if (chunk == chunks.length) {
+                Chunk[] grown = Arrays.copyOf(chunks, chunk + 1);
+                grown[chunk] = new Chunk();
+                chunks = grown;
+            }
+            chunks[chunk].names()[id & (CHUNK_TEAMS - 1)] = name;
+            teamCount = id + 1;
+            return id;
+        }
+    }
+
+    private void add(int team, int counter, int delta) {
+        if (delta != 0) {
+            chunks[team >>> CHUNK_SHIFT].counters()
+                                        .getAndAdd(((team & (CHUNK_TEAMS - 1)) << STRIDE_SHIFT) + counter, delta);
+        }
+    }
+}
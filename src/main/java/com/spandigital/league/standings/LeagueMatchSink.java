@@ -0,0 +1,21 @@
+package com.spandigital.league.standings;
+
+/**
+ * A sink for feeds that mix competitions: matches arrive tagged with the league or division they were
+ * played in, from lines such as "Premier, Lions 3, Snakes 1". Matches without a league belong to
+ * {@link #DEFAULT_LEAGUE}. Parsers only read a league field when their sink is a LeagueMatchSink;
+ * for any other sink a tagged line stays invalid.
+ */
+@FunctionalInterface
+public interface LeagueMatchSink extends MatchSink {
+
+    /** The league of matches that are not tagged with one. */
+    String DEFAULT_LEAGUE = "";
+
+    void accept(String league, String teamA, int scoreA, String teamB, int scoreB);
+
+    @Override
+    default void accept(String teamA, int scoreA, String teamB, int scoreB) {
+        accept(DEFAULT_LEAGUE, teamA, scoreA, teamB, scoreB);
+    }
+}
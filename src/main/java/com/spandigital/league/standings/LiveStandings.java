@@ -0,0 +1,109 @@
+package com.spandigital.league.standings;
+
+import com.spandigital.league.match.dto.Match;
+import com.spandigital.league.match.dto.MatchResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A long-lived standings engine for results that arrive one at a time, e.g. on match days.
+ * Counters are updated in O(1) and the ranking is kept sorted incrementally in an order-statistic
+ * tree, so the current table and the rank of any team are available without re-sorting:
+ * recording a match and rank queries take O(log n), listing the top k teams O(k + log n).
+ * Not thread-safe.
+ */
+public class LiveStandings implements MatchSink {
+
+    private final StandingsTable table = new StandingsTable();
+    private final OrderStatisticTree ranking;
+
+    public LiveStandings() {
+        this(TieBreaker.DEFAULT);
+    }
+
+    /**
+     * @param tieBreakers The criteria teams are ranked by, fixed for the lifetime of the standings
+     */
+    public LiveStandings(List<TieBreaker> tieBreakers) {
+        table.setTieBreakers(tieBreakers);
+        ranking = new OrderStatisticTree(table.rankingOrder());
+    }
+
+    public void accept(MatchResult result) {
+        Match match = result.match();
+        accept(match.teamA().name(), match.teamA().score(), match.teamB().name(), match.teamB().score());
+    }
+
+    @Override
+    public void accept(String teamA, int scoreA, String teamB, int scoreB) {
+        int knownTeams = table.teamCount();
+        int idA = table.teamId(teamA);
+        int idB = table.teamId(teamB);
+
+        // A team's position in the tree depends on its counters, so take it out while they change
+        if (idA < knownTeams) {
+            ranking.remove(idA);
+        }
+        if (idB < knownTeams && idB != idA) {
+            ranking.remove(idB);
+        }
+        table.record(idA, scoreA, idB, scoreB);
+        ranking.insert(idA);
+        if (idB != idA) {
+            ranking.insert(idB);
+        }
+    }
+
+    /**
+     * @param team The team name
+     * @return The team's 1-based position in the table, or -1 if the team has not played
+     */
+    public int rank(String team) {
+        int id = table.findTeam(team);
+        return id < 0 ? -1 : ranking.rank(id) + 1;
+    }
+
+    /**
+     * @param position A 1-based position in the table
+     * @return The standing of the team at that position
+     */
+    public TeamStanding teamAt(int position) {
+        return table.standing(ranking.select(position - 1));
+    }
+
+    /**
+     * @return The whole table in ranking order
+     */
+    public List<TeamStanding> table() {
+        return top(Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param limit The maximum number of teams
+     * @return The best ranked teams, in ranking order
+     */
+    public List<TeamStanding> top(int limit) {
+        int[] teams = ranking.inOrder(limit);
+        List<TeamStanding> top = new ArrayList<>(teams.length);
+        for (int team : teams) {
+            top.add(table.standing(team));
+        }
+        return top;
+    }
+
+    /**
+     * @return Every team id in ranking order; ids are assigned in order of the teams' first matches
+     */
+    int[] rankedTeamIds() {
+        return ranking.inOrder(Integer.MAX_VALUE);
+    }
+
+    public int teamCount() {
+        return table.teamCount();
+    }
+
+    public long matchCount() {
+        return table.matchCount();
+    }
+}
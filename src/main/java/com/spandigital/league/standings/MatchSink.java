@@ -0,0 +1,24 @@
+package com.spandigital.league.standings;
+
+/**
+ * Receives parsed matches one at a time as they are read, so consumers can aggregate
+ * without the whole input being materialised first.
+ */
+@FunctionalInterface
+public interface MatchSink {
+
+    void accept(String teamA, int scoreA, String teamB, int scoreB);
+
+    /**
+     * Returns a sink that passes every match to this sink and then to the next one.
+     *
+     * @param next The sink to call after this one
+     * @return The combined sink
+     */
+    default MatchSink andThen(MatchSink next) {
+        return (teamA, scoreA, teamB, scoreB) -> {
+            accept(teamA, scoreA, teamB, scoreB);
+            next.accept(teamA, scoreA, teamB, scoreB);
+        };
+    }
+}
@@ -0,0 +1,23 @@
+package com.spandigital.league.standings;
+
+/**
+ * A sink whose work can be split: partial sinks are filled independently (e.g. one per worker thread)
+ * and merged back afterwards. Merging partials in input order must give the same outcome as feeding
+ * every match to this sink directly.
+ */
+public interface MergeableMatchSink extends MatchSink {
+
+    /**
+     * Creates an empty sink of the same kind to collect a partial result.
+     *
+     * @return The new partial sink
+     */
+    MergeableMatchSink newPartial();
+
+    /**
+     * Merges a partial created by {@link #newPartial()} into this sink.
+     *
+     * @param partial The partial to merge
+     */
+    void merge(MergeableMatchSink partial);
+}
@@ -0,0 +1,178 @@
+package com.spandigital.league.standings;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * A treap of team ids ordered by a {@link TeamOrder}, with subtree sizes so ranks can be
+ * answered in O(log n). Nodes are stored in primitive arrays indexed by team id.
+ * The order must not change for a team while it is in the tree: remove it, update its counters,
+ * then insert it again. Not thread-safe.
+ */
+class OrderStatisticTree {
+
+    private static final int NIL = -1;
+
+    private final TeamOrder order;
+    private final SplittableRandom random = new SplittableRandom(0x1EA6E);
+    private int[] left = new int[16];
+    private int[] right = new int[16];
+    private int[] size = new int[16];
+    private int[] priority = new int[16];
+    private int root = NIL;
+
+    // Results of split(), kept in fields to avoid allocating a pair per call
+    private int lessRoot;
+    private int greaterRoot;
+
+    OrderStatisticTree(TeamOrder order) {
+        this.order = order;
+    }
+
+    int size() {
+        return sizeOf(root);
+    }
+
+    void insert(int team) {
+        ensureCapacity(team);
+        left[team] = NIL;
+        right[team] = NIL;
+        size[team] = 1;
+        priority[team] = random.nextInt();
+
+        split(root, team, false);
+        root = merge(merge(lessRoot, team), greaterRoot);
+    }
+
+    void remove(int team) {
+        split(root, team, false);
+        int less = lessRoot;
+        split(greaterRoot, team, true);
+        // lessRoot now holds just the removed team
+        root = merge(less, greaterRoot);
+    }
+
+    /**
+     * @return The 0-based rank of a team in the tree, or -1 if it is not in the tree
+     */
+    int rank(int team) {
+        int rank = 0;
+        int node = root;
+        while (node != NIL) {
+            int comparison = order.compare(team, node);
+            if (comparison < 0) {
+                node = left[node];
+            } else if (comparison > 0) {
+                rank += sizeOf(left[node]) + 1;
+                node = right[node];
+            } else {
+                return rank + sizeOf(left[node]);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @param rank A 0-based rank
+     * @return The team at that rank
+     */
+    int select(int rank) {
+        if (rank < 0 || rank >= size()) {
+            throw new IndexOutOfBoundsException("Rank " + rank + " out of bounds for " + size() + " teams");
+        }
+        int node = root;
+        while (true) {
+            int leftSize = sizeOf(left[node]);
+            if (rank < leftSize) {
+                node = left[node];
+            } else if (rank > leftSize) {
+                rank -= leftSize + 1;
+                node = right[node];
+            } else {
+                return node;
+            }
+        }
+    }
+
+    /**
+     * @param limit The maximum number of teams to return
+     * @return The first teams in order, found by an in-order walk that stops after limit teams
+     */
+    int[] inOrder(int limit) {
+        int[] teams = new int[Math.min(limit, size())];
+        int[] stack = new int[64];
+        int depth = 0;
+        int count = 0;
+        int node = root;
+        while (count < teams.length) {
+            while (node != NIL) {
+                if (depth == stack.length) {
+                    stack = Arrays.copyOf(stack, depth * 2);
+                }
+                stack[depth++] = node;
+                node = left[node];
+            }
+            node = stack[--depth];
+            teams[count++] = node;
+            node = right[node];
+        }
+        return teams;
+    }
+
+    // Splits the subtree into teams ordered before key (or equal, when inclusive) and the rest
+    private void split(int node, int key, boolean inclusive) {
+        if (node == NIL) {
+            lessRoot = NIL;
+            greaterRoot = NIL;
+            return;
+        }
+        int comparison = order.compare(node, key);
+        if (comparison < 0 || (inclusive && comparison == 0)) {
+            split(right[node], key, inclusive);
+            right[node] = lessRoot;
+            update(node);
+            lessRoot = node;
+        } else {
+            split(left[node], key, inclusive);
+            left[node] = greaterRoot;
+            update(node);
+            greaterRoot = node;
+        }
+    }
+
+    // Joins two subtrees where every team in first is ordered before every team in second
+    private int merge(int first, int second) {
+        if (first == NIL) {
+            return second;
+        }
+        if (second == NIL) {
+            return first;
+        }
+        if (priority[first] > priority[second]) {
+            right[first] = merge(right[first], second);
+            update(first);
+            return first;
+        }
+        left[second] = merge(first, left[second]);
+        update(second);
+        return second;
+    }
+
+    private void update(int node) {
+        size[node] = sizeOf(left[node]) + sizeOf(right[node]) + 1;
+    }
+
+    private int sizeOf(int node) {
+        return node == NIL ? 0 : size[node];
+    }
+
+    private void ensureCapacity(int team) {
+        if (team >= size.length) {
+            int capacity = Math.max(team + 1, size.length * 2);
+            left = Arrays.copyOf(left, capacity);
+            right = Arrays.copyOf(right, capacity);
+            size = Arrays.copyOf(size, capacity);
+            priority = Arrays.copyOf(priority, capacity);
+        }
+    }
+}
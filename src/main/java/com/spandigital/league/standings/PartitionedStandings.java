@@ -0,0 +1,102 @@
+package com.spandigital.league.standings;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Standings of many leagues at once, one independent partition per league: each league has its own
+ * {@link StandingsTable}, so its own team ids, and teams of the same name in different leagues never
+ * meet. Partials are partitioned the same way and merged league by league, so parallel readers split
+ * a mixed feed without knowing its leagues. Not thread-safe, except that partials may be merged from
+ * several threads at once: merges hold the instance's lock. Use one partial per worker.
+ */
+public class PartitionedStandings implements LeagueMatchSink, MergeableMatchSink {
+
+    private final Map<String, StandingsTable> leagues = new HashMap<>();
+    private List<TieBreaker> tieBreakers = TieBreaker.DEFAULT;
+    // Parsers hand out the same String for a repeated league, so consecutive matches skip the map
+    private String lastLeague;
+    private StandingsTable lastTable;
+
+    @Override
+    public void accept(String league, String teamA, int scoreA, String teamB, int scoreB) {
+        league(league).accept(teamA, scoreA, teamB, scoreB);
+    }
+
+    @Override
+    public void accept(String teamA, int scoreA, String teamB, int scoreB) {
+        accept(DEFAULT_LEAGUE, teamA, scoreA, teamB, scoreB);
+    }
+
+    /**
+     * @param league The league name
+     * @return The league's standings, created empty if no match of the league was recorded yet
+     */
+    public StandingsTable league(String league) {
+        if (league != lastLeague) {
+            lastTable = leagues.computeIfAbsent(league, ignored -> newTable());
+            lastLeague = league;
+        }
+        return lastTable;
+    }
+
+    /**
+     * @return The leagues with matches, sorted by name
+     */
+    public List<String> leagues() {
+        return leagues.keySet().stream().sorted().toList();
+    }
+
+    public int leagueCount() {
+        return leagues.size();
+    }
+
+    /**
+     * @return The number of matches recorded over all leagues
+     */
+    public long matchCount() {
+        long matches = 0;
+        for (StandingsTable table : leagues.values()) {
+            matches += table.matchCount();
+        }
+        return matches;
+    }
+
+    @Override
+    public PartitionedStandings newPartial() {
+        PartitionedStandings partial = new PartitionedStandings();
+        partial.setTieBreakers(tieBreakers);
+        return partial;
+    }
+
+    /**
+     * Merges a partial league by league. Readers of several inputs merge as each input completes, so
+     * merges are serialized; the partial itself must no longer be written to.
+     */
+    @Override
+    public synchronized void merge(MergeableMatchSink partial) {
+        PartitionedStandings other = (PartitionedStandings) partial;
+        other.leagues.forEach((league, table) -> league(league).merge(table));
+    }
+
+    public List<TieBreaker> getTieBreakers() {
+        return tieBreakers;
+    }
+
+    /**
+     * @param tieBreakers The criteria every league is ranked by
+     */
+    public void setTieBreakers(List<TieBreaker> tieBreakers) {
+        this.tieBreakers = List.copyOf(tieBreakers);
+        for (StandingsTable table : leagues.values()) {
+            table.setTieBreakers(this.tieBreakers);
+        }
+    }
+
+    private StandingsTable newTable() {
+        StandingsTable table = new StandingsTable();
+        table.setTieBreakers(tieBreakers);
+        return table;
+    }
+}
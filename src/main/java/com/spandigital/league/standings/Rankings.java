@@ -0,0 +1,131 @@
+package com.spandigital.league.standings;
+
+/**
+ * Sorting and top-K selection over primitive team ids using a {@link TeamOrder}.
+ */
+public final class Rankings {
+
+    private static final int INSERTION_SORT_THRESHOLD = 16;
+
+    private Rankings() {
+    }
+
+    /**
+     * Ranks all teams 0 .. teamCount - 1.
+     *
+     * @param teamCount The number of teams
+     * @param order The ranking order
+     * @return The team ids, best ranked first
+     */
+    public static int[] rankAll(int teamCount, TeamOrder order) {
+        int[] ids = new int[teamCount];
+        for (int i = 0; i < teamCount; i++) {
+            ids[i] = i;
+        }
+        sort(ids, order);
+        return ids;
+    }
+
+    /**
+     * Selects the best k teams with a bounded heap: O(n log k) time and O(k) extra memory,
+     * instead of sorting the whole table.
+     *
+     * @param teamCount The number of teams
+     * @param k The number of teams to return
+     * @param order The ranking order
+     * @return At most k team ids, best ranked first
+     */
+    public static int[] top(int teamCount, int k, TeamOrder order) {
+        int size = Math.min(k, teamCount);
+        if (size <= 0) {
+            return new int[0];
+        }
+        // Max-heap on the order: the worst of the current top k sits at the root
+        int[] heap = new int[size];
+        for (int team = 0; team < teamCount; team++) {
+            if (team < size) {
+                heap[team] = team;
+                siftUp(heap, team, order);
+            } else if (order.compare(team, heap[0]) < 0) {
+                heap[0] = team;
+                siftDown(heap, 0, size, order);
+            }
+        }
+        sort(heap, order);
+        return heap;
+    }
+
+    /**
+     * Stable merge sort of team ids in place.
+     *
+     * @param ids The team ids to sort
+     * @param order The ranking order
+     */
+    public static void sort(int[] ids, TeamOrder order) {
+        int[] source = ids.clone();
+        mergeSort(source, ids, 0, ids.length, order);
+    }
+
+    // Sorts src[low, high) into dest[low, high); both must hold the same elements on entry
+    private static void mergeSort(int[] src, int[] dest, int low, int high, TeamOrder order) {
+        int length = high - low;
+        if (length < INSERTION_SORT_THRESHOLD) {
+            for (int i = low + 1; i < high; i++) {
+                int team = dest[i];
+                int j = i;
+                while (j > low && order.compare(dest[j - 1], team) > 0) {
+                    dest[j] = dest[j - 1];
+                    j--;
+                }
+                dest[j] = team;
+            }
+            return;
+        }
+
+        int middle = (low + high) >>> 1;
+        mergeSort(dest, src, low, middle, order);
+        mergeSort(dest, src, middle, high, order);
+
+        if (order.compare(src[middle - 1], src[middle]) <= 0) {
+            System.arraycopy(src, low, dest, low, length);
+            return;
+        }
+        for (int i = low, left = low, right = middle; i < high; i++) {
+            if (right >= high || left < middle && order.compare(src[left], src[right]) <= 0) {
+                dest[i] = src[left++];
+            } else {
+                dest[i] = src[right++];
+            }
+        }
+    }
+
+    private static void siftUp(int[] heap, int index, TeamOrder order) {
+        int team = heap[index];
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (order.compare(heap[parent], team) >= 0) {
+                break;
+            }
+            heap[index] = heap[parent];
+            index = parent;
+        }
+        heap[index] = team;
+    }
+
+    private static void siftDown(int[] heap, int index, int size, TeamOrder order) {
+        int team = heap[index];
+        int half = size >>> 1;
+        while (index < half) {
+            int child = 2 * index + 1;
+            if (child + 1 < size && order.compare(heap[child + 1], heap[child]) > 0) {
+                child++;
+            }
+            if (order.compare(team, heap[child]) >= 0) {
+                break;
+            }
+            heap[index] = heap[child];
+            index = child;
+        }
+        heap[index] = team;
+    }
+}
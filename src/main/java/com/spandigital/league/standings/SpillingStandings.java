@@ -0,0 +1,479 @@
+package com.spandigital.league.standings;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.stream.Stream;
+
+/**
+ * Standings of inputs with more teams than fit in memory. Matches are aggregated into a
+ * {@link StandingsTable} until it holds more than {@code maxTeams} teams; its partial counters are then
+ * spilled to temporary files, hash-partitioned by team name, and the table starts over. A team's
+ * partials therefore all land in the same partition, so once the input is read each partition is
+ * aggregated on its own, re-partitioned with another hash if it still has too many teams, and ranked
+ * into a sorted run on disk. The final ranking is an external merge of the runs, streamed so that only
+ * one team per run is held in memory at a time; more runs than {@value #PARTITIONS} are first merged in
+ * passes, so that no more files are open at once.
+ * <p>
+ * Until the first spill this is an ordinary in-memory table. Partials of parallel readers are plain
+ * tables, so they are bounded by the readers' chunks. Not thread-safe; closing deletes the temporary files.
+ */
+public class SpillingStandings implements MergeableMatchSink, Closeable {
+
+    /** Partitions per spill; each has its own buffered file while the input is read. */
+    static final int PARTITIONS = 64;
+    private static final int PARTITION_BITS = Integer.numberOfTrailingZeros(PARTITIONS);
+    // Partitions still over the budget after this many re-partitions hold colliding names; they are
+    // aggregated over the budget rather than split forever
+    private static final int MAX_LEVEL = 4;
+    private static final int BUFFER_SIZE = 1 << 13;
+
+    private final int maxTeams;
+    private final Path parent;
+    private StandingsTable table;
+    private List<TieBreaker> tieBreakers = TieBreaker.DEFAULT;
+    private long matchCount;
+    private Path directory;
+    private boolean spilled;
+    private Partitions spills;
+    private List<Path> runs;
+    private int runLimit;
+    private long teamCount;
+    private final List<Closeable> openRuns = new ArrayList<>();
+
+    /**
+     * @param maxTeams The most teams kept in memory before the standings are spilled to disk
+     * @param parent The directory to create the temporary files in, or null for java.io.tmpdir
+     */
+    public SpillingStandings(int maxTeams, Path parent) {
+        if (maxTeams < 1) {
+            throw new IllegalArgumentException("Team budget must be positive: " + maxTeams);
+        }
+        this.maxTeams = maxTeams;
+        this.parent = parent;
+        this.table = newTable();
+    }
+
+    @Override
+    public void accept(String teamA, int scoreA, String teamB, int scoreB) {
+        checkReading();
+        table.accept(teamA, scoreA, teamB, scoreB);
+        if (table.teamCount() > maxTeams) {
+            spill();
+        }
+    }
+
+    @Override
+    public StandingsTable newPartial() {
+        return newTable();
+    }
+
+    @Override
+    public void merge(MergeableMatchSink partial) {
+        checkReading();
+        table.merge(partial);
+        if (table.teamCount() > maxTeams) {
+            spill();
+        }
+    }
+
+    /**
+     * @return Whether the standings no longer fit the budget and were spilled to disk
+     */
+    public boolean spilled() {
+        return spilled;
+    }
+
+    /**
+     * @return The number of matches recorded, spilled or not
+     */
+    public long matchCount() {
+        return matchCount + (table != null ? table.matchCount() : 0);
+    }
+
+    /**
+     * @return The number of distinct teams; once spilled, only known after {@link #ranking(int)}
+     */
+    public long teamCount() {
+        return spilled() ? teamCount : table.teamCount();
+    }
+
+    public List<TieBreaker> getTieBreakers() {
+        return tieBreakers;
+    }
+
+    /**
+     * @param tieBreakers The criteria teams are ranked by; set before {@link #ranking(int)}
+     */
+    public void setTieBreakers(List<TieBreaker> tieBreakers) {
+        this.tieBreakers = List.copyOf(tieBreakers);
+        if (table != null) {
+            table.setTieBreakers(this.tieBreakers);
+        }
+    }
+
+    /**
+     * Ranks the standings. Unless they were spilled this is the in-memory ranking; otherwise the first
+     * call ends the input, aggregates every partition into a sorted run of at most {@code limit} teams
+     * and returns a merge of the runs, which may be iterated more than once. No matches can be
+     * recorded afterwards, and later calls cannot ask for more teams than the first.
+     *
+     * @param limit The maximum number of teams, or 0 for all of them
+     * @return The best ranked teams' standings in ranking order
+     * @throws IOException If the temporary files cannot be written or read
+     * @throws IllegalStateException If the runs were cut to fewer teams by an earlier call
+     */
+    public Iterable<TeamStanding> ranking(int limit) throws IOException {
+        if (!spilled()) {
+            return table.ranking(limit);
+        }
+        if (runs == null) {
+            spill();
+            List<Path> partitions = spills.close();
+            spills = null;
+            table = null;
+            runs = new ArrayList<>();
+            runLimit = limit;
+            for (Path partition : partitions) {
+                aggregate(partition, 1, limit);
+            }
+            // Re-partitioning can leave thousands of runs; merging them in passes keeps no more than
+            // PARTITIONS of them open at once, in each pass as in the final merge
+            while (runs.size() > PARTITIONS) {
+                runs = mergeRuns(order(tieBreakers), limit);
+            }
+        } else if (runLimit > 0 && (limit <= 0 || limit > runLimit)) {
+            throw new IllegalStateException("Standings were ranked for the top " + runLimit + " teams only");
+        }
+        Comparator<TeamStanding> order = order(tieBreakers);
+        return () -> new RunMerge(runs, order, limit);
+    }
+
+    /**
+     * Deletes the temporary files.
+     */
+    @Override
+    public void close() throws IOException {
+        // Runs remove themselves as they close
+        for (Closeable run : List.copyOf(openRuns)) {
+            run.close();
+        }
+        if (spills != null) {
+            spills.close();
+        }
+        if (directory != null) {
+            try (Stream<Path> files = Files.list(directory)) {
+                for (Path file : files.toList()) {
+                    Files.deleteIfExists(file);
+                }
+            }
+            Files.deleteIfExists(directory);
+            directory = null;
+        }
+    }
+
+    private void spill() {
+        try {
+            if (spills == null) {
+                directory = parent != null ? Files.createTempDirectory(parent, "league-spill")
+                                           : Files.createTempDirectory("league-spill");
+                spills = new Partitions(0);
+                spilled = true;
+            }
+            for (int team = 0; team < table.teamCount(); team++) {
+                spills.write(table.standing(team));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        matchCount += table.matchCount();
+        table = newTable();
+    }
+
+    /**
+     * Aggregates a partition into a run; if it has too many teams, its teams and the records still to
+     * read are split into sub-partitions by the hash of the next level instead, which are aggregated in turn.
+     */
+    private void aggregate(Path partition, int level, int limit) throws IOException {
+        StandingsTable aggregated = newTable();
+        Partitions split = null;
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(partition), BUFFER_SIZE))) {
+            TeamStanding standing;
+            while ((standing = read(in)) != null) {
+                if (split != null) {
+                    split.write(standing);
+                    continue;
+                }
+                aggregated.add(standing);
+                if (aggregated.teamCount() > maxTeams && level < MAX_LEVEL) {
+                    split = new Partitions(level);
+                    for (int team = 0; team < aggregated.teamCount(); team++) {
+                        split.write(aggregated.standing(team));
+                    }
+                    aggregated = null;
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            if (split != null) {
+                split.close();
+            }
+            throw e;
+        }
+        Files.delete(partition);
+        if (split != null) {
+            for (Path subPartition : split.close()) {
+                aggregate(subPartition, level + 1, limit);
+            }
+            return;
+        }
+
+        teamCount += aggregated.teamCount();
+        if (aggregated.teamCount() == 0) {
+            return;
+        }
+        Path run = Files.createTempFile(directory, "run", ".bin");
+        try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run), BUFFER_SIZE))) {
+            for (int team : aggregated.rankedTeamIds(limit)) {
+                write(out, aggregated.standing(team));
+            }
+        }
+        runs.add(run);
+    }
+
+    // Merges every PARTITIONS runs into one run of at most limit teams
+    private List<Path> mergeRuns(Comparator<TeamStanding> order, int limit) throws IOException {
+        List<Path> merged = new ArrayList<>();
+        for (int from = 0; from < runs.size(); from += PARTITIONS) {
+            List<Path> group = runs.subList(from, Math.min(runs.size(), from + PARTITIONS));
+            Path run = Files.createTempFile(directory, "run", ".bin");
+            RunMerge merge = new RunMerge(group, order, limit);
+            try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(run), BUFFER_SIZE))) {
+                while (merge.hasNext()) {
+                    write(out, merge.next());
+                }
+            } finally {
+                merge.close();
+            }
+            for (Path path : group) {
+                Files.delete(path);
+            }
+            merged.add(run);
+        }
+        return merged;
+    }
+
+    private StandingsTable newTable() {
+        StandingsTable standings = new StandingsTable();
+        standings.setTieBreakers(tieBreakers);
+        return standings;
+    }
+
+    private void checkReading() {
+        if (runs != null) {
+            throw new IllegalStateException("Standings were already ranked");
+        }
+    }
+
+    // The partition of a team at a level, from a differently mixed hash per level
+    private static int partition(String team, int level) {
+        int hash = (team.hashCode() + level * 0x9E3779B9) * 0x85EBCA6B;
+        return (hash ^ (hash >>> 16)) * 0xC2B2AE35 >>> (Integer.SIZE - PARTITION_BITS);
+    }
+
+    // Records have the per-team layout of StandingsTable#writeTo: UTF-8 name, then the six counters
+    private static void write(DataOutputStream out, TeamStanding standing) throws IOException {
+        byte[] name = standing.team().getBytes(StandardCharsets.UTF_8);
+        out.writeInt(name.length);
+        out.write(name);
+        out.writeInt(standing.points());
+        out.writeInt(standing.wins());
+        out.writeInt(standing.draws());
+        out.writeInt(standing.losses());
+        out.writeInt(standing.goalsFor());
+        out.writeInt(standing.goalsAgainst());
+    }
+
+    // The next record, or null at the end of the file
+    private static TeamStanding read(DataInputStream in) throws IOException {
+        int length;
+        try {
+            length = in.readInt();
+        } catch (EOFException e) {
+            return null;
+        }
+        if (length < 0) {
+            throw new IOException("Corrupt spill file");
+        }
+        byte[] name = new byte[length];
+        in.readFully(name);
+        return new TeamStanding(new String(name, StandardCharsets.UTF_8), in.readInt(), in.readInt(), in.readInt(),
+                in.readInt(), in.readInt(), in.readInt());
+    }
+
+    /**
+     * The ranking order of {@link StandingsTable#rankingOrder()}, over standings read back from runs.
+     */
+    static Comparator<TeamStanding> order(List<TieBreaker> tieBreakers) {
+        TieBreaker[] criteria = tieBreakers.toArray(TieBreaker[]::new);
+        return (a, b) -> {
+            for (TieBreaker criterion : criteria) {
+                int compared = switch (criterion) {
+                    case POINTS -> Integer.compare(b.points(), a.points());
+                    case GOAL_DIFFERENCE -> Integer.compare(b.goalDifference(), a.goalDifference());
+                    case GOALS_FOR -> Integer.compare(b.goalsFor(), a.goalsFor());
+                    case NAME -> a.team().compareTo(b.team());
+                };
+                if (compared != 0) {
+                    return compared;
+                }
+            }
+            return 0;
+        };
+    }
+
+    /**
+     * One buffered file per partition of a level, created on first write.
+     */
+    private final class Partitions {
+
+        private final int level;
+        private final Path[] files = new Path[PARTITIONS];
+        private final DataOutputStream[] outs = new DataOutputStream[PARTITIONS];
+
+        Partitions(int level) {
+            this.level = level;
+        }
+
+        void write(TeamStanding standing) throws IOException {
+            int partition = partition(standing.team(), level);
+            DataOutputStream out = outs[partition];
+            if (out == null) {
+                files[partition] = Files.createTempFile(directory, "partition-" + level + "-", ".bin");
+                out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(files[partition]),
+                        BUFFER_SIZE));
+                outs[partition] = out;
+            }
+            SpillingStandings.write(out, standing);
+        }
+
+        // Closes the files and returns those written, in partition order
+        List<Path> close() throws IOException {
+            List<Path> written = new ArrayList<>();
+            IOException failure = null;
+            for (int partition = 0; partition < PARTITIONS; partition++) {
+                if (outs[partition] == null) {
+                    continue;
+                }
+                try {
+                    outs[partition].close();
+                } catch (IOException e) {
+                    failure = failure == null ? e : failure;
+                }
+                outs[partition] = null;
+                written.add(files[partition]);
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return written;
+        }
+    }
+
+    /**
+     * A k-way merge of sorted runs: a heap holds the head of every run, and the best head is
+     * returned and replaced by the next standing of its run.
+     */
+    private final class RunMerge implements Iterator<TeamStanding> {
+
+        private final PriorityQueue<Run> heads;
+        private final int limit;
+        private int returned;
+
+        RunMerge(List<Path> runs, Comparator<TeamStanding> order, int limit) {
+            this.heads = new PriorityQueue<>(Math.max(1, runs.size()), (a, b) -> order.compare(a.head, b.head));
+            this.limit = limit;
+            try {
+                for (Path path : runs) {
+                    Run run = new Run(path);
+                    openRuns.add(run);
+                    if (run.advance()) {
+                        heads.add(run);
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heads.isEmpty() && (limit <= 0 || returned < limit);
+        }
+
+        @Override
+        public TeamStanding next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Run run = heads.poll();
+            TeamStanding next = run.head;
+            try {
+                if (run.advance()) {
+                    heads.add(run);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            returned++;
+            return next;
+        }
+
+        // Closes the runs not read to their end, e.g. when the limit was reached first
+        void close() throws IOException {
+            for (Run run : heads) {
+                run.close();
+            }
+            heads.clear();
+        }
+    }
+
+    private final class Run implements Closeable {
+
+        private final DataInputStream in;
+        private TeamStanding head;
+
+        Run(Path path) throws IOException {
+            in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), BUFFER_SIZE));
+        }
+
+        // Reads the next standing into head; closes the run at its end
+        boolean advance() throws IOException {
+            head = read(in);
+            if (head == null) {
+                close();
+                return false;
+            }
+            return true;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+            openRuns.remove(this);
+        }
+    }
+}
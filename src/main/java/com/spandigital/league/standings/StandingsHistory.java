@@ -0,0 +1,213 @@
+package com.spandigital.league.standings;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Records a season in order so the table can be looked up as it stood after any match or round.
+ * Matches are kept as deltas, team ids and scores in int columns, and every {@code interval} matches
+ * the counters of all teams are snapshot in their packed form. The standings after m matches are the
+ * nearest snapshot at or before m plus the matches since: O(interval + teams) per lookup instead of O(m).
+ * A snapshot takes 32 bytes per team, so snapshots are never closer than one match per team apart and
+ * take at most 32 bytes per match, however many teams there are.
+ * <p>
+ * A round is a run of consecutive matches in which no team plays twice, as in a fixture list; the
+ * round ends just before the first match of a team that already played in it.
+ * {@link #positionsByRound()} charts every team's position after each round in one pass over the season.
+ * Not thread-safe.
+ */
+public class StandingsHistory implements MatchSink {
+
+    public static final int DEFAULT_INTERVAL = 1024;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final int interval;
+    private final StandingsTable current = new StandingsTable();
+    private final List<Snapshot> snapshots = new ArrayList<>();
+    private int[] teamA = new int[INITIAL_CAPACITY];
+    private int[] teamB = new int[INITIAL_CAPACITY];
+    private int[] scoreA = new int[INITIAL_CAPACITY];
+    private int[] scoreB = new int[INITIAL_CAPACITY];
+    private int size;
+    // The round each team last played in, by team id, and the match count at the end of each round
+    private int[] lastRound = new int[INITIAL_CAPACITY];
+    private int[] roundEnds = new int[INITIAL_CAPACITY];
+    private int rounds;
+
+    public StandingsHistory() {
+        this(DEFAULT_INTERVAL);
+    }
+
+    /**
+     * @param interval The number of matches between snapshots, or the number of teams if that is larger:
+     *                 smaller is faster to look up, larger takes less memory
+     */
+    public StandingsHistory(int interval) {
+        if (interval < 1) {
+            throw new IllegalArgumentException("Snapshot interval must be positive: " + interval);
+        }
+        this.interval = interval;
+        snapshots.add(new Snapshot(0, 0, current.counters()));
+    }
+
+    @Override
+    public void accept(String teamA, int scoreA, String teamB, int scoreB) {
+        int a = current.teamId(teamA);
+        int b = current.teamId(teamB);
+        if (size == this.teamA.length) {
+            int capacity = size * 2;
+            this.teamA = Arrays.copyOf(this.teamA, capacity);
+            this.teamB = Arrays.copyOf(this.teamB, capacity);
+            this.scoreA = Arrays.copyOf(this.scoreA, capacity);
+            this.scoreB = Arrays.copyOf(this.scoreB, capacity);
+        }
+        if (current.teamCount() > lastRound.length) {
+            lastRound = Arrays.copyOf(lastRound, Math.max(lastRound.length * 2, current.teamCount()));
+        }
+        // Rounds are numbered from 1, so 0 means the team has not played yet
+        if (rounds == 0 || lastRound[a] == rounds || lastRound[b] == rounds) {
+            endRound();
+        }
+        lastRound[a] = rounds;
+        lastRound[b] = rounds;
+
+        this.teamA[size] = a;
+        this.teamB[size] = b;
+        this.scoreA[size] = scoreA;
+        this.scoreB[size] = scoreB;
+        size++;
+        current.record(a, scoreA, b, scoreB);
+        roundEnds[rounds - 1] = size;
+        if (size - snapshots.getLast().matches() >= Math.max(interval, current.teamCount())) {
+            snapshots.add(new Snapshot(size, current.teamCount(), current.counters()));
+        }
+    }
+
+    private void endRound() {
+        if (rounds == roundEnds.length) {
+            roundEnds = Arrays.copyOf(roundEnds, rounds * 2);
+        }
+        rounds++;
+    }
+
+    /**
+     * @param matches The number of matches from the start of the season, at most {@link #matchCount()}
+     * @return A new table with the standings after that many matches
+     */
+    public StandingsTable at(int matches) {
+        Objects.checkIndex(matches, size + 1);
+        Snapshot snapshot = snapshotAt(matches);
+        int from = snapshot.matches();
+        StandingsTable table = new StandingsTable();
+        table.setTieBreakers(current.getTieBreakers());
+        // Team ids follow first appearance, so teams added in id order get the ids they have here
+        addTeamsUpTo(table, snapshot.teams() - 1);
+        table.restore(snapshot.counters(), from);
+        for (int i = from; i < matches; i++) {
+            addTeamsUpTo(table, Math.max(teamA[i], teamB[i]));
+            table.record(teamA[i], scoreA[i], teamB[i], scoreB[i]);
+        }
+        return table;
+    }
+
+    /**
+     * @param round A round number from 1 to {@link #rounds()}, or 0 for the start of the season
+     * @return A new table with the standings after that round
+     */
+    public StandingsTable atRound(int round) {
+        Objects.checkIndex(round, rounds + 1);
+        return at(round == 0 ? 0 : roundEnds[round - 1]);
+    }
+
+    /**
+     * Replays the season once through {@link LiveStandings}, reading the ranking after every round.
+     *
+     * @return Every team's position after each round, ranked as after the last round; a position is 0
+     *         for rounds before the team's first match
+     */
+    public List<TeamPositions> positionsByRound() {
+        LiveStandings live = new LiveStandings(current.getTieBreakers());
+        int[][] positions = new int[current.teamCount()][rounds];
+        int match = 0;
+        for (int round = 0; round < rounds; round++) {
+            for (; match < roundEnds[round]; match++) {
+                live.accept(current.teamName(teamA[match]), scoreA[match], current.teamName(teamB[match]),
+                        scoreB[match]);
+            }
+            int[] ranked = live.rankedTeamIds();
+            for (int position = 0; position < ranked.length; position++) {
+                positions[ranked[position]][round] = position + 1;
+            }
+        }
+        int[] finalOrder = live.rankedTeamIds();
+        List<TeamPositions> chart = new ArrayList<>(finalOrder.length);
+        for (int team : finalOrder) {
+            chart.add(new TeamPositions(current.teamName(team), positions[team]));
+        }
+        return chart;
+    }
+
+    /**
+     * @return The standings after every recorded match; live, not a copy
+     */
+    public StandingsTable current() {
+        return current;
+    }
+
+    public int matchCount() {
+        return size;
+    }
+
+    public int rounds() {
+        return rounds;
+    }
+
+    /**
+     * @param round A round number from 1 to {@link #rounds()}
+     * @return The number of matches played by the end of the round
+     */
+    public int roundEnd(int round) {
+        Objects.checkIndex(round - 1, rounds);
+        return roundEnds[round - 1];
+    }
+
+    /**
+     * @param tieBreakers The criteria tables and position charts are ranked by
+     */
+    public void setTieBreakers(List<TieBreaker> tieBreakers) {
+        current.setTieBreakers(tieBreakers);
+    }
+
+    // The last snapshot taken at or before the match count
+    private Snapshot snapshotAt(int matches) {
+        int low = 0;
+        int high = snapshots.size() - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (snapshots.get(middle).matches() <= matches) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return snapshots.get(low);
+    }
+
+    private void addTeamsUpTo(StandingsTable table, int team) {
+        while (table.teamCount() <= team) {
+            table.teamId(current.teamName(table.teamCount()));
+        }
+    }
+
+    private record Snapshot(int matches, int teams, int[] counters) {
+    }
+
+    /**
+     * @param team The team name
+     * @param positions The team's position after each round, 0 before its first match
+     */
+    public record TeamPositions(String team, int[] positions) {
+    }
+}
@@ -0,0 +1,370 @@
+package com.spandigital.league.standings;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Accumulates the full league table as matches stream in: points (3 for a win, 1 for a draw and 0 for
+ * a loss), wins, draws, losses and goals for and against, from which games played and goal difference
+ * follow. Team names are interned once into a {@link TeamDictionary}; the counters are packed into one
+ * int[] with a fixed stride per team id, so recording a match touches two small contiguous blocks of
+ * 24 bytes with no allocation. The blocks are not aligned to cache lines: the array header shifts them,
+ * so every other one straddles a line boundary. Memory grows with the number of teams, not the number
+ * of matches.
+ * Teams are ranked by the configured {@link TieBreaker}s. Not thread-safe; parallel producers should
+ * fill partials and {@link #merge(MergeableMatchSink)} them.
+ */
+public class StandingsTable implements MergeableMatchSink {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    // Offsets of the counters within a team's block; the stride is padded to 8 ints (32 bytes)
+    private static final int POINTS = 0;
+    private static final int WINS = 1;
+    private static final int DRAWS = 2;
+    private static final int LOSSES = 3;
+    private static final int GOALS_FOR = 4;
+    private static final int GOALS_AGAINST = 5;
+    private static final int COUNTERS = 6;
+    private static final int STRIDE_SHIFT = 3;
+
+    private final TeamDictionary teams = new TeamDictionary();
+    private int[] stats = new int[INITIAL_CAPACITY << STRIDE_SHIFT];
+    private int capacity = INITIAL_CAPACITY;
+    private long matchCount;
+    private List<TieBreaker> tieBreakers = TieBreaker.DEFAULT;
+
+    @Override
+    public void accept(String teamA, int scoreA, String teamB, int scoreB) {
+        record(teamId(teamA), scoreA, teamId(teamB), scoreB);
+    }
+
+    /**
+     * Records a match between two teams already known to this table.
+     *
+     * @param teamA Id of the first team
+     * @param scoreA Goals scored by the first team
+     * @param teamB Id of the second team
+     * @param scoreB Goals scored by the second team
+     */
+    public void record(int teamA, int scoreA, int teamB, int scoreB) {
+        int[] stats = this.stats;
+        int a = teamA << STRIDE_SHIFT;
+        int b = teamB << STRIDE_SHIFT;
+        if (scoreA > scoreB) {
+            // Team A wins
+            stats[a + POINTS] += 3;
+            stats[a + WINS]++;
+            stats[b + LOSSES]++;
+        } else if (scoreA < scoreB) {
+            // Team B wins
+            stats[b + POINTS] += 3;
+            stats[b + WINS]++;
+            stats[a + LOSSES]++;
+        } else {
+            // Draw
+            stats[a + POINTS]++;
+            stats[b + POINTS]++;
+            stats[a + DRAWS]++;
+            stats[b + DRAWS]++;
+        }
+        stats[a + GOALS_FOR] += scoreA;
+        stats[a + GOALS_AGAINST] += scoreB;
+        stats[b + GOALS_FOR] += scoreB;
+        stats[b + GOALS_AGAINST] += scoreA;
+        matchCount++;
+    }
+
+    /**
+     * Returns the id of a team, adding it with empty counters if it has not been seen before.
+     *
+     * @param team The team name
+     * @return The team id
+     */
+    public int teamId(String team) {
+        int id = teams.idOf(team);
+        if (id == capacity) {
+            grow();
+        }
+        return id;
+    }
+
+    /**
+     * @param team The team name
+     * @return The team id, or -1 if the team has not been seen
+     */
+    public int findTeam(String team) {
+        return teams.find(team);
+    }
+
+    /**
+     * Updates the points for a team.
+     * If the team doesn't exist yet it is added with pointsToAdd, otherwise the points are
+     * added to its current total.
+     *
+     * @param team The name of the team to update
+     * @param pointsToAdd The number of points to add to the team's current total
+     */
+    public void addPoints(String team, int pointsToAdd) {
+        stats[(teamId(team) << STRIDE_SHIFT) + POINTS] += pointsToAdd;
+    }
+
+    /**
+     * @param team The team name
+     * @return The team's points, or 0 if the team has not played
+     */
+    public int points(String team) {
+        int id = teams.find(team);
+        return id < 0 ? 0 : points(id);
+    }
+
+    public String teamName(int team) {
+        return teams.name(team);
+    }
+
+    public int points(int team) {
+        return stats[(team << STRIDE_SHIFT) + POINTS];
+    }
+
+    public int wins(int team) {
+        return stats[(team << STRIDE_SHIFT) + WINS];
+    }
+
+    public int draws(int team) {
+        return stats[(team << STRIDE_SHIFT) + DRAWS];
+    }
+
+    public int losses(int team) {
+        return stats[(team << STRIDE_SHIFT) + LOSSES];
+    }
+
+    public int played(int team) {
+        int block = team << STRIDE_SHIFT;
+        return stats[block + WINS] + stats[block + DRAWS] + stats[block + LOSSES];
+    }
+
+    public int goalsFor(int team) {
+        return stats[(team << STRIDE_SHIFT) + GOALS_FOR];
+    }
+
+    public int goalsAgainst(int team) {
+        return stats[(team << STRIDE_SHIFT) + GOALS_AGAINST];
+    }
+
+    public int goalDifference(int team) {
+        int block = team << STRIDE_SHIFT;
+        return stats[block + GOALS_FOR] - stats[block + GOALS_AGAINST];
+    }
+
+    /**
+     * Adds a team's counters, e.g. copied from another table.
+     *
+     * @param standing The team and the counters to add to it
+     */
+    void add(TeamStanding standing) {
+        int block = teamId(standing.team()) << STRIDE_SHIFT;
+        stats[block + POINTS] += standing.points();
+        stats[block + WINS] += standing.wins();
+        stats[block + DRAWS] += standing.draws();
+        stats[block + LOSSES] += standing.losses();
+        stats[block + GOALS_FOR] += standing.goalsFor();
+        stats[block + GOALS_AGAINST] += standing.goalsAgainst();
+    }
+
+    void addMatchCount(long matches) {
+        matchCount += matches;
+    }
+
+    public int teamCount() {
+        return teams.size();
+    }
+
+    public long matchCount() {
+        return matchCount;
+    }
+
+    /**
+     * @param team The team id
+     * @return A snapshot of the team's counters
+     */
+    public TeamStanding standing(int team) {
+        return new TeamStanding(teams.name(team), points(team), wins(team), draws(team), losses(team),
+                goalsFor(team), goalsAgainst(team));
+    }
+
+    public List<TieBreaker> getTieBreakers() {
+        return tieBreakers;
+    }
+
+    /**
+     * Sets the criteria teams are ranked by, {@link TieBreaker#DEFAULT} (points, then name) unless set.
+     * Partials created afterwards inherit them.
+     *
+     * @param tieBreakers The criteria in order; should end with {@link TieBreaker#NAME} for a total order
+     */
+    public void setTieBreakers(List<TieBreaker> tieBreakers) {
+        this.tieBreakers = List.copyOf(tieBreakers);
+    }
+
+    /**
+     * Returns the order teams are ranked in. Every criterion compares counters straight from the packed
+     * storage while sorting, so no per-team sort key is computed up front.
+     *
+     * @return The order of the current tie-breakers
+     */
+    public TeamOrder rankingOrder() {
+        TieBreaker[] criteria = tieBreakers.toArray(TieBreaker[]::new);
+        return (teamA, teamB) -> {
+            int[] stats = this.stats;
+            int a = teamA << STRIDE_SHIFT;
+            int b = teamB << STRIDE_SHIFT;
+            for (TieBreaker criterion : criteria) {
+                int compared = switch (criterion) {
+                    case POINTS -> Integer.compare(stats[b + POINTS], stats[a + POINTS]);
+                    case GOAL_DIFFERENCE -> Integer.compare(stats[b + GOALS_FOR] - stats[b + GOALS_AGAINST],
+                            stats[a + GOALS_FOR] - stats[a + GOALS_AGAINST]);
+                    case GOALS_FOR -> Integer.compare(stats[b + GOALS_FOR], stats[a + GOALS_FOR]);
+                    case NAME -> teams.name(teamA).compareTo(teams.name(teamB));
+                };
+                if (compared != 0) {
+                    return compared;
+                }
+            }
+            return 0;
+        };
+    }
+
+    /**
+     * @param limit The maximum number of teams to rank, or 0 for the whole table
+     * @return Team ids in ranking order; a bounded heap is used when only the top teams are needed
+     */
+    public int[] rankedTeamIds(int limit) {
+        if (limit > 0 && limit < teamCount()) {
+            return Rankings.top(teamCount(), limit, rankingOrder());
+        }
+        return Rankings.rankAll(teamCount(), rankingOrder());
+    }
+
+    /**
+     * @return The standings in ranking order
+     */
+    public List<TeamStanding> ranking() {
+        return ranking(0);
+    }
+
+    /**
+     * @param limit The maximum number of teams to return, or 0 for the whole table
+     * @return The best ranked teams' standings in ranking order
+     */
+    public List<TeamStanding> ranking(int limit) {
+        int[] ranked = rankedTeamIds(limit);
+        List<TeamStanding> ranking = new ArrayList<>(ranked.length);
+        for (int team : ranked) {
+            ranking.add(standing(team));
+        }
+        return ranking;
+    }
+
+    @Override
+    public StandingsTable newPartial() {
+        StandingsTable partial = new StandingsTable();
+        partial.tieBreakers = tieBreakers;
+        return partial;
+    }
+
+    @Override
+    public void merge(MergeableMatchSink partial) {
+        StandingsTable other = (StandingsTable) partial;
+        for (int otherId = 0; otherId < other.teamCount(); otherId++) {
+            int block = teamId(other.teamName(otherId)) << STRIDE_SHIFT;
+            int otherBlock = otherId << STRIDE_SHIFT;
+            for (int counter = 0; counter < COUNTERS; counter++) {
+                stats[block + counter] += other.stats[otherBlock + counter];
+            }
+        }
+        matchCount += other.matchCount;
+    }
+
+    /**
+     * Writes the counters in a compact binary form read back by {@link #readFrom(DataInput)}: the match
+     * count, the team count and, per team id, its UTF-8 name and counters. Tie-breakers are not written.
+     *
+     * @param out The output to write to
+     * @throws IOException If writing fails
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeLong(matchCount);
+        out.writeInt(teamCount());
+        for (int team = 0; team < teamCount(); team++) {
+            byte[] name = teams.name(team).getBytes(StandardCharsets.UTF_8);
+            out.writeInt(name.length);
+            out.write(name);
+            int block = team << STRIDE_SHIFT;
+            for (int counter = 0; counter < COUNTERS; counter++) {
+                out.writeInt(stats[block + counter]);
+            }
+        }
+    }
+
+    /**
+     * Reads a table written by {@link #writeTo(DataOutput)}; team ids are preserved.
+     *
+     * @param in The input to read from
+     * @return The table
+     * @throws IOException If reading fails or the data is not a valid table
+     */
+    public static StandingsTable readFrom(DataInput in) throws IOException {
+        StandingsTable table = new StandingsTable();
+        long matchCount = in.readLong();
+        int teamCount = in.readInt();
+        if (matchCount < 0 || teamCount < 0) {
+            throw new IOException("Corrupt standings");
+        }
+        for (int team = 0; team < teamCount; team++) {
+            int length = in.readInt();
+            if (length < 0) {
+                throw new IOException("Corrupt standings");
+            }
+            byte[] name = new byte[length];
+            in.readFully(name);
+            if (table.teamId(new String(name, StandardCharsets.UTF_8)) != team) {
+                throw new IOException("Corrupt standings: duplicate team");
+            }
+            int block = team << STRIDE_SHIFT;
+            for (int counter = 0; counter < COUNTERS; counter++) {
+                table.stats[block + counter] = in.readInt();
+            }
+        }
+        table.matchCount = matchCount;
+        return table;
+    }
+
+    /**
+     * @return A copy of the counters of every team in their packed layout, e.g. for a history snapshot
+     */
+    int[] counters() {
+        return Arrays.copyOf(stats, teamCount() << STRIDE_SHIFT);
+    }
+
+    /**
+     * Restores counters copied by {@link #counters()} into a table whose first teams were added in the
+     * same order as in the table they were copied from.
+     *
+     * @param counters The packed counters
+     * @param matchCount The number of matches they account for
+     */
+    void restore(int[] counters, long matchCount) {
+        System.arraycopy(counters, 0, stats, 0, counters.length);
+        this.matchCount = matchCount;
+    }
+
+    private void grow() {
+        capacity *= 2;
+        stats = Arrays.copyOf(stats, capacity << STRIDE_SHIFT);
+    }
+}
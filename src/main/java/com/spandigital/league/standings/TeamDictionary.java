@@ -0,0 +1,53 @@
+package com.spandigital.league.standings;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps team names to dense int ids (0, 1, 2, ...) in order of first sight, so per-team state can live
+ * in primitive arrays indexed by id. The first String instance seen for a name is kept and returned
+ * by {@link #name(int)}. Not thread-safe.
+ */
+public class TeamDictionary {
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private String[] names = new String[16];
+
+    /**
+     * Returns the id of a team, assigning the next free id if the team has not been seen before.
+     *
+     * @param name The team name
+     * @return The team id
+     */
+    public int idOf(String name) {
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+        int newId = ids.size();
+        if (newId == names.length) {
+            names = Arrays.copyOf(names, newId * 2);
+        }
+        names[newId] = name;
+        ids.put(name, newId);
+        return newId;
+    }
+
+    /**
+     * @param name The team name
+     * @return The team id, or -1 if the team has not been seen
+     */
+    public int find(String name) {
+        Integer id = ids.get(name);
+        return id != null ? id : -1;
+    }
+
+    public String name(int id) {
+        return names[id];
+    }
+
+    public int size() {
+        return ids.size();
+    }
+}
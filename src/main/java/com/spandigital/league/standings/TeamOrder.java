@@ -0,0 +1,14 @@
+package com.spandigital.league.standings;
+
+/**
+ * Compares two teams by id, so rankings can be computed over int[] ids without boxing
+ * or creating entry objects.
+ */
+@FunctionalInterface
+public interface TeamOrder {
+
+    /**
+     * @return A negative number if teamA ranks above teamB, zero if they are equal, positive otherwise
+     */
+    int compare(int teamA, int teamB);
+}
@@ -0,0 +1,12 @@
+package com.spandigital.league.standings;
+
+public record TeamStanding(String team, int points, int wins, int draws, int losses, int goalsFor, int goalsAgainst) {
+
+    public int played() {
+        return wins + draws + losses;
+    }
+
+    public int goalDifference() {
+        return goalsFor - goalsAgainst;
+    }
+}
@@ -0,0 +1,56 @@
+package com.spandigital.league.standings;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A criterion teams are ranked by. Rankings apply a list of criteria in order, each only deciding
+ * between teams the earlier ones left equal; higher points, goal difference and goals scored rank
+ * first, names in alphabetical order.
+ */
+public enum TieBreaker {
+    POINTS,
+    GOAL_DIFFERENCE,
+    GOALS_FOR,
+    NAME;
+
+    /** The order of the original table: points, then name. */
+    public static final List<TieBreaker> DEFAULT = List.of(POINTS, NAME);
+
+    /**
+     * Parses a comma-separated list like "points,goal-difference,goals-for,name". Names are
+     * case-insensitive and may use '-' or '_'. Team names are unique, so {@link #NAME} is appended
+     * when missing, making every ranking deterministic.
+     *
+     * @param criteria The comma-separated criteria
+     * @return The criteria in order
+     * @throws IllegalArgumentException If a criterion is unknown, repeated or none is given
+     */
+    public static List<TieBreaker> parse(String criteria) {
+        List<TieBreaker> tieBreakers = new ArrayList<>();
+        for (String criterion : criteria.split(",")) {
+            String name = criterion.trim().replace('-', '_').toUpperCase(Locale.ROOT);
+            if (name.isEmpty()) {
+                continue;
+            }
+            TieBreaker tieBreaker;
+            try {
+                tieBreaker = valueOf(name);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown tie-breaker " + criterion.trim());
+            }
+            if (tieBreakers.contains(tieBreaker)) {
+                throw new IllegalArgumentException("Repeated tie-breaker " + criterion.trim());
+            }
+            tieBreakers.add(tieBreaker);
+        }
+        if (tieBreakers.isEmpty()) {
+            throw new IllegalArgumentException("No tie-breaker given");
+        }
+        if (!tieBreakers.contains(NAME)) {
+            tieBreakers.add(NAME);
+        }
+        return List.copyOf(tieBreakers);
+    }
+}
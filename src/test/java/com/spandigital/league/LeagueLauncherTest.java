@@ -0,0 +1,231 @@
+package com.spandigital.league;
+
+import com.spandigital.league.config.LeagueSettings;
+import com.spandigital.league.config.SettingsConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.Banner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.MutablePropertySources;
+import org.springframework.core.env.PropertiesPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.env.SystemEnvironmentPropertySource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeagueLauncherTest {
+
+    private final ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+    private final PrintStream originalOut = System.out;
+
+    @BeforeEach
+    void setUp() {
+        System.setOut(new PrintStream(outContent));
+    }
+
+    @AfterEach
+    void restoreStreams() {
+        System.setOut(originalOut);
+    }
+
+    @Test
+    void main_BatchArgs_PrintsStandingsWithoutStartingSpring() throws Exception {
+        // Arrange
+        Path csvFile = Files.createTempFile("league", ".csv");
+        Files.write(csvFile, List.of("Lions 3, Snakes 3", "Tarantulas 1, FC Awesome 0"));
+
+        try {
+            // Act
+            LeagueLauncher.main(new String[] {"--input", csvFile.toString(), "--quiet"});
+        } finally {
+            Files.delete(csvFile);
+        }
+
+        // Assert
+        String output = outContent.toString();
+        assertFalse(output.contains("Spring Boot"));
+        assertTrue(output.contains("Processed 2 match results"));
+        assertTrue(output.indexOf("Tarantulas: 3 pts") < output.indexOf("Lions: 1 pts"));
+    }
+
+    @Test
+    void batch_UnwritableOutputOrMissingInput_ReportsOneLineAndFails(@TempDir Path directory) throws Exception {
+        // Arrange
+        Path csvFile = Files.write(directory.resolve("season.csv"), List.of("Lions 3, Snakes 3"));
+        String unwritable = directory.resolve("missing").resolve("standings.txt").toString();
+        ByteArrayOutputStream errContent = new ByteArrayOutputStream();
+        PrintStream originalErr = System.err;
+        System.setErr(new PrintStream(errContent));
+
+        int unwritableStatus;
+        int missingStatus;
+        try {
+            // Act
+            unwritableStatus = LeagueLauncher.batch(new String[] {"--input", csvFile.toString(), "--output", unwritable});
+            missingStatus = LeagueLauncher.batch(new String[] {"--input", directory.resolve("none.csv").toString()});
+        } finally {
+            System.setErr(originalErr);
+        }
+
+        // Assert
+        assertEquals(1, unwritableStatus);
+        assertEquals(1, missingStatus);
+        List<String> errors = errContent.toString().lines().toList();
+        assertEquals(2, errors.size(), errContent.toString());
+        assertTrue(errors.get(0).contains("standings.txt"));
+        assertTrue(errors.get(1).contains("none.csv"));
+    }
+
+    @Test
+    void settings_EnvironmentPropertiesAndArgs_OverridePackagedSettingsInSpringOrder() {
+        // Arrange
+        Map<String, String> environment = Map.of(
+                "LEAGUE_OUTPUT_TOP", "1",
+                "LEAGUE_OUTPUT_ECHO_MATCHES", "off",
+                "LEAGUE_CACHE_MAXENTRIES", "8",
+                "SEASON_SPILL", "500");
+        Properties systemProperties = new Properties();
+        systemProperties.setProperty("league.output.top", "2");
+        systemProperties.setProperty("league.spill.max-teams", "${SEASON_SPILL}");
+        String[] args = {"--input", "season.csv", "--league.output.top=3"};
+
+        // Act
+        LeagueSettings settings = LeagueLauncher.settings(args, environment, systemProperties);
+        LeagueSettings packaged = LeagueLauncher.settings(new String[0], Map.of(), new Properties());
+
+        // Assert
+        assertEquals(3, settings.getTop());
+        assertFalse(settings.isEchoMatches());
+        assertEquals(8, settings.getCacheMaxEntries());
+        assertEquals(500, settings.getSpillMaxTeams());
+        assertEquals(0, packaged.getTop());
+        assertTrue(packaged.isEchoMatches());
+    }
+
+    @Test
+    void settings_SameSourcesAsSpring_BindsWhatTheSpringContextBinds() throws Exception {
+        // Arrange - relaxed variable names, placeholders and each source overriding the one before
+        Map<String, String> environment = Map.of(
+                "LEAGUE_OUTPUT_TOP", "1",
+                "LEAGUE_OUTPUT_ECHOMATCHES", "off",
+                "LEAGUE_CACHE_MAX_ENTRIES", "8",
+                "LEAGUE_RANKING_TIE_BREAKERS", "points,goals-for,name",
+                "LEAGUE_HISTORY_SNAPSHOTINTERVAL", "64",
+                "SEASON_ROOT", "/data/season");
+        Properties systemProperties = new Properties();
+        systemProperties.setProperty("league.output.top", "2");
+        systemProperties.setProperty("league.spill.directory", "${SEASON_ROOT}/spill");
+        systemProperties.setProperty("league.spill.max-teams", "${SEASON_SPILL:500}");
+        String[] args = {"--input", "season.csv", "--league.output.top=3", "--league.output.full-table=yes"};
+
+        StandardEnvironment springEnvironment = new StandardEnvironment();
+        MutablePropertySources sources = springEnvironment.getPropertySources();
+        sources.replace(StandardEnvironment.SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME, new SystemEnvironmentPropertySource(
+                StandardEnvironment.SYSTEM_ENVIRONMENT_PROPERTY_SOURCE_NAME, Map.copyOf(environment)));
+        sources.replace(StandardEnvironment.SYSTEM_PROPERTIES_PROPERTY_SOURCE_NAME, new PropertiesPropertySource(
+                StandardEnvironment.SYSTEM_PROPERTIES_PROPERTY_SOURCE_NAME, systemProperties));
+        SpringApplication application = new SpringApplication(SettingsConfiguration.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        application.setBannerMode(Banner.Mode.OFF);
+        application.setLogStartupInfo(false);
+        application.setEnvironment(springEnvironment);
+
+        // Act
+        LeagueSettings launcher = LeagueLauncher.settings(args, environment, systemProperties);
+        LeagueSettings spring;
+        try (ConfigurableApplicationContext context = application.run(args)) {
+            spring = context.getBean(LeagueSettings.class);
+        }
+
+        // Assert
+        assertEquals(3, launcher.getTop());
+        assertEquals(describe(spring), describe(launcher));
+    }
+
+    // Every setting by its getter, e.g. "getTop=3"
+    private static List<String> describe(LeagueSettings settings) throws ReflectiveOperationException {
+        List<String> values = new ArrayList<>();
+        for (Method getter : LeagueSettings.class.getDeclaredMethods()) {
+            if (Modifier.isPublic(getter.getModifiers()) && !Modifier.isStatic(getter.getModifiers())
+                    && getter.getParameterCount() == 0) {
+                values.add(getter.getName() + "=" + getter.invoke(settings));
+            }
+        }
+        Collections.sort(values);
+        return values;
+    }
+
+    @Test
+    void main_BatchArgsWithLeagueSettings_AppliesThemWithoutStartingSpring() throws Exception {
+        // Arrange
+        Path csvFile = Files.createTempFile("league", ".csv");
+        Files.write(csvFile, List.of("Lions 3, Snakes 3", "Tarantulas 1, FC Awesome 0"));
+
+        try {
+            // Act
+            LeagueLauncher.main(new String[] {"--input", csvFile.toString(), "--league.output.top=1",
+                    "--league.output.echo-matches=no"});
+        } finally {
+            Files.delete(csvFile);
+        }
+
+        // Assert
+        String output = outContent.toString();
+        assertFalse(output.contains("Spring Boot"));
+        assertTrue(output.contains("Tarantulas: 3 pts"));
+        assertFalse(output.contains("Lions"), "neither echoed nor ranked beyond the top 1");
+    }
+
+    @Test
+    void needsSpring_LeagueSettingsAndUnrelatedVariables_False(@TempDir Path directory) {
+        // Arrange
+        Properties league = new Properties();
+        league.setProperty("league.output.top", "5");
+        Map<String, String> environment = Map.of("LEAGUE_OUTPUT_TOP", "5", "LEAGUE_HOME", "/opt/league");
+        String[] args = {"--input", "season.csv", "--league.output.top=5"};
+
+        // Act & Assert
+        assertFalse(LeagueLauncher.needsSpring(args, environment, league, directory));
+    }
+
+    @Test
+    void needsSpring_ConfigurationOnlySpringResolves_True(@TempDir Path directory) throws Exception {
+        // Arrange
+        String[] batch = {"--input", "season.csv"};
+        Properties profile = new Properties();
+        profile.setProperty("spring.profiles.active", "season");
+        Path external = Files.createDirectories(directory.resolve("external"));
+        Files.createDirectories(external.resolve("config"));
+        Files.writeString(external.resolve("config").resolve("application.properties"), "league.output.top=5");
+        Path nested = Files.createDirectories(directory.resolve("nested"));
+        Files.createDirectories(nested.resolve("config").resolve("season"));
+        Files.writeString(nested.resolve("config").resolve("season").resolve("application.yml"), "league: {}");
+
+        // Act & Assert
+        assertTrue(LeagueLauncher.needsSpring(batch, Map.of(), profile, directory));
+        assertTrue(LeagueLauncher.needsSpring(batch, Map.of("SPRING_PROFILES_ACTIVE", "season"), new Properties(), directory));
+        assertTrue(LeagueLauncher.needsSpring(batch, Map.of("SPRING_APPLICATION_JSON", "{}"), new Properties(), directory));
+        assertTrue(LeagueLauncher.needsSpring(batch, Map.of(), new Properties(), external));
+        assertTrue(LeagueLauncher.needsSpring(batch, Map.of(), new Properties(), nested));
+        assertTrue(LeagueLauncher.needsSpring(new String[] {"--input", "season.csv", "--server.port=8081"},
+                Map.of(), new Properties(), directory));
+        assertTrue(LeagueLauncher.needsSpring(new String[] {"--input", "season.csv", "--league.metrics.enabled"},
+                Map.of(), new Properties(), directory));
+    }
+}
@@ -0,0 +1,91 @@
+package com.spandigital.league.benchmark;
+
+import com.spandigital.league.processor.ArchiveMatchProcessor;
+import com.spandigital.league.processor.CSVFileMatchProcessor;
+import com.spandigital.league.processor.MappedCSVFileMatchProcessor;
+import com.spandigital.league.standings.StandingsTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end ingestion of a generated league into standings: the sequential channel reader and the
+ * memory-mapped parallel reader on the CSV file, and reloading the same league from a binary match
+ * archive. Files are generated once under target/benchmark-data; the 100M match league needs about
+ * 2.5 GB of disk as CSV and 1.6 GB as an archive, about 4 GB in all. Each invocation reads the whole
+ * file, so this is a single-shot benchmark. Run via {@link #main(String[])} or the benchmark profile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CSVIngestionBenchmark {
+
+    @Param({"1000", "1000000", "100000000"})
+    private long matches;
+
+    @Param({"20", "1000000"})
+    private int teams;
+
+    private String file;
+    private String archive;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = LeagueGenerator.csvFile(matches, teams).toString();
+        archive = LeagueGenerator.archiveFile(matches, teams).toString();
+    }
+
+    @Benchmark
+    public StandingsTable sequential() {
+        StandingsTable standings = new StandingsTable();
+        CSVFileMatchProcessor.builder()
+                             .sink(standings)
+                             .build()
+                             .processFile(file);
+        return standings;
+    }
+
+    @Benchmark
+    public StandingsTable memoryMapped() {
+        StandingsTable standings = new StandingsTable();
+        MappedCSVFileMatchProcessor.builder()
+                                   .sink(standings)
+                                   .build()
+                                   .processFile(file);
+        return standings;
+    }
+
+    @Benchmark
+    public StandingsTable archiveReload() {
+        StandingsTable standings = new StandingsTable();
+        ArchiveMatchProcessor.builder()
+                             .sink(standings)
+                             .build()
+                             .processFile(archive);
+        return standings;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(CSVIngestionBenchmark.class.getSimpleName())
+                                       .addProfiler(GCProfiler.class)
+                                       .build()).run();
+    }
+}
@@ -0,0 +1,168 @@
+package com.spandigital.league.benchmark;
+
+import com.spandigital.league.archive.MatchArchiveWriter;
+import com.spandigital.league.match.dto.Match;
+import com.spandigital.league.match.dto.MatchResult;
+import com.spandigital.league.match.dto.TeamScore;
+import com.spandigital.league.standings.MatchSink;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic leagues for the benchmarks: the same (matches, teams, seed) always yields
+ * the same results. In-memory generators are meant for up to a few million matches; larger leagues
+ * are streamed straight to a CSV file so they never have to fit in memory.
+ */
+public final class LeagueGenerator {
+
+    public static final long SEED = 42;
+    private static final int MAX_SCORE = 5;
+    private static final Path DATA_DIRECTORY = Path.of("target", "benchmark-data");
+
+    private LeagueGenerator() {
+    }
+
+    /**
+     * @param teams The number of teams
+     * @return Distinct team names, some containing spaces and digits like real club names
+     */
+    public static String[] teamNames(int teams) {
+        String[] names = new String[teams];
+        for (int i = 0; i < teams; i++) {
+            names[i] = (i % 3 == 0 ? "FC Team" : "Team") + i;
+        }
+        return names;
+    }
+
+    /**
+     * @param matches The number of results
+     * @param teams The number of teams drawn from
+     * @return Random results between random teams, scores 0-4
+     */
+    public static List<MatchResult> results(int matches, int teams) {
+        List<MatchResult> results = new ArrayList<>(matches);
+        generate(matches, teams, (teamA, scoreA, teamB, scoreB) -> results.add(
+                new MatchResult(new Match(new TeamScore(teamA, scoreA), new TeamScore(teamB, scoreB)))));
+        return results;
+    }
+
+    /**
+     * Streams generated results into a sink without materialising them.
+     *
+     * @param matches The number of results
+     * @param teams The number of teams drawn from
+     * @param sink The sink receiving every result
+     */
+    public static void generate(long matches, int teams, MatchSink sink) {
+        String[] names = teamNames(teams);
+        SplittableRandom random = new SplittableRandom(SEED);
+        for (long i = 0; i < matches; i++) {
+            sink.accept(names[random.nextInt(teams)], random.nextInt(MAX_SCORE),
+                    names[random.nextInt(teams)], random.nextInt(MAX_SCORE));
+        }
+    }
+
+    /**
+     * @param matches The number of lines
+     * @param teams The number of teams drawn from
+     * @return Input lines in the "TeamA 3, TeamB 1" format
+     */
+    public static String[] lines(int matches, int teams) {
+        String[] names = teamNames(teams);
+        SplittableRandom random = new SplittableRandom(SEED);
+        String[] lines = new String[matches];
+        for (int i = 0; i < matches; i++) {
+            lines[i] = names[random.nextInt(teams)] + " " + random.nextInt(MAX_SCORE) + ", "
+                    + names[random.nextInt(teams)] + " " + random.nextInt(MAX_SCORE);
+        }
+        return lines;
+    }
+
+    /**
+     * Returns a CSV file of generated results under target/benchmark-data, writing it on first use.
+     * Files are streamed, so 100M+ match leagues only cost disk space (roughly 25 bytes per match).
+     *
+     * @param matches The number of lines
+     * @param teams The number of teams drawn from
+     * @return The path of the CSV file
+     * @throws IOException If the file cannot be written
+     */
+    public static Path csvFile(long matches, int teams) throws IOException {
+        Path file = DATA_DIRECTORY.resolve("league-" + matches + "-" + teams + ".csv");
+        if (Files.exists(file)) {
+            return file;
+        }
+        Files.createDirectories(DATA_DIRECTORY);
+        Path partial = Files.createTempFile(DATA_DIRECTORY, "league-", ".csv.tmp");
+        writeCsv(partial, matches, teams);
+        // Only complete files get the final name, so an interrupted run is regenerated next time
+        return Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Returns a binary match archive of the same results as {@link #csvFile(long, int)}, writing it on first use.
+     * Archives take 16 bytes per match.
+     *
+     * @param matches The number of matches
+     * @param teams The number of teams drawn from
+     * @return The path of the archive
+     * @throws IOException If the archive cannot be written
+     */
+    public static Path archiveFile(long matches, int teams) throws IOException {
+        Path file = DATA_DIRECTORY.resolve("league-" + matches + "-" + teams + ".lga");
+        if (Files.exists(file)) {
+            return file;
+        }
+        Files.createDirectories(DATA_DIRECTORY);
+        Path partial = Files.createTempFile(DATA_DIRECTORY, "league-", ".lga.tmp");
+        try {
+            // The writer completes its archive on close even when generating failed, so only a run that
+            // got through gives the archive its final name
+            try (MatchArchiveWriter writer = MatchArchiveWriter.create(partial)) {
+                generate(matches, teams, writer);
+            }
+            return Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(partial);
+        }
+    }
+
+    /**
+     * Streams generated results to a CSV file.
+     *
+     * @param file The file to (over)write
+     * @param matches The number of lines
+     * @param teams The number of teams drawn from
+     * @throws IOException If the file cannot be written
+     */
+    public static void writeCsv(Path file, long matches, int teams) throws IOException {
+        byte[][] names = new byte[teams][];
+        String[] teamNames = teamNames(teams);
+        for (int i = 0; i < teams; i++) {
+            names[i] = teamNames[i].getBytes(StandardCharsets.UTF_8);
+        }
+        SplittableRandom random = new SplittableRandom(SEED);
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file), 1 << 20)) {
+            for (long i = 0; i < matches; i++) {
+                out.write(names[random.nextInt(teams)]);
+                out.write(' ');
+                out.write('0' + random.nextInt(MAX_SCORE));
+                out.write(',');
+                out.write(' ');
+                out.write(names[random.nextInt(teams)]);
+                out.write(' ');
+                out.write('0' + random.nextInt(MAX_SCORE));
+                out.write('\n');
+            }
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.spandigital.league.benchmark;
+
+import com.spandigital.league.match.MatchServiceImpl;
+import com.spandigital.league.match.MatchStore;
+import com.spandigital.league.match.dto.MatchResult;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link MatchServiceImpl#processResults(List)} over generated leagues, with and without the per-match
+ * echo, for results held as MatchResult records or in a {@link MatchStore}. Output goes to a discarding
+ * stream so only the aggregation, ranking and encoding are measured.
+ * Run via {@link #main(String[])} or the benchmark profile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProcessResultsBenchmark {
+
+    @Param({"1000", "1000000"})
+    private int matches;
+
+    @Param({"20", "1000000"})
+    private int teams;
+
+    @Param({"false", "true"})
+    private boolean echoMatches;
+
+    @Param({"false", "true"})
+    private boolean store;
+
+    private List<MatchResult> results;
+    private MatchServiceImpl service;
+    private PrintStream stdout;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (store) {
+            MatchStore matchStore = new MatchStore();
+            LeagueGenerator.generate(matches, teams, matchStore);
+            results = matchStore;
+        } else {
+            results = LeagueGenerator.results(matches, teams);
+        }
+        service = new MatchServiceImpl();
+        service.getSettings().setEchoMatches(echoMatches);
+        stdout = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setOut(stdout);
+    }
+
+    @Benchmark
+    public void processResults() {
+        service.processResults(results);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ProcessResultsBenchmark.class.getSimpleName())
+                                       .addProfiler(GCProfiler.class)
+                                       .build()).run();
+    }
+}
@@ -0,0 +1,85 @@
+package com.spandigital.league.benchmark;
+
+import com.spandigital.league.LeagueApplication;
+import com.spandigital.league.LeagueLauncher;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to first standings for a small batch file, measured as the wall time of a fresh JVM: the
+ * no-Spring {@link LeagueLauncher} path, the lazily initialised Spring context and the same context
+ * with lazy initialisation switched off. Each invocation starts a new process, so this is a single-shot
+ * benchmark. The packaged CDS/AOT build is measured the same way from the command line, see the README.
+ * Run via {@link #main(String[])} or the benchmark profile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StartupBenchmark {
+
+    private static final int MATCHES = 1_000;
+    private static final int TEAMS = 20;
+
+    private String input;
+
+    @Setup
+    public void setUp() throws IOException {
+        input = LeagueGenerator.csvFile(MATCHES, TEAMS).toString();
+    }
+
+    @Benchmark
+    public int launcher() throws Exception {
+        return run(LeagueLauncher.class);
+    }
+
+    @Benchmark
+    public int springLazy() throws Exception {
+        return run(LeagueApplication.class);
+    }
+
+    @Benchmark
+    public int springEager() throws Exception {
+        return run(LeagueApplication.class, "--spring.main.lazy-initialization=false");
+    }
+
+    private int run(Class<?> mainClass, String... extraArgs) throws Exception {
+        List<String> command = new ArrayList<>(List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "-cp", System.getProperty("java.class.path"),
+                mainClass.getName(), "--input", input, "--quiet"));
+        command.addAll(List.of(extraArgs));
+        Process process = new ProcessBuilder(command).redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                                                     .redirectError(ProcessBuilder.Redirect.DISCARD)
+                                                     .start();
+        int exitCode = process.waitFor();
+        if (exitCode != 0) {
+            throw new IllegalStateException(mainClass.getSimpleName() + " exited with " + exitCode);
+        }
+        return exitCode;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(StartupBenchmark.class.getSimpleName())
+                                       .build()).run();
+    }
+}
@@ -0,0 +1,98 @@
+package com.spandigital.league.benchmark;
+
+import com.spandigital.league.processor.PipelinedStdInMatchProcessor;
+import com.spandigital.league.processor.StdInMatchProcessor;
+import com.spandigital.league.standings.StandingsTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A generated result feed piped through standard input into standings: the line-by-line
+ * {@link StdInMatchProcessor} against the {@link PipelinedStdInMatchProcessor} with its parser pool.
+ * Run via {@link #main(String[])} or the benchmark profile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StdInIngestionBenchmark {
+
+    @Param({"1000000"})
+    private int matches;
+
+    @Param({"20", "1000000"})
+    private int teams;
+
+    private byte[] feed;
+    private InputStream stdin;
+    private PrintStream stdout;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        feed = (String.join("\n", LeagueGenerator.lines(matches, teams)) + "\ndone\n").getBytes(StandardCharsets.UTF_8);
+        stdin = System.in;
+        stdout = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+    }
+
+    @Setup(Level.Invocation)
+    public void rewind() {
+        System.setIn(new ByteArrayInputStream(feed));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.setIn(stdin);
+        System.setOut(stdout);
+    }
+
+    @Benchmark
+    public StandingsTable lineByLine() {
+        StandingsTable standings = new StandingsTable();
+        StdInMatchProcessor.builder()
+                           .sink(standings)
+                           .build()
+                           .processInput();
+        return standings;
+    }
+
+    @Benchmark
+    public StandingsTable pipelined() {
+        StandingsTable standings = new StandingsTable();
+        PipelinedStdInMatchProcessor.builder()
+                                    .sink(standings)
+                                    .build()
+                                    .processInput();
+        return standings;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(StdInIngestionBenchmark.class.getSimpleName())
+                                       .addProfiler(GCProfiler.class)
+                                       .build()).run();
+    }
+}
@@ -0,0 +1,166 @@
+package com.spandigital.league.cache;
+
+import com.spandigital.league.standings.StandingsTable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StandingsCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void get_AfterPut_ReturnsStoredStandings() throws IOException {
+        // Arrange
+        Path input = Files.write(tempDir.resolve("season.csv"), List.of("Lions 3, Snakes 3"));
+        StandingsCache cache = new StandingsCache(tempDir.resolve("cache"), 0);
+        StandingsCache.Key key = cache.key(List.of(input));
+        assertNull(cache.get(key));
+
+        // Act
+        boolean stored = cache.put(key, standings("Lions", 3, "Snakes", 3));
+        StandingsTable cached = cache.get(cache.key(List.of(input)));
+
+        // Assert
+        assertTrue(stored);
+        assertNotNull(cached);
+        assertEquals(1, cached.matchCount());
+        assertEquals(1, cached.points("Lions"));
+        assertEquals(1, cached.points("Snakes"));
+    }
+
+    @Test
+    void get_TouchedFileWithSameContent_HitsByContentHash() throws IOException {
+        // Arrange
+        Path input = Files.write(tempDir.resolve("season.csv"), List.of("Lions 3, Snakes 3"));
+        StandingsCache cache = new StandingsCache(tempDir.resolve("cache"), 0);
+        cache.put(cache.key(List.of(input)), standings("Lions", 3, "Snakes", 3));
+        Files.setLastModifiedTime(input, FileTime.fromMillis(Files.getLastModifiedTime(input).toMillis() + 60_000));
+
+        // Act
+        StandingsTable cached = cache.get(cache.key(List.of(input)));
+
+        // Assert
+        assertNotNull(cached);
+        assertEquals(1, cached.matchCount());
+    }
+
+    @Test
+    void get_CopiedFileWithSameContent_HitsByContentHash() throws IOException {
+        // Arrange
+        Path input = Files.write(tempDir.resolve("season.csv"), List.of("Lions 3, Snakes 3"));
+        StandingsCache cache = new StandingsCache(tempDir.resolve("cache"), 0);
+        cache.put(cache.key(List.of(input)), standings("Lions", 3, "Snakes", 3));
+        Path copy = Files.copy(input, tempDir.resolve("copy.csv"));
+
+        // Act
+        StandingsTable cached = cache.get(cache.key(List.of(copy)));
+
+        // Assert
+        assertNotNull(cached);
+        assertEquals(1, cached.matchCount());
+    }
+
+    @Test
+    void put_AfterMissOnNewContents_StoresUnderHashComputedWhileReading() throws IOException {
+        // Arrange - no entry has files of these sizes, so the miss does not hash before returning
+        Path input = Files.write(tempDir.resolve("season.csv"), List.of("Lions 3, Snakes 3"));
+        Path cacheDirectory = tempDir.resolve("cache");
+        StandingsCache cache = new StandingsCache(cacheDirectory, 0);
+        cache.put(cache.key(List.of(input)), standings("Lions", 3, "Snakes", 3));
+        Path other = Files.write(tempDir.resolve("other.csv"), List.of("Tarantulas 1, FC Awesome 0"));
+        StandingsCache.Key key = cache.key(List.of(other));
+
+        // Act
+        StandingsTable missed = cache.get(key);
+        boolean stored = cache.put(key, standings("Tarantulas", 1, "FC Awesome", 0));
+        Files.setLastModifiedTime(other, FileTime.fromMillis(Files.getLastModifiedTime(other).toMillis() + 60_000));
+        StandingsTable cached = cache.get(cache.key(List.of(other)));
+
+        // Assert
+        assertNull(missed);
+        assertTrue(stored);
+        assertNotNull(cached);
+        assertEquals(3, cached.points("Tarantulas"));
+    }
+
+    @Test
+    void get_ChangedContent_Misses() throws IOException {
+        // Arrange
+        Path input = Files.write(tempDir.resolve("season.csv"), List.of("Lions 3, Snakes 3"));
+        StandingsCache cache = new StandingsCache(tempDir.resolve("cache"), 0);
+        cache.put(cache.key(List.of(input)), standings("Lions", 3, "Snakes", 3));
+        Files.write(input, List.of("Lions 3, Snakes 3", "Tarantulas 1, FC Awesome 0"));
+
+        // Act
+        StandingsTable cached = cache.get(cache.key(List.of(input)));
+
+        // Assert
+        assertNull(cached);
+    }
+
+    @Test
+    void put_FileChangedAfterKey_StoresNothing() throws IOException {
+        // Arrange
+        Path input = Files.write(tempDir.resolve("season.csv"), List.of("Lions 3, Snakes 3"));
+        StandingsCache cache = new StandingsCache(tempDir.resolve("cache"), 0);
+        StandingsCache.Key key = cache.key(List.of(input));
+        cache.get(key);
+        Files.write(input, List.of("Tarantulas 1, FC Awesome 0"));
+
+        // Act
+        boolean stored = cache.put(key, standings("Lions", 3, "Snakes", 3));
+
+        // Assert
+        assertFalse(stored);
+        assertNull(cache.get(cache.key(List.of(input))));
+    }
+
+    @Test
+    void put_MoreThanMaxEntries_EvictsLeastRecentlyUsed() throws IOException {
+        // Arrange
+        Path cacheDirectory = tempDir.resolve("cache");
+        StandingsCache cache = new StandingsCache(cacheDirectory, 2);
+        Path first = Files.write(tempDir.resolve("first.csv"), List.of("Lions 3, Snakes 3"));
+        Path second = Files.write(tempDir.resolve("second.csv"), List.of("Lions 1, FC Awesome 1"));
+        Path third = Files.write(tempDir.resolve("third.csv"), List.of("Tarantulas 1, FC Awesome 0"));
+        cache.put(cache.key(List.of(first)), standings("Lions", 3, "Snakes", 3));
+        cache.put(cache.key(List.of(second)), standings("Lions", 1, "FC Awesome", 1));
+        ageEntries(cacheDirectory);
+        assertNotNull(cache.get(cache.key(List.of(first))));
+
+        // Act
+        cache.put(cache.key(List.of(third)), standings("Tarantulas", 1, "FC Awesome", 0));
+
+        // Assert
+        assertNotNull(cache.get(cache.key(List.of(first))));
+        assertNull(cache.get(cache.key(List.of(second))));
+        assertNotNull(cache.get(cache.key(List.of(third))));
+        try (var files = Files.list(cacheDirectory)) {
+            assertEquals(6, files.count(), "an entry, a key file and a sizes file for each of two inputs");
+        }
+    }
+
+    private static StandingsTable standings(String teamA, int scoreA, String teamB, int scoreB) {
+        StandingsTable table = new StandingsTable();
+        table.accept(teamA, scoreA, teamB, scoreB);
+        return table;
+    }
+
+    // Moves the last use of every entry a minute back, so later uses are more recent whatever the clock resolution
+    private static void ageEntries(Path cacheDirectory) throws IOException {
+        try (var files = Files.list(cacheDirectory)) {
+            for (Path file : files.toList()) {
+                Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() - 60_000));
+            }
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package com.spandigital.league.cli;
+
+import com.spandigital.league.standings.TieBreaker;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BatchOptionsTest {
+
+    @Test
+    void parse_AllOptions_ReadsEveryValue() {
+        // Act
+        BatchOptions options = BatchOptions.parse("--input", "a.csv", "--input=b.csv", "--format", "csv",
+                "--output=standings.txt", "--archive", "season.lga", "--parallelism", "4", "--top=10", "--tie-breakers", "points,goal-difference", "--full-table",
+                "--quiet", "--metrics", "--cache", "--checkpoint", "--serve", "8080", "--leagues", "--round=3",
+                "--positions", "--spill", "500000");
+
+        // Assert
+        assertEquals(List.of("a.csv", "b.csv"), options.inputs());
+        assertEquals(BatchOptions.InputFormat.CSV, options.format());
+        assertEquals(Path.of("standings.txt"), options.output());
+        assertEquals(Path.of("season.lga"), options.archive());
+        assertEquals(4, options.parallelism());
+        assertEquals(10, options.top());
+        assertEquals(List.of(TieBreaker.POINTS, TieBreaker.GOAL_DIFFERENCE, TieBreaker.NAME), options.tieBreakers());
+        assertTrue(options.fullTable());
+        assertTrue(options.quiet());
+        assertTrue(options.metrics());
+        assertTrue(options.cache());
+        assertTrue(options.checkpoint());
+        assertEquals(8080, options.serve());
+        assertTrue(options.leagues());
+        assertEquals(3, options.round());
+        assertTrue(options.positions());
+        assertEquals(500000, options.spill());
+    }
+
+    @Test
+    void parse_OnlyInput_UsesDefaults() {
+        // Act
+        BatchOptions options = BatchOptions.parse("--input", "matches.csv");
+
+        // Assert
+        assertEquals(List.of("matches.csv"), options.inputs());
+        assertEquals(BatchOptions.InputFormat.MAPPED, options.format());
+        assertNull(options.output());
+        assertNull(options.archive());
+        assertEquals(0, options.parallelism());
+        assertNull(options.top());
+        assertNull(options.tieBreakers());
+        assertFalse(options.fullTable());
+        assertFalse(options.quiet());
+        assertFalse(options.metrics());
+        assertFalse(options.cache());
+        assertFalse(options.checkpoint());
+        assertNull(options.serve());
+        assertFalse(options.leagues());
+        assertNull(options.round());
+        assertFalse(options.positions());
+        assertNull(options.spill());
+    }
+
+    @Test
+    void parse_SpringProperties_AreIgnored() {
+        // Act
+        BatchOptions options = BatchOptions.parse("--league.output.top=5", "--input=matches.csv");
+
+        // Assert
+        assertEquals(List.of("matches.csv"), options.inputs());
+        assertNull(options.top());
+    }
+
+    @Test
+    void parse_InvalidArguments_ThrowsIllegalArgumentException() {
+        // Assert
+        assertThrows(IllegalArgumentException.class, () -> BatchOptions.parse("--format", "mapped"));
+        assertThrows(IllegalArgumentException.class, () -> BatchOptions.parse("--input"));
+        assertThrows(IllegalArgumentException.class, () -> BatchOptions.parse("--input=a.csv", "--format=xml"));
+        assertThrows(IllegalArgumentException.class, () -> BatchOptions.parse("--input=a.csv", "--top=-1"));
+        assertThrows(IllegalArgumentException.class, () -> BatchOptions.parse("--input=a.csv", "--verbose=1"));
+        assertThrows(IllegalArgumentException.class, () -> BatchOptions.parse("--input=a.csv", "--tie-breakers=wins"));
+    }
+
+    @Test
+    void parse_PositionalArgument_ThrowsNamingIt() {
+        // Act - a shell-expanded --input data/*.csv
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> BatchOptions.parse("--input", "a.csv", "b.csv", "c.csv"));
+
+        // Assert
+        assertTrue(e.getMessage().startsWith("Unexpected argument b.csv."));
+    }
+
+    @Test
+    void parse_FlagValues_ParsedOrRejected() {
+        // Act
+        BatchOptions options = BatchOptions.parse("--input=a.csv", "--quiet=false", "--cache=TRUE", "--metrics");
+
+        // Assert
+        assertFalse(options.quiet());
+        assertTrue(options.cache());
+        assertTrue(options.metrics());
+        assertThrows(IllegalArgumentException.class, () -> BatchOptions.parse("--input=a.csv", "--cache=no"));
+        assertThrows(IllegalArgumentException.class, () -> BatchOptions.parse("--input=a.csv", "--quiet="));
+    }
+
+    @Test
+    void isBatch_DetectsInputOption() {
+        // Assert
+        assertTrue(BatchOptions.isBatch("--input", "a.csv"));
+        assertTrue(BatchOptions.isBatch("--quiet", "--input=a.csv"));
+        assertFalse(BatchOptions.isBatch());
+        assertFalse(BatchOptions.isBatch("--league.output.top=5"));
+    }
+
+    @Test
+    void validate_IncompatibleOptions_ThrowsNamingBoth() {
+        // Arrange
+        List<List<String>> incompatible = List.of(
+                List.of("--checkpoint", "--archive", "season.lga"),
+                List.of("--checkpoint", "--round", "1"),
+                List.of("--checkpoint", "--positions"),
+                List.of("--checkpoint", "--format", "archive"),
+                List.of("--leagues", "--archive", "season.lga"),
+                List.of("--leagues", "--cache"),
+                List.of("--leagues", "--serve", "0"),
+                List.of("--leagues", "--spill", "5"),
+                List.of("--spill", "5", "--positions"),
+                List.of("--spill", "5", "--cache"),
+                List.of("--spill", "5", "--format", "archive"),
+                List.of("--cache", "--archive", "season.lga"),
+                List.of("--cache", "--round", "1"));
+
+        for (List<String> args : incompatible) {
+            List<String> batch = new ArrayList<>(List.of("--input", "a.csv"));
+            batch.addAll(args);
+            BatchOptions options = BatchOptions.parse(batch.toArray(String[]::new));
+
+            // Act & Assert
+            String message = assertThrows(IllegalArgumentException.class, options::validate, args.toString())
+                    .getMessage();
+            assertTrue(message.contains(args.get(0)), message);
+        }
+    }
+
+    @Test
+    void validate_DirectoryInput_RejectsArchiveFormatAndCheckpoints(@TempDir Path directory) {
+        // Arrange
+        BatchOptions archive = BatchOptions.parse("--input", directory.toString(), "--format", "archive");
+        BatchOptions checkpoint = BatchOptions.parse("--input", directory.toString(), "--checkpoint");
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, archive::validate);
+        assertThrows(IllegalArgumentException.class, checkpoint::validate);
+        assertDoesNotThrow(BatchOptions.parse("--input", directory.toString(), "--leagues")::validate);
+    }
+
+    @Test
+    void validate_FileNamedLikeAGlob_AllowsCheckpoints(@TempDir Path directory) throws Exception {
+        // Arrange
+        Path literal = Files.write(directory.resolve("results[2024].csv"), List.of("Lions 3, Snakes 3"));
+
+        // Act & Assert
+        assertDoesNotThrow(BatchOptions.parse("--input", literal.toString(), "--checkpoint")::validate);
+        assertThrows(IllegalArgumentException.class,
+                BatchOptions.parse("--input", directory.resolve("*.csv").toString(), "--checkpoint")::validate);
+    }
+
+    @Test
+    void validate_CompatibleOptions_DoesNotThrow() {
+        // Act & Assert
+        assertDoesNotThrow(BatchOptions.parse("--input", "a.csv", "--checkpoint", "--cache", "--serve", "0")::validate);
+        assertDoesNotThrow(BatchOptions.parse("--input", "a.csv", "--leagues", "--spill", "0", "--top", "3")::validate);
+        assertDoesNotThrow(BatchOptions.parse("--input", "a.csv", "--spill", "5", "--format", "csv",
+                "--full-table")::validate);
+        assertDoesNotThrow(BatchOptions.parse("--input", "a.csv", "--round", "2", "--positions",
+                "--archive", "season.lga")::validate);
+    }
+}
@@ -0,0 +1,169 @@
+package com.spandigital.league.config;
+
+import com.spandigital.league.standings.TieBreaker;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.type.classreading.SimpleMetadataReaderFactory;
+
+import java.lang.reflect.AnnotatedElement;
+import java.lang.reflect.Executable;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeagueSettingsTest {
+
+    private static final Pattern LEAGUE_PLACEHOLDER = Pattern.compile("\\$\\{(league\\.[^:}]+)");
+
+    @Test
+    void bind_SpringConversions_ConvertsLikeValue() {
+        // Arrange
+        Properties properties = new Properties();
+        properties.setProperty("league.output.echo-matches", "off");
+        properties.setProperty("league.output.full-table", "yes");
+        properties.setProperty("league.metrics.enabled", "1");
+        properties.setProperty("league.cache.enabled", "on");
+        properties.setProperty("league.output.top", " 3 ");
+
+        // Act
+        LeagueSettings settings = LeagueSettings.bind(properties);
+
+        // Assert
+        assertFalse(settings.isEchoMatches());
+        assertTrue(settings.isFullTable());
+        assertTrue(settings.isMetricsEnabled());
+        assertTrue(settings.isCacheEnabled());
+        assertEquals(3, settings.getTop());
+    }
+
+    @Test
+    void bind_Placeholders_ResolvesAgainstProperties() {
+        // Arrange
+        Properties properties = new Properties();
+        properties.setProperty("SEASON_TOP", "4");
+        properties.setProperty("league.output.top", "${SEASON_TOP}");
+        properties.setProperty("league.spill.max-teams", "${SEASON_SPILL:1000}");
+        properties.setProperty("league.spill.directory", "${java.io.tmpdir:/tmp}/spill");
+        properties.setProperty("java.io.tmpdir", "/data");
+
+        // Act
+        LeagueSettings settings = LeagueSettings.bind(properties);
+
+        // Assert
+        assertEquals(4, settings.getTop());
+        assertEquals(1000, settings.getSpillMaxTeams());
+        assertEquals(Path.of("/data/spill"), settings.getSpillDirectory());
+    }
+
+    @Test
+    void bind_BlankValues_KeepDefaults() {
+        // Arrange
+        Properties properties = new Properties();
+        properties.setProperty("league.parallel-threshold", "");
+        properties.setProperty("league.spill.directory", " ");
+
+        // Act
+        LeagueSettings settings = LeagueSettings.bind(properties);
+
+        // Assert
+        assertEquals(LeagueSettings.DEFAULT_PARALLEL_THRESHOLD, settings.getParallelThreshold());
+        assertNull(settings.getSpillDirectory());
+        assertEquals(TieBreaker.DEFAULT, settings.getTieBreakers());
+    }
+
+    @Test
+    void bind_InvalidValues_ThrowsNamingTheSetting() {
+        // Arrange
+        Properties number = new Properties();
+        number.setProperty("league.output.top", "five");
+        Properties ranking = new Properties();
+        ranking.setProperty("league.ranking.tie-breakers", "points,height");
+        Properties unresolved = new Properties();
+        unresolved.setProperty("league.output.top", "${UNSET_TOP}");
+
+        // Act & Assert
+        assertTrue(assertThrows(IllegalArgumentException.class, () -> LeagueSettings.bind(number))
+                .getMessage().contains("league.output.top"));
+        assertTrue(assertThrows(IllegalArgumentException.class, () -> LeagueSettings.bind(ranking))
+                .getMessage().contains("league.ranking.tie-breakers"));
+        assertThrows(IllegalArgumentException.class, () -> LeagueSettings.bind(unresolved));
+    }
+
+    @Test
+    void bind_OutOfRangeNumbers_ThrowsNamingTheSetting() {
+        // Arrange
+        List<String> invalid = List.of("league.output.top=-1", "league.history.snapshot-interval=0",
+                "league.cache.max-entries=-1", "league.spill.max-teams=-5");
+
+        for (String setting : invalid) {
+            Properties properties = new Properties();
+            String name = setting.substring(0, setting.indexOf('='));
+            properties.setProperty(name, setting.substring(setting.indexOf('=') + 1));
+
+            // Act
+            IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> LeagueSettings.bind(properties));
+
+            // Assert
+            assertTrue(e.getMessage().startsWith("Invalid value for " + name + ": "), e.getMessage());
+        }
+    }
+
+    @Test
+    void names_PackagedProperties_DeclaresEverySetting() {
+        // Arrange
+        Properties packaged = LeagueSettings.packagedProperties();
+
+        // Act
+        List<String> undeclared = packaged.stringPropertyNames().stream()
+                .filter(name -> name.startsWith("league.") && !LeagueSettings.names().contains(name))
+                .toList();
+        List<String> undocumented = LeagueSettings.names().stream()
+                .filter(name -> !packaged.containsKey(name))
+                .toList();
+
+        // Assert
+        assertEquals(List.of(), undeclared, "league.* properties LeagueSettings does not bind");
+        assertEquals(List.of(), undocumented, "settings without a default in application.properties");
+    }
+
+    @Test
+    void names_ValueAnnotations_DeclareEveryLeagueKey() throws Exception {
+        // Arrange
+        var resolver = new PathMatchingResourcePatternResolver();
+        var readers = new SimpleMetadataReaderFactory(resolver);
+        List<String> keys = new ArrayList<>();
+
+        // Act - a @Value("${league.*}") would bypass the launcher, which only binds LeagueSettings
+        for (Resource resource : resolver.getResources("classpath*:com/spandigital/league/**/*.class")) {
+            String className = readers.getMetadataReader(resource).getClassMetadata().getClassName();
+            Class<?> type = Class.forName(className, false, getClass().getClassLoader());
+            List<AnnotatedElement> elements = new ArrayList<>(List.of(type.getDeclaredFields()));
+            List<Executable> executables = new ArrayList<>(List.of(type.getDeclaredMethods()));
+            executables.addAll(List.of(type.getDeclaredConstructors()));
+            for (Executable executable : executables) {
+                elements.add(executable);
+                elements.addAll(List.of(executable.getParameters()));
+            }
+            for (AnnotatedElement element : elements) {
+                Value value = element.getAnnotation(Value.class);
+                if (value != null) {
+                    Matcher matcher = LEAGUE_PLACEHOLDER.matcher(value.value());
+                    while (matcher.find()) {
+                        keys.add(matcher.group(1));
+                    }
+                }
+            }
+        }
+
+        // Assert
+        assertEquals(List.of(), keys.stream().filter(key -> !LeagueSettings.names().contains(key)).toList(),
+                "@Value league keys missing from LeagueSettings");
+    }
+}
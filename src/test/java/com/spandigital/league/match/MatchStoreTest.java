@@ -0,0 +1,72 @@
+package com.spandigital.league.match;
+
+import com.spandigital.league.match.dto.Match;
+import com.spandigital.league.match.dto.MatchResult;
+import com.spandigital.league.match.dto.TeamScore;
+import com.spandigital.league.standings.StandingsTable;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MatchStoreTest {
+
+    @Test
+    void get_AcceptedMatches_ReturnsEqualMatchResultViews() {
+        // Arrange
+        MatchStore store = new MatchStore();
+
+        // Act
+        store.accept("Lions", 3, "Snakes", 3);
+        store.accept("Tarantulas", 1, "FC Awesome", 0);
+        store.accept("Lions", 1, "FC Awesome", 1);
+
+        // Assert
+        assertEquals(3, store.size());
+        assertEquals(new MatchResult(new Match(new TeamScore("Tarantulas", 1), new TeamScore("FC Awesome", 0))),
+                store.get(1));
+        assertSame(store.get(0).match().teamA().name(), store.get(2).match().teamA().name());
+        assertThrows(IndexOutOfBoundsException.class, () -> store.get(3));
+        assertThrows(UnsupportedOperationException.class, () -> store.add(store.get(0)));
+    }
+
+    @Test
+    void merge_PartialsWithOwnTeamIds_KeepsMatchesInOrder() {
+        // Arrange
+        MatchStore store = new MatchStore();
+        store.accept("Lions", 3, "Snakes", 3);
+        MatchStore partial = store.newPartial();
+        partial.accept("Tarantulas", 1, "Lions", 0);
+        partial.accept("Snakes", 2, "Tarantulas", 2);
+
+        // Act
+        store.merge(partial);
+
+        // Assert
+        assertEquals(List.of("Lions 3 - Snakes 3", "Tarantulas 1 - Lions 0", "Snakes 2 - Tarantulas 2"),
+                store.stream().map(result -> result.match().toString()).toList());
+    }
+
+    @Test
+    void replay_RangeIntoStandingsTable_SameAsAcceptingEachMatch() {
+        // Arrange
+        MatchStore store = new MatchStore();
+        StandingsTable expected = new StandingsTable();
+        String[] teams = {"Lions", "Snakes", "Tarantulas", "FC Awesome", "Grouches"};
+        for (int i = 0; i < 100; i++) {
+            store.accept(teams[i % 5], i % 4, teams[(i * 3 + 1) % 5], i % 3);
+            if (i >= 20 && i < 80) {
+                expected.accept(teams[i % 5], i % 4, teams[(i * 3 + 1) % 5], i % 3);
+            }
+        }
+        StandingsTable standings = new StandingsTable();
+
+        // Act
+        store.replay(20, 80, standings);
+
+        // Assert
+        assertEquals(60, standings.matchCount());
+        assertEquals(expected.ranking(), standings.ranking());
+    }
+}
@@ -0,0 +1,68 @@
+package com.spandigital.league.match;
+
+import com.spandigital.league.benchmark.LeagueGenerator;
+import com.spandigital.league.config.LeagueSettings;
+import com.spandigital.league.match.dto.MatchResult;
+import com.spandigital.league.standings.StandingsTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sequential versus fork-join standings reduction over increasing result list sizes, used to pick
+ * {@link LeagueSettings#DEFAULT_PARALLEL_THRESHOLD}: the parallel path only pays off once the list
+ * is large enough to amortise task and merge overhead.
+ * Run via {@link #main(String[])} or the benchmark profile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StandingsReductionBenchmark {
+
+    @Param({"1000", "10000", "50000", "100000", "1000000"})
+    private int matches;
+
+    @Param({"20", "1000", "1000000"})
+    private int teams;
+
+    private List<MatchResult> results;
+
+    @Setup
+    public void setUp() {
+        results = LeagueGenerator.results(matches, teams);
+    }
+
+    @Benchmark
+    public StandingsTable sequential() {
+        return new StandingsReductionTask(results, 0, results.size(), Integer.MAX_VALUE).compute();
+    }
+
+    @Benchmark
+    public StandingsTable forkJoin() {
+        return MatchServiceImpl.reduceInParallel(results);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(StandingsReductionBenchmark.class.getSimpleName())
+                                       .addProfiler(GCProfiler.class)
+                                       .build()).run();
+    }
+}
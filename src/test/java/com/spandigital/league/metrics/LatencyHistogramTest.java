@@ -0,0 +1,62 @@
+package com.spandigital.league.metrics;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LatencyHistogramTest {
+
+    @Test
+    void percentileNanos_UniformValues_WithinBucketPrecision() {
+        // Arrange
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        // Act
+        for (long value = 1; value <= 100_000; value++) {
+            histogram.record(value * 1_000);
+        }
+
+        // Assert
+        assertEquals(100_000, histogram.count());
+        assertEquals(100_000_000L, histogram.maxNanos());
+        assertEquals(5_000_050_000_000L, histogram.totalNanos());
+        assertEquals(5_000.05, histogram.total(TimeUnit.SECONDS), 1e-9);
+        assertEquals(50_000_000, histogram.percentileNanos(50), 50_000_000.0 / LatencyHistogram.SUB_BUCKETS);
+        assertEquals(99_000_000, histogram.percentileNanos(99), 99_000_000.0 / LatencyHistogram.SUB_BUCKETS);
+        assertEquals(100_000_000L, histogram.percentileNanos(100));
+    }
+
+    @Test
+    void bucket_EveryValue_LiesWithinItsBucket() {
+        // Act & Assert
+        for (long value : new long[] {0, 1, 15, 16, 17, 31, 32, 1_000, 123_456_789, Long.MAX_VALUE}) {
+            int bucket = LatencyHistogram.bucket(value);
+            assertTrue(value <= LatencyHistogram.highestValue(bucket), "value " + value);
+            assertTrue(bucket == 0 || value > LatencyHistogram.highestValue(bucket - 1), "value " + value);
+        }
+    }
+
+    @Test
+    void record_ConcurrentThreads_CountsEveryValue() {
+        // Arrange
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        // Act
+        IntStream.range(0, 8).parallel().forEach(thread -> {
+            for (int i = 0; i < 10_000; i++) {
+                histogram.record(i);
+            }
+        });
+
+        // Assert
+        assertEquals(80_000, histogram.count());
+        assertEquals(9_999, histogram.maxNanos());
+
+        histogram.reset();
+        assertEquals(0, histogram.count());
+        assertEquals(0, histogram.percentileNanos(50));
+    }
+}
@@ -0,0 +1,77 @@
+package com.spandigital.league.metrics;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeagueMetricsTest {
+
+    @Test
+    void record_Disabled_RecordsNothing() {
+        // Arrange
+        LeagueMetrics metrics = new LeagueMetrics();
+
+        // Act
+        long start = metrics.start();
+        metrics.lines(10);
+        metrics.invalidLine();
+        metrics.stop(LeagueMetrics.Stage.PARSE, start);
+
+        // Assert
+        assertEquals(0, start);
+        assertEquals(0, metrics.lines());
+        assertEquals(0, metrics.invalidLines());
+        assertEquals(0, metrics.histogram(LeagueMetrics.Stage.PARSE).count());
+    }
+
+    @Test
+    void report_Enabled_PrintsCountersAndStagesThatRan() {
+        // Arrange
+        LeagueMetrics metrics = new LeagueMetrics();
+        metrics.setEnabled(true);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long start = metrics.start();
+        metrics.lines(3);
+        metrics.invalidLine();
+        metrics.stop(LeagueMetrics.Stage.PARSE, start);
+        metrics.stop(LeagueMetrics.Stage.RANK, metrics.start());
+        metrics.report(new PrintStream(out));
+
+        // Assert
+        String report = out.toString();
+        assertTrue(report.startsWith("Metrics: 3 lines (1 invalid), "));
+        assertTrue(report.contains("  parse     count=1 "));
+        assertTrue(report.contains("ns/line"));
+        assertTrue(report.contains("  rank      count=1 "));
+        assertFalse(report.contains("read"));
+    }
+
+    @Test
+    void bindTo_Registry_ExportsCountersAndStageTimers() {
+        // Arrange
+        LeagueMetrics metrics = new LeagueMetrics();
+        metrics.setEnabled(true);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        new LeagueMetricsBinder(metrics).bindTo(registry);
+
+        // Act
+        metrics.lines(5);
+        metrics.invalidLine();
+        metrics.histogram(LeagueMetrics.Stage.AGGREGATE).record(2_000_000);
+
+        // Assert
+        assertEquals(5, registry.get("league.lines").functionCounter().count());
+        assertEquals(1, registry.get("league.lines.invalid").functionCounter().count());
+        var aggregate = registry.get("league.stage").tag("stage", "aggregate").functionTimer();
+        assertEquals(1, aggregate.count());
+        assertEquals(2, aggregate.totalTime(TimeUnit.MILLISECONDS), 1e-9);
+        assertEquals(0.002, registry.get("league.stage.max").tag("stage", "aggregate").gauge().value(), 1e-9);
+    }
+}
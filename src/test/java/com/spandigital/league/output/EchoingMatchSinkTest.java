@@ -0,0 +1,42 @@
+package com.spandigital.league.output;
+
+import com.spandigital.league.standings.StandingsTable;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EchoingMatchSinkTest {
+
+    private static final String NL = System.lineSeparator();
+
+    @Test
+    void merge_PartialsInInputOrder_EchoesAndRecordsLikeSequentialSink() {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StandingsWriter writer = StandingsWriter.to(out);
+        StandingsTable standings = new StandingsTable();
+        EchoingMatchSink sink = new EchoingMatchSink(writer, standings);
+        EchoingMatchSink first = sink.newPartial();
+        EchoingMatchSink second = sink.newPartial();
+
+        // Act - filled out of order, merged in input order
+        second.accept("Lions", 1, "FC Awesome", 1);
+        first.accept("Lions", 3, "Snakes", 3);
+        first.accept("Tarantulas", 1, "FC Awesome", 0);
+        sink.merge(first);
+        sink.merge(second);
+        writer.flush();
+
+        // Assert
+        assertEquals("Processed: Lions 3 - Snakes 3" + NL
+                        + "Processed: Tarantulas 1 - FC Awesome 0" + NL
+                        + "Processed: Lions 1 - FC Awesome 1" + NL,
+                out.toString(StandardCharsets.UTF_8));
+        assertEquals(3, standings.matchCount());
+        assertEquals(2, standings.points("Lions"));
+        assertEquals(4, standings.teamCount());
+    }
+}
@@ -0,0 +1,178 @@
+package com.spandigital.league.output;
+
+import com.spandigital.league.standings.StandingsHistory;
+import com.spandigital.league.standings.StandingsTable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StandingsWriterTest {
+
+    private static final String NL = System.lineSeparator();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void matchProcessed_FormatsLikeMatchToString() {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StandingsWriter writer = StandingsWriter.to(out);
+
+        // Act
+        writer.matchProcessed("Lions", 3, "Snakes", -1);
+        writer.matchProcessed("Bayern München", Integer.MAX_VALUE, "Saint-Étienne", Integer.MIN_VALUE);
+
+        // Assert - nothing reaches the stream until flushed
+        assertEquals(0, out.size());
+        writer.flush();
+        assertEquals("Processed: Lions 3 - Snakes -1" + NL
+                        + "Processed: Bayern München 2147483647 - Saint-Étienne -2147483648" + NL,
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void standings_WritesHeaderAndRowsInRankingOrder() {
+        // Arrange
+        StandingsTable standings = new StandingsTable();
+        standings.accept("Lions", 3, "Snakes", 3);
+        standings.accept("Tarantulas", 1, "FC Awesome", 0);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StandingsWriter writer = StandingsWriter.to(out);
+
+        // Act
+        writer.standings(standings);
+        writer.flush();
+
+        // Assert
+        assertEquals(NL + "Team Standings:" + NL
+                        + "Tarantulas: 3 pts" + NL
+                        + "Lions: 1 pts" + NL
+                        + "Snakes: 1 pts" + NL
+                        + "FC Awesome: 0 pts" + NL,
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void table_WritesAlignedFullTableRows() {
+        // Arrange
+        StandingsTable standings = new StandingsTable();
+        standings.accept("Lions", 3, "Snakes", 3);
+        standings.accept("Tarantulas", 12, "FC Awesome", 0);
+        standings.accept("Lions", 1, "FC Awesome", 1);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StandingsWriter writer = StandingsWriter.to(out);
+
+        // Act
+        writer.table(standings, 0);
+        writer.flush();
+
+        // Assert
+        assertEquals(NL + "Team Standings:" + NL
+                        + "Pos Team       P W D L GF GA  GD Pts" + NL
+                        + "  1 Tarantulas 1 1 0 0 12  0 +12   3" + NL
+                        + "  2 Lions      2 0 2 0  4  4   0   2" + NL
+                        + "  3 FC Awesome 2 0 1 1  1 13 -12   1" + NL
+                        + "  4 Snakes     1 0 1 0  3  3   0   1" + NL,
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void table_RankingIterable_SameAsTableOfStandings() {
+        // Arrange
+        StandingsTable standings = new StandingsTable();
+        standings.accept("Lions", 3, "Snakes", 3);
+        standings.accept("Tarantulas", 12, "FC Awesome", 0);
+        standings.accept("Lions", 1, "FC Awesome", 1);
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        StandingsWriter expectedWriter = StandingsWriter.to(expected);
+        StandingsWriter actualWriter = StandingsWriter.to(actual);
+
+        // Act
+        expectedWriter.table(standings, 3);
+        expectedWriter.standings(standings, 3);
+        expectedWriter.flush();
+        actualWriter.table(standings.ranking(3));
+        actualWriter.standings(standings.ranking(3));
+        actualWriter.flush();
+
+        // Assert
+        assertEquals(expected.toString(StandardCharsets.UTF_8), actual.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void positions_WritesAlignedChartWithDashesBeforeFirstMatch() {
+        // Arrange
+        List<StandingsHistory.TeamPositions> chart = List.of(
+                new StandingsHistory.TeamPositions("Tarantulas", new int[]{1, 1, 1}),
+                new StandingsHistory.TeamPositions("Lions", new int[]{2, 3, 2}),
+                new StandingsHistory.TeamPositions("FC Awesome", new int[]{0, 2, 3}));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StandingsWriter writer = StandingsWriter.to(out);
+
+        // Act
+        writer.positions(chart);
+        writer.flush();
+
+        // Assert
+        assertEquals(NL + "Positions by round:" + NL
+                        + "Team       1 2 3" + NL
+                        + "Tarantulas 1 1 1" + NL
+                        + "Lions      2 3 2" + NL
+                        + "FC Awesome - 2 3" + NL,
+                out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void to_PrintStream_EncodesInTheStreamsCharset() {
+        // Arrange
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        StandingsWriter writer = StandingsWriter.to(new PrintStream(out, false, StandardCharsets.ISO_8859_1));
+        EchoingMatchSink sink = new EchoingMatchSink(writer, new StandingsTable());
+        EchoingMatchSink partial = sink.newPartial();
+
+        // Act - a partial renders its echo lines apart and must encode them the same way
+        writer.matchProcessed("Bayern München", 2, "Lions", 1);
+        partial.accept("Saint-Étienne", 0, "Lions", 0);
+        sink.merge(partial);
+        writer.flush();
+
+        // Assert
+        assertEquals(StandardCharsets.ISO_8859_1, writer.charset());
+        assertEquals("Processed: Bayern München 2 - Lions 1" + NL
+                        + "Processed: Saint-Étienne 0 - Lions 0" + NL,
+                out.toString(StandardCharsets.ISO_8859_1));
+        assertEquals(StandardCharsets.UTF_8, StandingsWriter.to(out, StandardCharsets.UTF_16).charset());
+    }
+
+    @Test
+    void write_MoreThanBufferSize_AllBytesWrittenInOrder() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("out.txt");
+        StringBuilder expected = new StringBuilder();
+        String longName = "X".repeat(StandingsWriter.DEFAULT_BUFFER_SIZE + 10);
+
+        // Act
+        try (StandingsWriter writer = StandingsWriter.toFile(file)) {
+            for (int i = 0; i < 10_000; i++) {
+                writer.matchProcessed("Team" + i, i, "Other", 0);
+                expected.append("Processed: Team").append(i).append(' ').append(i).append(" - Other 0").append(NL);
+            }
+            writer.line(longName);
+            expected.append(longName).append(NL);
+        }
+
+        // Assert
+        assertEquals(expected.toString(), Files.readString(file));
+    }
+}
@@ -2,6 +2,7 @@ package com.spandigital.league.processor;
 
 import com.spandigital.league.match.dto.Match;
 import com.spandigital.league.match.dto.MatchResult;
+import com.spandigital.league.standings.LeagueMatchSink;
 import lombok.experimental.SuperBuilder;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,6 +11,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import java.io.ByteArrayOutputStream;
 import java.io.PrintStream;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
 
@@ -170,6 +172,43 @@ class AbstractMatchProcessorTest {
                 "Should throw NumberFormatException for non-numeric score");
     }
 
+    @Test
+    void processLine_ScoreOverflow_ThrowsInvalidScoreFormat() {
+        // Arrange
+        String overflowingScore = "Lions 99999999999,Snakes 1";
+
+        // Act & Assert
+        NumberFormatException exception = assertThrows(NumberFormatException.class,
+                () -> processor.processLine(overflowingScore));
+        assertEquals("Invalid score format: Lions 99999999999", exception.getMessage());
+    }
+
+    @Test
+    void processLine_TrailingCommas_TreatedLikeSplit() {
+        // Act
+        processor.processLine("Lions 3,Snakes 1,,");
+        processor.processLine("Lions 3,,Snakes 1");
+
+        // Assert - trailing empty parts are dropped, inner empty parts are not
+        List<MatchResult> results = processor.getResults();
+        assertEquals(1, results.size());
+        assertEquals("Snakes", results.getFirst().match().teamB().name());
+        assertTrue(outputStream.toString().contains("Invalid format"));
+    }
+
+    @Test
+    void processLine_TrailingDigitRunAndWhitespace_ParsedLikeRegex() {
+        // Act
+        processor.processLine("Team 99 007\t,abc123 ");
+
+        // Assert
+        Match match = processor.getResults().getFirst().match();
+        assertEquals("Team 99", match.teamA().name());
+        assertEquals(7, match.teamA().score());
+        assertEquals("abc", match.teamB().name());
+        assertEquals(123, match.teamB().score());
+    }
+
     @Test
     void processLine_EmptyString_PrintsInvalidFormat() {
         // Arrange
@@ -192,6 +231,43 @@ class AbstractMatchProcessorTest {
                 "Should throw NullPointerException for null input");
     }
 
+    @Test
+    void processLine_WithSink_StreamsMatchInsteadOfCollecting() {
+        // Arrange
+        List<String> received = new ArrayList<>();
+        AbstractMatchProcessor streaming = TestMatchProcessor.builder()
+                                                             .sink((teamA, scoreA, teamB, scoreB) ->
+                                                                     received.add(teamA + scoreA + teamB + scoreB))
+                                                             .build();
+
+        // Act
+        streaming.processLine("Lions 3,Snakes 1");
+
+        // Assert
+        assertEquals(List.of("Lions3Snakes1"), received);
+        assertTrue(streaming.getResults().isEmpty(), "Matches should not be collected when a sink is set");
+    }
+
+    @Test
+    void processLine_LeagueSink_ReadsLeagueField() {
+        // Arrange
+        List<String> received = new ArrayList<>();
+        AbstractMatchProcessor leagues = TestMatchProcessor.builder()
+                                                           .sink((LeagueMatchSink) (league, teamA, scoreA, teamB, scoreB) ->
+                                                                   received.add(league + ":" + teamA + scoreA + teamB + scoreB))
+                                                           .build();
+
+        // Act
+        leagues.processLine(" Premier , Lions 3,Snakes 1");
+        leagues.processLine("Tarantulas 1,FC Awesome 0");
+        processor.processLine("Premier, Lions 3,Snakes 1");
+
+        // Assert
+        assertEquals(List.of("Premier:Lions3Snakes1", ":Tarantulas1FC Awesome0"), received);
+        assertTrue(processor.getResults().isEmpty(), "A league field is only read by a league sink");
+        assertTrue(outputStream.toString().contains("Invalid format"));
+    }
+
     @Test
     void getScanner_ReturnsInjectedScanner() {
         // Act & Assert
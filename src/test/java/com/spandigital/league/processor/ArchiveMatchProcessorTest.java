@@ -0,0 +1,128 @@
+package com.spandigital.league.processor;
+
+import com.spandigital.league.archive.MatchArchiveWriter;
+import com.spandigital.league.match.dto.MatchResult;
+import com.spandigital.league.standings.StandingsTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ArchiveMatchProcessorTest {
+
+    private final ByteArrayOutputStream errContent = new ByteArrayOutputStream();
+    private final PrintStream originalErr = System.err;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        System.setErr(new PrintStream(errContent));
+    }
+
+    @AfterEach
+    void restoreStreams() {
+        System.setErr(originalErr);
+    }
+
+    @Test
+    void processFile_WrittenArchive_ReturnsMatchesInOrder() throws IOException {
+        // Arrange
+        Path archive = tempDir.resolve("league.lga");
+        try (MatchArchiveWriter writer = MatchArchiveWriter.create(archive)) {
+            writer.accept("Lions", 3, "Snakes", 3);
+            writer.accept("Malmö FF", 1, "東京", 0);
+            writer.accept("Lions", 1, "Malmö FF", 1);
+        }
+
+        // Act
+        List<MatchResult> results = ArchiveMatchProcessor.builder()
+                                                         .build()
+                                                         .processFile(archive.toString());
+
+        // Assert
+        assertEquals(3, results.size());
+        assertEquals("Lions", results.getFirst().match().teamA().name());
+        assertEquals(3, results.getFirst().match().teamB().score());
+        assertEquals("Malmö FF", results.get(1).match().teamA().name());
+        assertEquals("東京", results.get(1).match().teamB().name());
+        assertEquals("Malmö FF", results.get(2).match().teamB().name());
+        assertEquals(1, results.get(2).match().teamB().score());
+        try (var files = Files.list(tempDir)) {
+            assertEquals(List.of(archive), files.toList(), "Temporary column files should be removed");
+        }
+    }
+
+    @Test
+    void processFile_SeveralRanges_StandingsMatchDirectAggregation() throws IOException {
+        // Arrange
+        Random random = new Random(9);
+        Path archive = tempDir.resolve("season.lga");
+        StandingsTable expected = new StandingsTable();
+        try (MatchArchiveWriter writer = MatchArchiveWriter.create(archive)) {
+            for (int i = 0; i < 1_500_000; i++) {
+                String teamA = "Team" + random.nextInt(100);
+                String teamB = "Team" + random.nextInt(100);
+                int scoreA = random.nextInt(5);
+                int scoreB = random.nextInt(5);
+                writer.accept(teamA, scoreA, teamB, scoreB);
+                expected.accept(teamA, scoreA, teamB, scoreB);
+            }
+        }
+        StandingsTable standings = new StandingsTable();
+
+        // Act
+        ArchiveMatchProcessor.builder()
+                             .sink(standings)
+                             .parallelism(4)
+                             .build()
+                             .processFile(archive.toString());
+
+        // Assert
+        assertEquals(expected.matchCount(), standings.matchCount());
+        assertEquals(expected.ranking(), standings.ranking());
+    }
+
+    @Test
+    void processFile_EmptyArchive_ReturnsEmptyList() throws IOException {
+        // Arrange
+        Path archive = tempDir.resolve("empty.lga");
+        MatchArchiveWriter.create(archive).close();
+
+        // Act
+        List<MatchResult> results = ArchiveMatchProcessor.builder()
+                                                         .build()
+                                                         .processFile(archive.toString());
+
+        // Assert
+        assertTrue(results.isEmpty());
+        assertEquals("", errContent.toString());
+    }
+
+    @Test
+    void processFile_NotAnArchive_ReturnsEmptyList() throws IOException {
+        // Arrange
+        Path csvFile = tempDir.resolve("matches.csv");
+        Files.write(csvFile, List.of("Lions 3, Snakes 3", "Tarantulas 1, FC Awesome 0"));
+
+        // Act
+        List<MatchResult> results = ArchiveMatchProcessor.builder()
+                                                         .build()
+                                                         .processFile(csvFile.toString());
+
+        // Assert
+        assertTrue(results.isEmpty());
+        assertTrue(errContent.toString().contains("Error reading match archive: Not a match archive"));
+    }
+}
@@ -11,6 +11,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Collections;
@@ -178,6 +179,66 @@ class CSVFileMatchProcessorTest {
         assertTrue(errContent.toString().contains("Simulated IO Exception"));
     }
 
+    @Test
+    void processFile_Utf8TeamNames_DecodesNamesOnce() throws IOException {
+        // Arrange
+        Path csvFile = tempDir.resolve("utf8.csv");
+        String content = "Malmö FF 2, Ñandú 1\r\n東京 3,Малмё 3\r\nMalmö FF 0, 東京 1";
+        Files.writeString(csvFile, content, StandardCharsets.UTF_8);
+
+        // Act
+        List<MatchResult> results = processor.processFile(csvFile.toString());
+
+        // Assert
+        assertEquals(3, results.size());
+        assertEquals("Malmö FF", results.getFirst().match().teamA().name());
+        assertEquals("Ñandú", results.getFirst().match().teamB().name());
+        assertEquals("東京", results.get(1).match().teamA().name());
+        assertEquals("Малмё", results.get(1).match().teamB().name());
+        assertEquals(3, results.get(1).match().teamB().score());
+        assertEquals(1, results.get(2).match().teamB().score());
+        // Repeated names are served from the name cache
+        assertSame(results.getFirst().match().teamA().name(), results.get(2).match().teamA().name());
+        assertSame(results.get(1).match().teamA().name(), results.get(2).match().teamB().name());
+    }
+
+    @Test
+    void processFile_CrLfSplitAcrossReads_ParsesEveryLineOnce() throws IOException {
+        // Arrange - pad the first line so a '\r' is the last byte of the first read and its '\n' starts the next
+        int padding = (CSVFileMatchProcessor.READ_BUFFER_SIZE - 17) % 9;
+        StringBuilder content = new StringBuilder("A 1,B 2").append(" ".repeat(padding)).append("\r\n");
+        int lines = 1;
+        while (content.length() < CSVFileMatchProcessor.READ_BUFFER_SIZE * 3) {
+            content.append("A 1,B 2\r\n");
+            lines++;
+        }
+        Path csvFile = tempDir.resolve("crlf.csv");
+        Files.writeString(csvFile, content);
+
+        // Act
+        List<MatchResult> results = processor.processFile(csvFile.toString());
+
+        // Assert
+        assertEquals(lines, results.size());
+        assertFalse(outContent.toString().contains("Invalid format"));
+    }
+
+    @Test
+    void processFile_LineLongerThanReadBuffer_GrowsBuffer() throws IOException {
+        // Arrange
+        String longName = "L".repeat(CSVFileMatchProcessor.READ_BUFFER_SIZE * 2);
+        Path csvFile = tempDir.resolve("long.csv");
+        Files.write(csvFile, List.of("Lions 3, Snakes 1", longName + " 2, Lions 2", "Snakes 1, Lions 0"));
+
+        // Act
+        List<MatchResult> results = processor.processFile(csvFile.toString());
+
+        // Assert
+        assertEquals(3, results.size());
+        assertEquals(longName, results.get(1).match().teamA().name());
+        assertEquals("Snakes", results.get(2).match().teamA().name());
+    }
+
     @Test
     void builder_CreatesInstanceCorrectly() {
         // Arrange & Act
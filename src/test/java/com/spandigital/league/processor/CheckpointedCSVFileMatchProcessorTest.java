@@ -0,0 +1,116 @@
+package com.spandigital.league.processor;
+
+import com.spandigital.league.standings.MatchSink;
+import com.spandigital.league.standings.StandingsTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CheckpointedCSVFileMatchProcessorTest {
+
+    private final ByteArrayOutputStream errContent = new ByteArrayOutputStream();
+    private final PrintStream originalErr = System.err;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        System.setErr(new PrintStream(errContent));
+    }
+
+    @AfterEach
+    void restoreStreams() {
+        System.setErr(originalErr);
+    }
+
+    @Test
+    void processFile_AppendedLines_OnlyParsesTailAndRestoresStandings() throws IOException {
+        // Arrange
+        Path file = Files.write(tempDir.resolve("season.csv"), List.of("Lions 3, Snakes 3", "Tarantulas 1, FC Awesome 0"));
+        read(file, new StandingsTable());
+        Files.writeString(file, "Lions 1, FC Awesome 1\n", StandardOpenOption.APPEND);
+        StandingsTable standings = new StandingsTable();
+        List<String> parsed = new ArrayList<>();
+
+        // Act
+        read(file, standings, (teamA, scoreA, teamB, scoreB) -> parsed.add(teamA + " v " + teamB));
+
+        // Assert
+        assertEquals(List.of("Lions v FC Awesome"), parsed);
+        assertEquals(fullRead(file).ranking(), standings.ranking());
+        assertEquals(3, standings.matchCount());
+        assertEquals("", errContent.toString());
+    }
+
+    @Test
+    void processFile_RewrittenPrefix_ReadsFromStart() throws IOException {
+        // Arrange
+        Path file = Files.write(tempDir.resolve("season.csv"), List.of("Lions 3, Snakes 3", "Tarantulas 1, FC Awesome 0"));
+        read(file, new StandingsTable());
+        Files.write(file, List.of("Lions 0, Snakes 1", "Tarantulas 1, FC Awesome 0", "Lions 1, FC Awesome 1"));
+        StandingsTable standings = new StandingsTable();
+
+        // Act
+        read(file, standings);
+
+        // Assert
+        assertEquals(fullRead(file).ranking(), standings.ranking());
+        assertEquals(3, standings.matchCount());
+        assertTrue(errContent.toString().contains("Checkpoint does not match"));
+    }
+
+    @Test
+    void processFile_UnterminatedLastLine_ReadAgainOnceCompleted() throws IOException {
+        // Arrange
+        Path file = tempDir.resolve("season.csv");
+        Files.writeString(file, "Lions 3, Snakes 3\nTarantulas 1, FC Awesome 0");
+        StandingsTable first = new StandingsTable();
+        read(file, first);
+        Files.writeString(file, "\r\nLions 1, FC Awesome 1\n", StandardOpenOption.APPEND);
+        StandingsTable second = new StandingsTable();
+
+        // Act
+        read(file, second);
+
+        // Assert
+        assertEquals(2, first.matchCount());
+        assertEquals(3, second.matchCount());
+        assertEquals(fullRead(file).ranking(), second.ranking());
+        assertEquals(2, second.points("Lions"));
+    }
+
+    private static void read(Path file, StandingsTable standings) {
+        read(file, standings, (teamA, scoreA, teamB, scoreB) -> { });
+    }
+
+    private static void read(Path file, StandingsTable standings, MatchSink listener) {
+        CheckpointedCSVFileMatchProcessor processor = CheckpointedCSVFileMatchProcessor.builder()
+                                                                                       .sink(listener.andThen(standings))
+                                                                                       .standings(standings)
+                                                                                       .build();
+        processor.processFile(file.toString());
+        assertFalse(processor.isFailed());
+    }
+
+    private static StandingsTable fullRead(Path file) {
+        StandingsTable standings = new StandingsTable();
+        CSVFileMatchProcessor.builder()
+                             .sink(standings)
+                             .build()
+                             .processFile(file.toString());
+        return standings;
+    }
+}
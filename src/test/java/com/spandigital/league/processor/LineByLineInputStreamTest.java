@@ -0,0 +1,46 @@
+package com.spandigital.league.processor;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Scanner;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LineByLineInputStreamTest {
+
+    @Test
+    void scanner_ReadsMenuAnswers_LeavesTheRestInTheUnderlyingStream() throws Exception {
+        // Arrange
+        InputStream in = new BufferedInputStream(new ByteArrayInputStream(
+                "2\r\nleague.csv\nLions 3, Snakes 1\ndone\n".getBytes(StandardCharsets.UTF_8)));
+        Scanner scanner = new Scanner(new LineByLineInputStream(in));
+
+        // Act
+        int choice = scanner.nextInt();
+        scanner.nextLine();
+        String path = scanner.nextLine();
+
+        // Assert
+        assertEquals(2, choice);
+        assertEquals("league.csv", path);
+        assertEquals("Lions 3, Snakes 1\ndone\n", new String(in.readAllBytes(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void read_StopsAtLineEndAndEndOfStream() throws Exception {
+        // Arrange
+        LineByLineInputStream in = new LineByLineInputStream(new ByteArrayInputStream(
+                "first\nlast".getBytes(StandardCharsets.UTF_8)));
+        byte[] buffer = new byte[64];
+
+        // Act & Assert
+        assertEquals(0, in.available());
+        assertEquals("first\n", new String(buffer, 0, in.read(buffer), StandardCharsets.UTF_8));
+        assertEquals("last", new String(buffer, 0, in.read(buffer), StandardCharsets.UTF_8));
+        assertEquals(-1, in.read(buffer));
+    }
+}
@@ -0,0 +1,257 @@
+package com.spandigital.league.processor;
+
+import com.spandigital.league.match.dto.Match;
+import com.spandigital.league.match.dto.MatchResult;
+import com.spandigital.league.standings.LeagueMatchSink;
+import com.spandigital.league.standings.PartitionedStandings;
+import com.spandigital.league.standings.StandingsTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedCSVFileMatchProcessorTest {
+
+    private final ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream errContent = new ByteArrayOutputStream();
+    private final PrintStream originalOut = System.out;
+    private final PrintStream originalErr = System.err;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        System.setOut(new PrintStream(outContent));
+        System.setErr(new PrintStream(errContent));
+    }
+
+    @AfterEach
+    void restoreStreams() {
+        System.setOut(originalOut);
+        System.setErr(originalErr);
+    }
+
+    @Test
+    void processFile_SmallChunks_MatchesSequentialResultsInOrder() throws IOException {
+        // Arrange - mixed line endings, blank lines and no trailing newline
+        Path csvFile = tempDir.resolve("season.csv");
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            content.append("Team").append(i % 7).append(' ').append(i % 4)
+                   .append(", Team").append((i + 3) % 7).append(' ').append(i % 3)
+                   .append(i % 3 == 0 ? "\r\n" : i % 11 == 0 ? "\n\n" : "\n");
+        }
+        content.append("Lions 4, Grouches 0");
+        Files.writeString(csvFile, content);
+
+        MappedCSVFileMatchProcessor processor = MappedCSVFileMatchProcessor.builder()
+                                                                           .parallelism(4)
+                                                                           .chunkSize(64)
+                                                                           .build();
+
+        // Act
+        List<MatchResult> mapped = processor.processFile(csvFile.toString());
+        List<MatchResult> sequential = new CSVFileMatchProcessor((Scanner) null).processFile(csvFile.toString());
+
+        // Assert
+        assertEquals(201, mapped.size());
+        assertEquals(sequential, mapped);
+    }
+
+    @Test
+    void processFile_CarriageReturnLineEndsInSmallChunks_SplitLikeReadLine() throws IOException {
+        // Arrange - old Mac '\r' line ends, and "\r\n" pairs that chunk boundaries must not split
+        Path macFile = tempDir.resolve("mac.csv");
+        Path mixedFile = tempDir.resolve("mixed.csv");
+        StringBuilder mac = new StringBuilder();
+        StringBuilder mixed = new StringBuilder();
+        for (int i = 0; i < 150; i++) {
+            String line = "Team" + i % 6 + " " + i % 4 + ", Team" + (i + 1) % 6 + " " + i % 3;
+            mac.append(line).append('\r');
+            mixed.append(line).append(i % 2 == 0 ? "\r\n" : "\r");
+        }
+        Files.writeString(macFile, mac);
+        Files.writeString(mixedFile, mixed);
+
+        // Act
+        List<MatchResult> macResults = new ArrayList<>();
+        List<MatchResult> mixedResults = new ArrayList<>();
+        for (int chunkSize = 1; chunkSize <= 40; chunkSize += 3) {
+            macResults = MappedCSVFileMatchProcessor.builder().parallelism(4).chunkSize(chunkSize).build()
+                                                    .processFile(macFile.toString());
+            mixedResults = MappedCSVFileMatchProcessor.builder().parallelism(4).chunkSize(chunkSize).build()
+                                                      .processFile(mixedFile.toString());
+            assertEquals(150, mixedResults.size(), "chunk size " + chunkSize);
+        }
+
+        AtomicInteger chunks = new AtomicInteger();
+        StandingsTable standings = new StandingsTable() {
+            @Override
+            public StandingsTable newPartial() {
+                chunks.incrementAndGet();
+                return super.newPartial();
+            }
+        };
+        MappedCSVFileMatchProcessor.builder().sink(standings).parallelism(4).chunkSize(256).build()
+                                   .processFile(macFile.toString());
+
+        // Assert
+        assertTrue(chunks.get() > 1, "a file without '\\n' is still split into chunks");
+        assertEquals(150, standings.matchCount());
+        assertEquals(new CSVFileMatchProcessor((Scanner) null).processFile(macFile.toString()), macResults);
+        assertEquals(150, macResults.size());
+        assertEquals(macResults, mixedResults);
+        assertEquals("", errContent.toString());
+    }
+
+    @Test
+    void processFile_SharedWorkers_ReadsOnThePoolAndLeavesItRunning() throws IOException {
+        // Arrange
+        Path first = tempDir.resolve("first.csv");
+        Path second = tempDir.resolve("second.csv");
+        StringBuilder firstContent = new StringBuilder();
+        StringBuilder secondContent = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            firstContent.append("Team").append(i % 5).append(' ').append(i % 4)
+                        .append(", Team").append((i + 2) % 5).append(' ').append(i % 3).append('\n');
+            secondContent.append("Team").append(i % 3).append(' ').append(i % 2)
+                         .append(", Team").append((i + 1) % 3 + 3).append(' ').append(i % 5).append('\n');
+        }
+        Files.writeString(first, firstContent);
+        Files.writeString(second, secondContent);
+        ExecutorService workers = Executors.newFixedThreadPool(2);
+
+        try {
+            // Act
+            List<MatchResult> firstResults = MappedCSVFileMatchProcessor.builder()
+                                                                        .chunkSize(64)
+                                                                        .workers(workers)
+                                                                        .build()
+                                                                        .processFile(first.toString());
+            List<MatchResult> secondResults = MappedCSVFileMatchProcessor.builder()
+                                                                         .chunkSize(64)
+                                                                         .workers(workers)
+                                                                         .build()
+                                                                         .processFile(second.toString());
+
+            // Assert
+            assertFalse(workers.isShutdown());
+            assertEquals(new CSVFileMatchProcessor((Scanner) null).processFile(first.toString()), firstResults);
+            assertEquals(new CSVFileMatchProcessor((Scanner) null).processFile(second.toString()), secondResults);
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    @Test
+    void processFile_LeagueLinesInParallelChunks_PartitionedLikeSequentialRead() throws IOException {
+        // Arrange - the same team names play in both leagues
+        Path csvFile = tempDir.resolve("leagues.csv");
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 300; i++) {
+            content.append(i % 3 == 0 ? "Championship" : "Premier").append(", Team").append(i % 5).append(' ')
+                   .append(i % 4).append(", Team").append((i + 2) % 5).append(' ').append(i % 3).append('\n');
+        }
+        content.append("Lions 4, Grouches 0\n");
+        Files.writeString(csvFile, content);
+        PartitionedStandings mapped = new PartitionedStandings();
+        PartitionedStandings sequential = new PartitionedStandings();
+
+        // Act
+        MappedCSVFileMatchProcessor.builder()
+                                   .sink(mapped)
+                                   .parallelism(4)
+                                   .chunkSize(64)
+                                   .build()
+                                   .processFile(csvFile.toString());
+        CSVFileMatchProcessor.builder()
+                             .sink(sequential)
+                             .build()
+                             .processFile(csvFile.toString());
+
+        // Assert
+        assertEquals(List.of("", "Championship", "Premier"), mapped.leagues());
+        assertEquals(100, mapped.league("Championship").matchCount());
+        assertEquals(200, mapped.league("Premier").matchCount());
+        assertEquals(1, mapped.league(LeagueMatchSink.DEFAULT_LEAGUE).matchCount());
+        for (String league : sequential.leagues()) {
+            assertEquals(sequential.league(league).ranking(), mapped.league(league).ranking());
+        }
+    }
+
+    @Test
+    void processFile_Utf8TeamNames_DecodedCorrectly() throws IOException {
+        // Arrange
+        Path csvFile = tempDir.resolve("utf8.csv");
+        Files.writeString(csvFile, "  Bayern München 2 , Saint-Étienne 2\n", StandardCharsets.UTF_8);
+
+        // Act
+        List<MatchResult> results = MappedCSVFileMatchProcessor.builder()
+                                                               .build()
+                                                               .processFile(csvFile.toString());
+
+        // Assert
+        Match match = results.getFirst().match();
+        assertEquals("Bayern München", match.teamA().name());
+        assertEquals(2, match.teamA().score());
+        assertEquals("Saint-Étienne", match.teamB().name());
+    }
+
+    @Test
+    void processFile_InvalidScore_ReturnsEmptyListWithError() throws IOException {
+        // Arrange
+        Path csvFile = tempDir.resolve("invalid.csv");
+        Files.writeString(csvFile, "Lions 3,Snakes 1\nLions X,Snakes 1\n");
+
+        // Act
+        List<MatchResult> results = MappedCSVFileMatchProcessor.builder()
+                                                               .build()
+                                                               .processFile(csvFile.toString());
+
+        // Assert
+        assertTrue(results.isEmpty());
+        assertTrue(errContent.toString().contains("Error reading CSV file: Invalid score format: Lions X"));
+    }
+
+    @Test
+    void processFile_EmptyFile_ReturnsEmptyList() throws IOException {
+        // Arrange
+        Path emptyFile = Files.createFile(tempDir.resolve("empty.csv"));
+
+        // Act
+        List<MatchResult> results = MappedCSVFileMatchProcessor.builder()
+                                                               .build()
+                                                               .processFile(emptyFile.toString());
+
+        // Assert
+        assertTrue(results.isEmpty());
+    }
+
+    @Test
+    void processFile_NonExistentFile_ReturnsEmptyList() {
+        // Act
+        List<MatchResult> results = MappedCSVFileMatchProcessor.builder()
+                                                               .build()
+                                                               .processFile(tempDir.resolve("missing.csv").toString());
+
+        // Assert
+        assertTrue(results.isEmpty());
+        assertTrue(errContent.toString().contains("Error reading CSV file"));
+    }
+}
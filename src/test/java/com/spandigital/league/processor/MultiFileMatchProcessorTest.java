@@ -0,0 +1,194 @@
+package com.spandigital.league.processor;
+
+import com.spandigital.league.match.dto.MatchResult;
+import com.spandigital.league.standings.MergeableMatchSink;
+import com.spandigital.league.standings.StandingsTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultiFileMatchProcessorTest {
+
+    private final ByteArrayOutputStream errContent = new ByteArrayOutputStream();
+    private final PrintStream originalErr = System.err;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        System.setErr(new PrintStream(errContent));
+    }
+
+    @AfterEach
+    void restoreStreams() {
+        System.setErr(originalErr);
+    }
+
+    @Test
+    void processFiles_Directory_ReturnsMatchesOfCsvFilesInPathOrder() throws IOException {
+        // Arrange
+        Files.write(tempDir.resolve("round2.csv"), List.of("Tarantulas 1, FC Awesome 0"));
+        Files.write(tempDir.resolve("round1.csv"), List.of("Lions 3, Snakes 3", "Lions 1, FC Awesome 1"));
+        Files.write(tempDir.resolve("notes.txt"), List.of("not a match"));
+
+        // Act
+        List<MatchResult> results = MultiFileMatchProcessor.builder()
+                                                           .build()
+                                                           .processFiles(tempDir.toString());
+
+        // Assert
+        assertEquals(3, results.size());
+        assertEquals("Lions", results.get(0).match().teamA().name());
+        assertEquals("FC Awesome", results.get(1).match().teamB().name());
+        assertEquals("Tarantulas", results.get(2).match().teamA().name());
+        assertEquals("", errContent.toString());
+    }
+
+    @Test
+    void processFiles_ManyFilesFewOpenAtOnce_StandingsMatchDirectAggregation() throws IOException {
+        // Arrange
+        Random random = new Random(14);
+        StandingsTable expected = new StandingsTable();
+        for (int round = 0; round < 200; round++) {
+            Path venue = Files.createDirectories(tempDir.resolve("venue" + round % 7));
+            StringBuilder lines = new StringBuilder();
+            for (int i = 0; i < 50; i++) {
+                String teamA = "Team" + random.nextInt(30);
+                String teamB = "Team" + random.nextInt(30);
+                int scoreA = random.nextInt(5);
+                int scoreB = random.nextInt(5);
+                lines.append(teamA).append(' ').append(scoreA).append(", ")
+                     .append(teamB).append(' ').append(scoreB).append('\n');
+                expected.accept(teamA, scoreA, teamB, scoreB);
+            }
+            Files.writeString(venue.resolve("round" + round + ".csv"), lines);
+        }
+        StandingsTable standings = new StandingsTable();
+
+        // Act
+        MultiFileMatchProcessor.builder()
+                               .sink(standings)
+                               .maxOpenFiles(3)
+                               .build()
+                               .processFiles(tempDir + "/**/round*.csv");
+
+        // Assert
+        assertEquals(10_000, standings.matchCount());
+        assertEquals(expected.ranking(), standings.ranking());
+    }
+
+    @Test
+    void processFiles_ManyFiles_HoldsNoMorePartialsThanOpenFiles() throws IOException {
+        // Arrange
+        for (int round = 0; round < 40; round++) {
+            Files.write(tempDir.resolve(String.format("round%02d.csv", round)), List.of("Lions 1, Snakes 0"));
+        }
+        AtomicInteger held = new AtomicInteger();
+        AtomicInteger mostHeld = new AtomicInteger();
+        StandingsTable standings = new StandingsTable() {
+            @Override
+            public StandingsTable newPartial() {
+                mostHeld.accumulateAndGet(held.incrementAndGet(), Math::max);
+                return super.newPartial();
+            }
+
+            @Override
+            public void merge(MergeableMatchSink partial) {
+                super.merge(partial);
+                held.decrementAndGet();
+            }
+        };
+
+        // Act
+        MultiFileMatchProcessor.builder()
+                               .sink(standings)
+                               .maxOpenFiles(4)
+                               .build()
+                               .processFiles(tempDir.toString());
+
+        // Assert
+        assertEquals(40, standings.matchCount());
+        assertTrue(mostHeld.get() <= 4, "partials held at once: " + mostHeld.get());
+    }
+
+    @Test
+    void processFiles_SharedOpenFiles_TakesAPermitPerFileAndReturnsThem() throws IOException {
+        // Arrange
+        for (int round = 0; round < 10; round++) {
+            Files.write(tempDir.resolve("round" + round + ".csv"), List.of("Lions 1, Snakes 0", "Snakes 2, Grouches 2"));
+        }
+        Semaphore openFiles = new Semaphore(2);
+        StandingsTable standings = new StandingsTable();
+
+        // Act
+        MultiFileMatchProcessor.builder()
+                               .sink(standings)
+                               .openFiles(openFiles)
+                               .build()
+                               .processFiles(tempDir.toString());
+
+        // Assert
+        assertEquals(20, standings.matchCount());
+        assertEquals(2, openFiles.availablePermits());
+    }
+
+    @Test
+    void isMultiFile_ExistingFileWithGlobCharacters_IsReadAsItself() throws IOException {
+        // Arrange
+        Path literal = Files.write(tempDir.resolve("results[2024].csv"), List.of("Lions 3, Snakes 3"));
+        Files.write(tempDir.resolve("results2.csv"), List.of("Lions 1, Snakes 0"));
+
+        // Act & Assert
+        assertFalse(MultiFileMatchProcessor.isMultiFile(literal.toString()));
+        assertTrue(MultiFileMatchProcessor.isMultiFile(tempDir.resolve("results[0-9].csv").toString()));
+        assertTrue(MultiFileMatchProcessor.isMultiFile(tempDir.resolve("{a,b}.csv").toString()));
+        assertTrue(MultiFileMatchProcessor.isMultiFile(tempDir.toString()));
+    }
+
+    @Test
+    void resolveFiles_Glob_MatchesOnlyItsDepth() throws IOException {
+        // Arrange
+        Path nested = Files.createDirectories(tempDir.resolve("2024"));
+        Files.writeString(tempDir.resolve("a.csv"), "");
+        Files.writeString(nested.resolve("b.csv"), "");
+        Files.writeString(nested.resolve("c.txt"), "");
+
+        // Act
+        List<Path> top = MultiFileMatchProcessor.resolveFiles(tempDir + "/*.csv");
+        List<Path> all = MultiFileMatchProcessor.resolveFiles(tempDir + "/**.csv");
+        List<Path> byYear = MultiFileMatchProcessor.resolveFiles(tempDir + "/20*/*");
+
+        // Assert
+        assertEquals(List.of(tempDir.resolve("a.csv")), top);
+        assertEquals(List.of(nested.resolve("b.csv"), tempDir.resolve("a.csv")).stream().sorted().toList(), all);
+        assertEquals(List.of(nested.resolve("b.csv"), nested.resolve("c.txt")), byYear);
+    }
+
+    @Test
+    void processFiles_NoMatchingFiles_ReturnsEmptyList() {
+        // Act
+        List<MatchResult> results = MultiFileMatchProcessor.builder()
+                                                           .build()
+                                                           .processFiles(tempDir + "/*.csv");
+
+        // Assert
+        assertTrue(results.isEmpty());
+        assertTrue(errContent.toString().contains("Error reading CSV files: No files match"));
+        assertTrue(MultiFileMatchProcessor.isMultiFile(tempDir.toString()));
+        assertFalse(MultiFileMatchProcessor.isMultiFile(tempDir.resolve("a.csv").toString()));
+    }
+}
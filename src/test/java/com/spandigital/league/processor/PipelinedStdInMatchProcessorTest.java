@@ -0,0 +1,120 @@
+package com.spandigital.league.processor;
+
+import com.spandigital.league.match.dto.MatchResult;
+import com.spandigital.league.standings.StandingsTable;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PipelinedStdInMatchProcessorTest {
+
+    private final ByteArrayOutputStream outContent = new ByteArrayOutputStream();
+    private final PrintStream originalOut = System.out;
+    private final InputStream originalIn = System.in;
+
+    @BeforeEach
+    void setUp() {
+        System.setOut(new PrintStream(outContent));
+    }
+
+    @AfterEach
+    void restoreStreams() {
+        System.setOut(originalOut);
+        System.setIn(originalIn);
+    }
+
+    @Test
+    void processInput_StdInUpToDone_ReturnsMatchesInOrder() {
+        // Arrange
+        System.setIn(new ByteArrayInputStream(
+                "Lions 3,Snakes 1\r\nTarantulas 1,FC Awesome 0\nLions 1, FC Awesome 1\r\nDONE\r\nSnakes 9, Lions 0\n".getBytes()));
+
+        // Act
+        List<MatchResult> results = PipelinedStdInMatchProcessor.builder()
+                                                                .batchSize(8)
+                                                                .build()
+                                                                .processInput();
+
+        // Assert
+        assertEquals(3, results.size());
+        assertEquals("Lions", results.get(0).match().teamA().name());
+        assertEquals("Tarantulas", results.get(1).match().teamA().name());
+        assertEquals("FC Awesome", results.get(2).match().teamB().name());
+        assertTrue(outContent.toString().contains("Enter 'done' when finished"));
+        assertFalse(outContent.toString().contains("Invalid format"));
+    }
+
+    @Test
+    void processInput_LargeFeedWithoutDone_StandingsMatchDirectAggregation() {
+        // Arrange
+        Random random = new Random(15);
+        StandingsTable expected = new StandingsTable();
+        StringBuilder feed = new StringBuilder();
+        for (int i = 0; i < 100_000; i++) {
+            String teamA = "Team" + random.nextInt(50);
+            String teamB = "Team" + random.nextInt(50);
+            int scoreA = random.nextInt(5);
+            int scoreB = random.nextInt(5);
+            feed.append(teamA).append(' ').append(scoreA).append(", ")
+                .append(teamB).append(' ').append(scoreB).append('\n');
+            expected.accept(teamA, scoreA, teamB, scoreB);
+        }
+        StandingsTable standings = new StandingsTable();
+
+        // Act
+        PipelinedStdInMatchProcessor.builder()
+                                    .input(new ByteArrayInputStream(feed.toString().getBytes(StandardCharsets.UTF_8)))
+                                    .sink(standings)
+                                    .parallelism(4)
+                                    .build()
+                                    .processInput();
+
+        // Assert
+        assertEquals(100_000, standings.matchCount());
+        assertEquals(expected.ranking(), standings.ranking());
+    }
+
+    @Test
+    void processInput_InvalidScore_ThrowsNumberFormatException() {
+        // Arrange
+        InputStream input = new ByteArrayInputStream("Lions 3, Snakes 1\nLions x, Snakes 1\ndone\n".getBytes());
+        PipelinedStdInMatchProcessor processor = PipelinedStdInMatchProcessor.builder()
+                                                                             .input(input)
+                                                                             .build();
+
+        // Act & Assert
+        assertThrows(NumberFormatException.class, processor::processInput);
+    }
+
+    @Test
+    void processInput_ReadFailure_PrintsError() {
+        // Arrange
+        InputStream input = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("Connection reset");
+            }
+        };
+
+        // Act
+        List<MatchResult> results = PipelinedStdInMatchProcessor.builder()
+                                                                .input(input)
+                                                                .build()
+                                                                .processInput();
+
+        // Assert
+        assertTrue(results.isEmpty());
+        assertTrue(outContent.toString().contains("Unable to process input: Connection reset"));
+    }
+}
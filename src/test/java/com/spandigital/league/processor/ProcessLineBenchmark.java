@@ -0,0 +1,115 @@
+package com.spandigital.league.processor;
+
+import com.spandigital.league.benchmark.LeagueGenerator;
+import com.spandigital.league.match.dto.Match;
+import com.spandigital.league.match.dto.MatchResult;
+import com.spandigital.league.match.dto.TeamScore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the index based line scanner in {@link AbstractMatchProcessor#processLine(String)}
+ * with the original split/replaceAll implementation, over generated lines.
+ * Run via {@link #main(String[])} or the benchmark profile.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProcessLineBenchmark {
+
+    private static final int LINE_COUNT = 4_096;
+
+    @Param({"20", "1000000"})
+    private int teams;
+
+    private String[] lines;
+    private AbstractMatchProcessor processor;
+    private int index;
+
+    private static class BenchmarkMatchProcessor extends AbstractMatchProcessor {
+        BenchmarkMatchProcessor() {
+            super((Scanner) null);
+        }
+
+        @Override
+        public List<MatchResult> processInput() {
+            return getResults();
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        lines = LeagueGenerator.lines(LINE_COUNT, teams);
+        processor = new BenchmarkMatchProcessor();
+    }
+
+    @Benchmark
+    public void scanner(Blackhole blackhole) {
+        List<MatchResult> results = processor.getResults();
+        processor.processLine(nextLine());
+        blackhole.consume(results.getLast());
+        results.clear();
+    }
+
+    @Benchmark
+    public MatchResult regex() {
+        return legacyProcessLine(nextLine());
+    }
+
+    private String nextLine() {
+        String line = lines[index];
+        index = (index + 1) % lines.length;
+        return line;
+    }
+
+    // The split/replaceAll parser this benchmark measures against
+    private static MatchResult legacyProcessLine(String line) {
+        var parts = line.split(",");
+        if (parts.length != 2) {
+            return null;
+        }
+        return new MatchResult(new Match(legacyExtractTeamScore(parts[0]), legacyExtractTeamScore(parts[1])));
+    }
+
+    private static TeamScore legacyExtractTeamScore(String part) {
+        String scoreStr = part.replaceAll(".*?(\\d+)\\s*$", "$1");
+        int score;
+        try {
+            score = Integer.parseInt(scoreStr);
+        } catch (NumberFormatException e) {
+            throw new NumberFormatException("Invalid score format: " + part);
+        }
+        String name = part.replaceAll("\\s*\\d+\\s*$", "").trim();
+        return TeamScore.builder()
+                        .score(score)
+                        .name(name)
+                        .build();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ProcessLineBenchmark.class.getSimpleName())
+                                       .addProfiler(GCProfiler.class)
+                                       .build()).run();
+    }
+}
@@ -0,0 +1,61 @@
+package com.spandigital.league.processor;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TeamNameCacheTest {
+
+    @Test
+    void name_RepeatedBytes_ReturnsSameInstance() {
+        // Arrange
+        TeamNameCache cache = new TeamNameCache();
+        byte[] bytes = "Malmö FF".getBytes(StandardCharsets.UTF_8);
+        byte[] buffer = Arrays.copyOf(bytes, bytes.length + 10);
+
+        // Act
+        String first = cache.name(bytes, bytes.length);
+        String second = cache.name(buffer, bytes.length);
+
+        // Assert
+        assertEquals("Malmö FF", first);
+        assertSame(first, second);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void name_ManyDistinctNames_KeepsEveryMappingAcrossRehashes() {
+        // Arrange
+        TeamNameCache cache = new TeamNameCache();
+        String[] names = new String[5_000];
+        for (int i = 0; i < names.length; i++) {
+            byte[] bytes = ("Team" + i).getBytes(StandardCharsets.UTF_8);
+            names[i] = cache.name(bytes, bytes.length);
+        }
+
+        // Act & Assert
+        for (int i = 0; i < names.length; i++) {
+            byte[] bytes = ("Team" + i).getBytes(StandardCharsets.UTF_8);
+            assertSame(names[i], cache.name(bytes, bytes.length));
+        }
+        assertEquals(names.length, cache.size());
+    }
+
+    @Test
+    void name_PrefixOfKnownName_IsADifferentName() {
+        // Arrange
+        TeamNameCache cache = new TeamNameCache();
+        byte[] bytes = "Lions FC".getBytes(StandardCharsets.UTF_8);
+        cache.name(bytes, bytes.length);
+
+        // Act
+        String prefix = cache.name(bytes, 5);
+
+        // Assert
+        assertEquals("Lions", prefix);
+        assertEquals(2, cache.size());
+    }
+}
@@ -0,0 +1,98 @@
+package com.spandigital.league.server;
+
+import com.spandigital.league.benchmark.LeagueGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Load test of the standings endpoint: concurrent local clients fetching the JSON and CSV table, with
+ * If-None-Match revalidation, and fetching after every new match so each response is rendered afresh.
+ * The cached responses should be served at the same rate for a small and a large table.
+ * Run via {@link #main(String[])} or the benchmark profile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class StandingsServerBenchmark {
+
+    private static final int MATCHES = 200_000;
+
+    @Param({"20", "10000"})
+    private int teams;
+
+    private PublishedStandings standings;
+    private StandingsServer server;
+    private HttpClient client;
+    private HttpRequest json;
+    private HttpRequest csv;
+    private HttpRequest revalidate;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        standings = new PublishedStandings();
+        LeagueGenerator.generate(MATCHES, teams, standings);
+        server = StandingsServer.start(standings, 0);
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        URI uri = URI.create("http://127.0.0.1:" + server.port() + "/standings");
+        json = HttpRequest.newBuilder(uri).GET().build();
+        csv = HttpRequest.newBuilder(URI.create(uri + ".csv")).GET().build();
+        revalidate = HttpRequest.newBuilder(uri).header("If-None-Match", standings.current().etag()).GET().build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        server.close();
+        client.close();
+    }
+
+    @Benchmark
+    public byte[] json() throws Exception {
+        return client.send(json, HttpResponse.BodyHandlers.ofByteArray()).body();
+    }
+
+    @Benchmark
+    public byte[] csv() throws Exception {
+        return client.send(csv, HttpResponse.BodyHandlers.ofByteArray()).body();
+    }
+
+    @Benchmark
+    public int notModified() throws Exception {
+        return client.send(revalidate, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    @Benchmark
+    public byte[] jsonAfterEveryMatch() throws Exception {
+        standings.accept("Lions", 1, "Snakes", 0);
+        return client.send(json, HttpResponse.BodyHandlers.ofByteArray()).body();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(StandingsServerBenchmark.class.getSimpleName()).build()).run();
+    }
+}
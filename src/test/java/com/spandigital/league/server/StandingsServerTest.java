@@ -0,0 +1,135 @@
+package com.spandigital.league.server;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StandingsServerTest {
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private PublishedStandings standings;
+    private StandingsServer server;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        standings = new PublishedStandings();
+        server = StandingsServer.start(standings, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.close();
+    }
+
+    @Test
+    void get_Standings_ReturnsJsonAndCsvOfCurrentTable() throws Exception {
+        // Arrange
+        standings.accept("Lions", 3, "Snakes", 3);
+        standings.accept("Tarantulas", 1, "FC Awesome", 0);
+        standings.accept("Lions", 1, "FC Awesome", 1);
+
+        // Act
+        HttpResponse<String> json = get("/standings", null);
+        HttpResponse<String> csv = get("/standings.csv", null);
+
+        // Assert
+        assertEquals(200, json.statusCode());
+        assertEquals("application/json; charset=utf-8", json.headers().firstValue("Content-Type").orElseThrow());
+        assertTrue(json.body().startsWith("{\"version\":3,\"matches\":3,\"standings\":[{\"position\":1,"
+                + "\"team\":\"Tarantulas\",\"played\":1,\"won\":1,\"drawn\":0,\"lost\":0,\"goalsFor\":1,"
+                + "\"goalsAgainst\":0,\"goalDifference\":1,\"points\":3},{\"position\":2,\"team\":\"Lions\""));
+        assertEquals(200, csv.statusCode());
+        assertEquals("""
+                position,team,played,won,drawn,lost,goals_for,goals_against,goal_difference,points
+                1,Tarantulas,1,1,0,0,1,0,1,3
+                2,Lions,2,0,2,0,4,4,0,2
+                3,FC Awesome,2,0,1,1,1,2,-1,1
+                4,Snakes,1,0,1,0,3,3,0,1
+                """, csv.body());
+    }
+
+    @Test
+    void get_UnchangedStandings_ServesSameRenderedBytesAndNotModified() throws Exception {
+        // Arrange
+        standings.accept("Lions", 3, "Snakes", 1);
+        RenderedStandings rendered = standings.current();
+
+        // Act
+        HttpResponse<String> conditional = get("/standings", rendered.etag());
+        RenderedStandings unchanged = standings.current();
+        standings.accept("Snakes", 2, "Lions", 0);
+        HttpResponse<String> changed = get("/standings", rendered.etag());
+
+        // Assert
+        assertSame(rendered, unchanged);
+        assertEquals(304, conditional.statusCode());
+        assertEquals("", conditional.body());
+        assertEquals(200, changed.statusCode());
+        assertEquals(standings.current().etag(), changed.headers().firstValue("ETag").orElseThrow());
+        assertTrue(standings.current().etag().endsWith("-2\""));
+        assertNotSame(rendered, standings.current());
+    }
+
+    @Test
+    void get_EtagFromBeforeRestart_ServesStandingsAtSameVersion() throws Exception {
+        // Arrange - an earlier run reached the same version with different standings
+        PublishedStandings earlier = new PublishedStandings();
+        earlier.accept("Lions", 3, "Snakes", 1);
+        String earlierEtag = earlier.current().etag();
+        standings.accept("Snakes", 2, "Lions", 0);
+
+        // Act
+        HttpResponse<String> response = get("/standings", earlierEtag);
+
+        // Assert
+        assertEquals(earlier.version(), standings.version());
+        assertEquals(200, response.statusCode());
+        assertTrue(response.body().contains("\"team\":\"Snakes\",\"played\":1,\"won\":1"));
+    }
+
+    @Test
+    void request_OtherMethodOrPath_IsRejected() throws Exception {
+        // Act
+        HttpResponse<String> post = client.send(HttpRequest.newBuilder(uri("/standings"))
+                                                           .POST(HttpRequest.BodyPublishers.ofString("x"))
+                                                           .build(), HttpResponse.BodyHandlers.ofString());
+        HttpResponse<String> unknown = get("/standings/teams", null);
+
+        // Assert
+        assertEquals(405, post.statusCode());
+        assertEquals(404, unknown.statusCode());
+    }
+
+    @Test
+    void render_TeamNamesWithSpecialCharacters_AreEscaped() {
+        // Arrange
+        standings.accept("Lions, \"Pride\"", 2, "Snakes\\Vipers", 0);
+
+        // Act
+        RenderedStandings rendered = standings.current();
+
+        // Assert
+        assertTrue(new String(rendered.json()).contains("\"team\":\"Lions, \\\"Pride\\\"\""));
+        assertTrue(new String(rendered.json()).contains("\"team\":\"Snakes\\\\Vipers\""));
+        assertTrue(new String(rendered.csv()).contains("\n1,\"Lions, \"\"Pride\"\"\",1,1,0,0,2,0,2,3\n"));
+    }
+
+    private HttpResponse<String> get(String path, String etag) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri(path)).GET();
+        if (etag != null) {
+            request.header("If-None-Match", etag);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:" + server.port() + path);
+    }
+}
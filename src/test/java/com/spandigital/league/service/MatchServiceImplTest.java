@@ -4,6 +4,7 @@ import com.spandigital.league.match.MatchServiceImpl;
 import com.spandigital.league.match.dto.Match;
 import com.spandigital.league.match.dto.MatchResult;
 import com.spandigital.league.match.dto.TeamScore;
+import com.spandigital.league.metrics.LeagueMetrics;
 import com.spandigital.league.processor.StdInMatchProcessor;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
@@ -15,12 +16,24 @@ import org.mockito.MockedStatic;
 import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.io.PrintStream;
 import java.lang.reflect.Field;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -134,56 +147,710 @@ class MatchServiceImplTest {
     }
 
     @Test
-    void updateTeamPoints_NewTeam_AddsInitialPoints() throws Exception {
+    void leagueResultInput_CsvFile_StreamsMatchesIntoStandings() throws Exception {
         // Arrange
-        Map<String, Integer> teamPoints = new HashMap<>();
+        Path csvFile = Files.createTempFile("league", ".csv");
+        Files.write(csvFile, List.of("Lions 3, Snakes 3", "Tarantulas 1, FC Awesome 0", "Lions 1, FC Awesome 1"));
+        when(mockScanner.nextInt()).thenReturn(2);
+        when(mockScanner.nextLine()).thenReturn("", csvFile.toString());
+
+        try {
+            // Act
+            matchService.leagueResultInput();
+        } finally {
+            Files.delete(csvFile);
+        }
+
+        // Assert
+        String output = outContent.toString();
+        assertTrue(output.contains("Processing 3 match results..."));
+        assertTrue(output.indexOf("Processing 3 match results...") < output.indexOf("Processed: Lions 3 - Snakes 3"));
+        assertTrue(output.indexOf("Tarantulas: 3 pts") < output.indexOf("Lions: 2 pts"));
+        assertTrue(output.contains("FC Awesome: 1 pts"));
+        assertTrue(output.contains("Processing complete!"));
+    }
+
+    @Test
+    void leagueResultInput_CsvFileFailsPartway_DiscardsPartialStandings() throws Exception {
+        // Arrange - the score of the second line overflows an int, which stops reading
+        Path csvFile = Files.createTempFile("league", ".csv");
+        Files.write(csvFile, List.of("Lions 3, Snakes 3", "Tarantulas 99999999999, FC Awesome 0"));
+        when(mockScanner.nextInt()).thenReturn(3);
+        when(mockScanner.nextLine()).thenReturn("", csvFile.toString());
+
+        try {
+            // Act
+            matchService.leagueResultInput();
+        } finally {
+            Files.delete(csvFile);
+        }
 
-        // Use reflection to access private method
-        var updateTeamPointsMethod = MatchServiceImpl.class.getDeclaredMethod(
-                "updateTeamPoints", Map.class, String.class, int.class);
-        updateTeamPointsMethod.setAccessible(true);
+        // Assert
+        String output = outContent.toString();
+        assertTrue(output.contains("Processing 0 match results..."));
+        assertFalse(output.contains("Processed: Lions 3 - Snakes 3"));
+        assertFalse(output.contains("Lions: 1 pts"));
+        assertTrue(output.contains("Processing complete!"));
+    }
+
+    @Test
+    void leagueResultInput_MenuChoiceAndMatchesPipedToStdIn_ProcessesEveryMatch() {
+        // Arrange - standard input is a pipe, buffered like the real System.in
+        StringBuilder piped = new StringBuilder("1\n");
+        for (int i = 0; i < 100; i++) {
+            piped.append("Lions ").append(i % 3).append(", Snakes 1\n");
+        }
+        piped.append("done\n");
+        System.setIn(new BufferedInputStream(new ByteArrayInputStream(piped.toString().getBytes(StandardCharsets.UTF_8))));
+        MatchServiceImpl service = new MatchServiceImpl();
+        service.getSettings().setEchoMatches(false);
 
         // Act
-        updateTeamPointsMethod.invoke(matchService, teamPoints, "NewTeam", 3);
+        service.leagueResultInput();
+
+        // Assert - the menu's Scanner must not have read the matches ahead of the processor
+        String output = outContent.toString();
+        assertTrue(output.contains("Processing 100 match results..."));
+        assertTrue(output.indexOf("Snakes: 135 pts") < output.indexOf("Lions: 132 pts"));
+    }
+
+    @Test
+    void leagueResultInput_SequentialCsvFailsPartway_EchoesNothing() throws Exception {
+        // Arrange - the line before the overflowing score is read, and echoed, before reading stops
+        Path csvFile = Files.createTempFile("league", ".csv");
+        Files.write(csvFile, List.of("Lions 3, Snakes 3", "Tarantulas 99999999999, FC Awesome 0"));
+        when(mockScanner.nextInt()).thenReturn(2);
+        when(mockScanner.nextLine()).thenReturn("", csvFile.toString());
+
+        try {
+            // Act
+            matchService.leagueResultInput();
+        } finally {
+            Files.delete(csvFile);
+        }
 
         // Assert
-        assertEquals(3, teamPoints.get("NewTeam"));
+        String output = outContent.toString();
+        assertFalse(output.contains("Processed: Lions 3 - Snakes 3"));
+        assertTrue(output.contains("Processing 0 match results..."));
+        assertTrue(output.contains("Processing complete!"));
     }
 
     @Test
-    void updateTeamPoints_ExistingTeam_AddsPointsToExistingTotal() throws Exception {
+    void leagueResultInput_BatchArgs_ProcessesInputsWithoutPrompting() throws Exception {
         // Arrange
-        Map<String, Integer> teamPoints = new HashMap<>();
-        teamPoints.put("ExistingTeam", 2);
+        Path first = Files.createTempFile("league", ".csv");
+        Path second = Files.createTempFile("league", ".csv");
+        Files.write(first, List.of("Lions 3, Snakes 3", "Tarantulas 1, FC Awesome 0"));
+        Files.write(second, List.of("Lions 1, FC Awesome 1"));
+
+        try {
+            // Act
+            matchService.leagueResultInput("--input", first.toString(), "--input=" + second, "--format=csv");
+        } finally {
+            Files.delete(first);
+            Files.delete(second);
+        }
 
-        // Use reflection to access private method
-        var updateTeamPointsMethod = MatchServiceImpl.class.getDeclaredMethod(
-                "updateTeamPoints", Map.class, String.class, int.class);
-        updateTeamPointsMethod.setAccessible(true);
+        // Assert
+        verifyNoInteractions(mockScanner);
+        String output = outContent.toString();
+        assertFalse(output.contains("Choose input method:"));
+        assertTrue(output.contains("Processed: Lions 1 - FC Awesome 1"));
+        assertTrue(output.contains("Processed 3 match results"));
+        assertTrue(output.indexOf("Tarantulas: 3 pts") < output.indexOf("Lions: 2 pts"));
+    }
 
-        // Act
-        updateTeamPointsMethod.invoke(matchService, teamPoints, "ExistingTeam", 3);
+    @Test
+    void leagueResultInput_BatchQuietInputs_ReadsInputsConcurrentlyIntoOneTable() throws Exception {
+        // Arrange
+        Path first = Files.createTempFile("league", ".csv");
+        Path second = Files.createTempFile("league", ".csv");
+        Path third = Files.createTempFile("league", ".csv");
+        Files.write(first, List.of("Lions 3, Snakes 3", "Tarantulas 1, FC Awesome 0"));
+        Files.write(second, List.of("Lions 1, FC Awesome 1"));
+        Files.write(third, List.of("Tarantulas 3, Snakes 1", "Lions 4, Grouches 0"));
+
+        try {
+            // Act
+            matchService.leagueResultInput("--input", first.toString(), "--input", second.toString(),
+                    "--input", third.toString(), "--quiet");
+        } finally {
+            Files.delete(first);
+            Files.delete(second);
+            Files.delete(third);
+        }
 
         // Assert
-        assertEquals(5, teamPoints.get("ExistingTeam"));
+        String output = outContent.toString();
+        assertTrue(output.contains("Processed 5 match results"));
+        assertTrue(output.indexOf("Tarantulas: 6 pts") < output.indexOf("Lions: 5 pts"));
+        assertTrue(output.indexOf("Lions: 5 pts") < output.indexOf("FC Awesome: 1 pt"));
     }
 
     @Test
-    void updateTeamPoints_TeamWithZeroPoints_RemainsPresentInMap() throws Exception {
+    void leagueResultInput_BatchMoreInputsThanParallelism_ReadsEveryInput() throws Exception {
         // Arrange
-        Map<String, Integer> teamPoints = new HashMap<>();
+        Path directory = Files.createTempDirectory("league");
+        List<Path> inputs = new ArrayList<>();
+        List<String> args = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            inputs.add(Files.write(directory.resolve("round" + i + ".csv"), List.of("Lions 1, Snakes 0", "Tarantulas 2, Lions 2")));
+            args.addAll(List.of("--input", inputs.get(i).toString()));
+        }
+        args.addAll(List.of("--input", directory + "/round1*.csv", "--format", "mapped", "--parallelism", "2", "--quiet"));
+
+        try {
+            // Act
+            matchService.leagueResultInput(args.toArray(String[]::new));
+        } finally {
+            for (Path input : inputs) {
+                Files.delete(input);
+            }
+            Files.delete(directory);
+        }
 
-        // Use reflection to access private method
-        var updateTeamPointsMethod = MatchServiceImpl.class.getDeclaredMethod(
-                "updateTeamPoints", Map.class, String.class, int.class);
-        updateTeamPointsMethod.setAccessible(true);
+        // Assert - the glob adds round1, round10 and round11 once more
+        String output = outContent.toString();
+        assertTrue(output.contains("Processed 30 match results"));
+        assertTrue(output.indexOf("Lions: 60 pts") < output.indexOf("Tarantulas: 15 pts"));
+    }
 
-        // Act
-        updateTeamPointsMethod.invoke(matchService, teamPoints, "ZeroPointTeam", 0);
+    @Test
+    void leagueResultInput_BatchOutputFile_WritesQuietTopStandingsToFile() throws Exception {
+        // Arrange
+        Path input = Files.createTempFile("league", ".csv");
+        Path output = Files.createTempFile("standings", ".txt");
+        Files.write(input, List.of("Lions 3, Snakes 3", "Tarantulas 1, FC Awesome 0", "Lions 1, FC Awesome 1"));
+
+        String written;
+        try {
+            // Act
+            matchService.leagueResultInput("--input", input.toString(), "--output", output.toString(),
+                    "--parallelism", "2", "--top", "2", "--quiet");
+            written = Files.readString(output);
+        } finally {
+            Files.delete(input);
+            Files.delete(output);
+        }
+
+        // Assert
+        assertEquals("", outContent.toString());
+        assertFalse(written.contains("Processed:"));
+        assertTrue(written.contains("Processed 3 match results"));
+        assertTrue(written.contains("Tarantulas: 3 pts"));
+        assertTrue(written.contains("Lions: 2 pts"));
+        assertFalse(written.contains("FC Awesome"));
+    }
+
+    @Test
+    void leagueResultInput_BatchArchiveReload_PrintsSameStandingsAsCsvImport() throws Exception {
+        // Arrange
+        Path input = Files.createTempFile("league", ".csv");
+        Path archive = Files.createTempFile("league", ".lga");
+        Files.write(input, List.of("Lions 3, Snakes 3", "Tarantulas 1, FC Awesome 0", "Lions 1, FC Awesome 1"));
+
+        String imported;
+        String reloaded;
+        try {
+            // Act
+            matchService.leagueResultInput("--input", input.toString(), "--archive", archive.toString(), "--quiet");
+            imported = outContent.toString();
+            outContent.reset();
+            matchService.leagueResultInput("--input", archive.toString(), "--format", "archive", "--quiet");
+            reloaded = outContent.toString();
+        } finally {
+            Files.delete(input);
+            Files.delete(archive);
+        }
+
+        // Assert
+        assertTrue(imported.contains("Processed 3 match results"));
+        assertTrue(imported.contains("Tarantulas: 3 pts"));
+        assertEquals(imported, reloaded);
+    }
+
+    @Test
+    void leagueResultInput_BatchDirectoryInput_ReadsEveryCsvFile() throws Exception {
+        // Arrange
+        Path directory = Files.createTempDirectory("league");
+        Path first = Files.write(directory.resolve("round1.csv"), List.of("Lions 3, Snakes 3", "Tarantulas 1, FC Awesome 0"));
+        Path second = Files.write(directory.resolve("round2.csv"), List.of("Lions 1, FC Awesome 1"));
+
+        try {
+            // Act
+            matchService.leagueResultInput("--input", directory.toString(), "--quiet");
+        } finally {
+            Files.delete(first);
+            Files.delete(second);
+            Files.delete(directory);
+        }
 
         // Assert
-        assertTrue(teamPoints.containsKey("ZeroPointTeam"));
-        assertEquals(0, teamPoints.get("ZeroPointTeam"));
+        String output = outContent.toString();
+        assertTrue(output.contains("Processed 3 match results"));
+        assertTrue(output.indexOf("Tarantulas: 3 pts") < output.indexOf("Lions: 2 pts"));
+    }
+
+    @Test
+    void leagueResultInput_BatchCache_ReusesStandingsUntilInputChanges() throws Exception {
+        // Arrange
+        Path directory = Files.createTempDirectory("league");
+        Path input = Files.write(directory.resolve("season.csv"), List.of("Lions 3, Snakes 3", "Tarantulas 1, FC Awesome 0"));
+        Path cacheDirectory = directory.resolve("cache");
+        matchService.getSettings().setCacheDirectory(cacheDirectory.toString());
+        String[] args = {"--input", input.toString(), "--quiet", "--cache"};
+
+        try {
+            // Act
+            matchService.leagueResultInput(args);
+            String computed = outContent.toString();
+            outContent.reset();
+            matchService.leagueResultInput(args);
+            String cached = outContent.toString();
+            outContent.reset();
+            Files.write(input, List.of("Lions 3, Snakes 3", "Tarantulas 1, FC Awesome 0", "Lions 1, FC Awesome 1"));
+            matchService.leagueResultInput(args);
+            String recomputed = outContent.toString();
+
+            // Assert
+            assertTrue(computed.contains("Processed 2 match results"));
+            assertEquals(computed, cached);
+            try (var entries = Files.list(cacheDirectory)) {
+                assertEquals(2, entries.filter(file -> file.toString().endsWith(".standings")).count());
+            }
+            assertTrue(recomputed.contains("Processed 3 match results"));
+            assertTrue(recomputed.contains("Lions: 2 pts"));
+        } finally {
+            try (var files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+            }
+        }
+    }
+
+    @Test
+    void leagueResultInput_BatchFullTableWithTieBreakers_RanksByGoalDifference() throws Exception {
+        // Arrange
+        Path input = Files.createTempFile("league", ".csv");
+        Files.write(input, List.of("Lions 1, Snakes 0", "Tarantulas 4, FC Awesome 0"));
+
+        try {
+            // Act
+            matchService.leagueResultInput("--input", input.toString(), "--quiet", "--full-table",
+                    "--tie-breakers", "points,goal-difference");
+        } finally {
+            Files.delete(input);
+        }
+
+        // Assert
+        String output = outContent.toString();
+        assertTrue(output.contains("Pos Team       P W D L GF GA GD Pts"));
+        assertTrue(output.contains("  1 Tarantulas 1 1 0 0  4  0 +4   3"));
+        assertTrue(output.indexOf("Tarantulas") < output.indexOf("Lions"));
+    }
+
+    @Test
+    void leagueResultInput_BatchCacheWithInvalidLines_PrintsThemOnEveryRun() throws Exception {
+        // Arrange
+        Path directory = Files.createTempDirectory("league");
+        Path input = Files.write(directory.resolve("season.csv"), List.of("Lions 3, Snakes 3", "not a match"));
+        Path cacheDirectory = directory.resolve("cache");
+        matchService.getSettings().setCacheDirectory(cacheDirectory.toString());
+        String[] args = {"--input", input.toString(), "--quiet", "--cache"};
+
+        try {
+            // Act
+            matchService.leagueResultInput(args);
+            String first = outContent.toString();
+            outContent.reset();
+            matchService.leagueResultInput(args);
+            String second = outContent.toString();
+
+            // Assert
+            assertTrue(first.startsWith("Invalid format, please use: TeamA ScoreA, TeamB ScoreB"));
+            assertEquals(first, second);
+            assertFalse(Files.exists(cacheDirectory), "nothing was cached");
+        } finally {
+            try (var files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+            }
+        }
+    }
+
+    @Test
+    void leagueResultInput_BatchMetrics_ReportsToStandardError() throws Exception {
+        // Arrange
+        Path input = Files.createTempFile("league", ".csv");
+        Files.write(input, List.of("Lions 3, Snakes 3", "Tarantulas 1, FC Awesome 0", "not a match"));
+        ByteArrayOutputStream errContent = new ByteArrayOutputStream();
+        PrintStream originalErr = System.err;
+        System.setErr(new PrintStream(errContent));
+
+        try {
+            // Act
+            matchService.leagueResultInput("--input", input.toString(), "--format", "csv", "--quiet", "--metrics");
+        } finally {
+            System.setErr(originalErr);
+            Files.delete(input);
+        }
+
+        // Assert
+        String report = errContent.toString();
+        assertTrue(report.startsWith("Metrics: 3 lines (1 invalid)"));
+        assertTrue(report.contains("read"));
+        assertTrue(report.contains("parse"));
+        assertTrue(report.contains("rank"));
+        assertFalse(outContent.toString().contains("Metrics"));
+        assertFalse(LeagueMetrics.global().isEnabled());
+    }
+
+    @Test
+    void leagueResultInput_BatchServe_ServesStandingsUntilInterrupted() throws Exception {
+        // Arrange
+        Path input = Files.createTempFile("league", ".csv");
+        Files.write(input, List.of("Lions 3, Snakes 3", "Tarantulas 1, FC Awesome 0", "Lions 1, FC Awesome 1"));
+        int port;
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            port = socket.getLocalPort();
+        }
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/standings.csv")).build();
+        Thread batch = Thread.ofPlatform().start(() -> matchService.leagueResultInput("--input", input.toString(),
+                "--quiet", "--serve", Integer.toString(port)));
+
+        String served;
+        try {
+            // Act - poll until the batch has written its output, then stop serving
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (!outContent.toString().contains("FC Awesome") && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            served = client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+        } finally {
+            batch.interrupt();
+            batch.join();
+            Files.delete(input);
+        }
+
+        // Assert
+        assertTrue(outContent.toString().contains("Tarantulas: 3 pts"));
+        assertTrue(served.contains("1,Tarantulas,1,1,0,0,1,0,1,3"));
+        assertTrue(served.contains("2,Lions,2,0,2,0,4,4,0,2"));
+        assertFalse(batch.isAlive());
+    }
+
+    @Test
+    void leagueResultInput_BatchServeFromCheckpoint_ServesRestoredMatches() throws Exception {
+        // Arrange - a first run checkpoints two matches, the served run only reads the appended third
+        Path input = Files.createTempFile("league", ".csv");
+        Path checkpoint = Path.of(input + ".checkpoint");
+        Files.write(input, List.of("Lions 3, Snakes 3", "Tarantulas 1, FC Awesome 0"));
+        matchService.leagueResultInput("--input", input.toString(), "--quiet", "--checkpoint");
+        Files.write(input, List.of("Lions 1, FC Awesome 1"), StandardOpenOption.APPEND);
+        outContent.reset();
+        int port;
+        try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+            port = socket.getLocalPort();
+        }
+        HttpClient client = HttpClient.newHttpClient();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://127.0.0.1:" + port + "/standings.csv")).build();
+        Thread batch = Thread.ofPlatform().start(() -> matchService.leagueResultInput("--input", input.toString(),
+                "--quiet", "--checkpoint", "--serve", Integer.toString(port)));
+
+        String served;
+        try {
+            // Act
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (!outContent.toString().contains("FC Awesome") && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            served = client.send(request, HttpResponse.BodyHandlers.ofString()).body();
+        } finally {
+            batch.interrupt();
+            batch.join();
+            Files.delete(input);
+            Files.deleteIfExists(checkpoint);
+        }
+
+        // Assert
+        assertTrue(outContent.toString().contains("Processed 3 match results"));
+        assertTrue(served.contains("1,Tarantulas,1,1,0,0,1,0,1,3"));
+        assertTrue(served.contains("2,Lions,2,0,2,0,4,4,0,2"));
+    }
+
+    @Test
+    void leagueResultInput_BatchLeagues_PrintsSummaryAndTablePerLeague() throws Exception {
+        // Arrange - Lions play in both leagues and must not be merged
+        Path input = Files.createTempFile("league", ".csv");
+        Files.write(input, List.of("Premier, Lions 3, Snakes 3", "Premier, Tarantulas 1, FC Awesome 0",
+                "Championship, Lions 2, Grouches 0", "Premier, Lions 1, FC Awesome 1"));
+
+        try {
+            // Act
+            matchService.leagueResultInput("--input", input.toString(), "--leagues");
+        } finally {
+            Files.delete(input);
+        }
+
+        // Assert
+        String output = outContent.toString();
+        assertTrue(output.startsWith("Processed 4 match results in 2 leagues"));
+        assertTrue(output.contains("Championship: 1 matches, 2 teams, leader Lions (3 pts)"));
+        assertTrue(output.contains("Premier: 3 matches, 4 teams, leader Tarantulas (3 pts)"));
+        assertFalse(output.contains("Processed: "));
+        int championship = output.indexOf("League: Championship");
+        int premier = output.indexOf("League: Premier");
+        assertTrue(championship >= 0 && championship < premier);
+        assertTrue(output.indexOf("Lions: 3 pts", championship) < premier);
+        assertTrue(output.indexOf("Lions: 2 pts", premier) > premier);
+    }
+
+    @Test
+    void leagueResultInput_BatchArchiveFailedRead_LeavesExistingArchiveUnchanged() throws Exception {
+        // Arrange
+        Path directory = Files.createTempDirectory("league");
+        Path good = Files.write(directory.resolve("good.csv"), List.of("Lions 3, Snakes 3"));
+        Path bad = Files.write(directory.resolve("bad.csv"),
+                List.of("Tarantulas 1, FC Awesome 0", "Lions 1, FC Awesome 1", "Tarantulas 99999999999, Lions 0"));
+        Path archive = directory.resolve("season.lga");
+        matchService.leagueResultInput("--input", good.toString(), "--archive", archive.toString(), "--quiet");
+        byte[] before = Files.readAllBytes(archive);
+
+        List<Path> left;
+        byte[] after;
+        try {
+            // Act
+            assertThrows(IllegalArgumentException.class, () -> matchService.leagueResultInput(
+                    "--input", bad.toString(), "--format", "csv", "--archive", archive.toString(), "--quiet"));
+            after = Files.readAllBytes(archive);
+            try (var files = Files.list(directory)) {
+                left = files.sorted().toList();
+            }
+        } finally {
+            Files.delete(good);
+            Files.delete(bad);
+            Files.delete(archive);
+            Files.delete(directory);
+        }
+
+        // Assert - no temporary column or partial files are left behind either
+        assertArrayEquals(before, after);
+        assertEquals(List.of(bad, good, archive), left);
+    }
+
+    @Test
+    void leagueResultInput_BatchLeaguesSeveralInputs_MergesEveryInputIntoItsLeagues() throws Exception {
+        // Arrange - four inputs read concurrently, all adding to the same leagues and teams
+        List<Path> inputs = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Path input = Files.createTempFile("league", ".csv");
+            List<String> lines = new ArrayList<>();
+            for (int match = 0; match < 2_000; match++) {
+                lines.add((match % 2 == 0 ? "Premier" : "Championship") + ", Team" + (match % 10) + " 1, Team"
+                        + (match % 10 + 10) + " 0");
+            }
+            Files.write(input, lines);
+            inputs.add(input);
+        }
+        List<String> args = new ArrayList<>();
+        for (Path input : inputs) {
+            args.add("--input");
+            args.add(input.toString());
+        }
+        args.add("--leagues");
+
+        try {
+            // Act
+            matchService.leagueResultInput(args.toArray(String[]::new));
+        } finally {
+            for (Path input : inputs) {
+                Files.delete(input);
+            }
+        }
+
+        // Assert - each winner wins 200 matches per input and ties break by name
+        String output = outContent.toString();
+        assertTrue(output.startsWith("Processed 8000 match results in 2 leagues"));
+        assertTrue(output.contains("Championship: 4000 matches, 10 teams, leader Team1 (2400 pts)"));
+        assertTrue(output.contains("Premier: 4000 matches, 10 teams, leader Team0 (2400 pts)"));
+    }
+
+    @Test
+    void leagueResultInput_BatchLeaguesWithArchive_ThrowsIllegalArgumentException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> matchService.leagueResultInput("--input", "pom.xml", "--leagues", "--archive", "season.lga"));
+    }
+
+    @Test
+    void leagueResultInput_BatchRoundAndPositions_PrintsPastStandingsAndChart() throws Exception {
+        // Arrange - two rounds of two matches; Snakes lead after round 1, Tarantulas at the end
+        Path input = Files.createTempFile("league", ".csv");
+        Files.write(input, List.of("Snakes 2, Lions 0", "Tarantulas 1, FC Awesome 1",
+                "Tarantulas 3, Snakes 0", "Lions 1, FC Awesome 0"));
+
+        try {
+            // Act
+            matchService.leagueResultInput("--input", input.toString(), "--format", "csv", "--quiet",
+                    "--round", "1", "--positions");
+        } finally {
+            Files.delete(input);
+        }
+
+        // Assert
+        String output = outContent.toString();
+        assertTrue(output.contains("Processed 4 match results"));
+        assertTrue(output.contains("Standings after round 1 of 2, 2 matches"));
+        assertTrue(output.indexOf("Snakes: 3 pts") < output.indexOf("FC Awesome: 1 pt"));
+        assertFalse(output.contains("Tarantulas: 4 pts"));
+        assertTrue(output.contains("Positions by round:"));
+        assertTrue(output.contains("Tarantulas 3 1"));
+        assertTrue(output.contains("Snakes     1 3"));
+    }
+
+    @Test
+    void leagueResultInput_BatchSpill_PrintsSameTableAsInMemory() throws Exception {
+        // Arrange
+        Path input = Files.createTempFile("league", ".csv");
+        List<String> lines = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            lines.add("Team" + (i * 7 % 40) + " " + (i % 4) + ", Team" + ((i * 11 + 3) % 40) + " " + (i % 3));
+        }
+        Files.write(input, lines);
+        String inMemory;
+
+        try {
+            // Act
+            matchService.leagueResultInput("--input", input.toString(), "--quiet", "--full-table");
+            inMemory = outContent.toString();
+            outContent.reset();
+            matchService.leagueResultInput("--input", input.toString(), "--quiet", "--full-table", "--spill", "5");
+        } finally {
+            Files.delete(input);
+        }
+
+        // Assert
+        String output = outContent.toString();
+        assertTrue(output.contains("Processed 300 match results"));
+        assertEquals(inMemory, output);
+        assertThrows(IllegalArgumentException.class,
+                () -> matchService.leagueResultInput("--input", "pom.xml", "--spill", "5", "--positions"));
+    }
+
+    @Test
+    void leagueResultInput_BatchConfiguredSettingsThatDoNotApply_WarnsAndIgnoresThem() throws Exception {
+        // Arrange - a configured cache gives way to --spill, a configured spill budget to --cache
+        Path directory = Files.createTempDirectory("league");
+        Path input = Files.write(directory.resolve("season.csv"), List.of("Lions 3, Snakes 3", "Tarantulas 1, FC Awesome 0"));
+        matchService.getSettings().setCacheEnabled(true);
+        matchService.getSettings().setCacheDirectory(directory.resolve("cache").toString());
+        ByteArrayOutputStream errContent = new ByteArrayOutputStream();
+        PrintStream originalErr = System.err;
+        System.setErr(new PrintStream(errContent));
+        String spilled;
+        String spillWarning;
+
+        try {
+            // Act
+            matchService.leagueResultInput("--input", input.toString(), "--quiet", "--spill", "1");
+            spilled = outContent.toString();
+            spillWarning = errContent.toString();
+            errContent.reset();
+            matchService.getSettings().setCacheEnabled(false);
+            matchService.getSettings().setSpillMaxTeams(1);
+            matchService.leagueResultInput("--input", input.toString(), "--quiet", "--cache");
+        } finally {
+            System.setErr(originalErr);
+            try (var files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+            }
+        }
+
+        // Assert
+        assertTrue(spilled.contains("Processed 2 match results"));
+        assertTrue(spillWarning.startsWith("Ignoring league.cache.enabled for this run"));
+        assertTrue(errContent.toString().startsWith("Ignoring league.spill.max-teams for this run"));
+        assertThrows(IllegalArgumentException.class, () -> matchService.leagueResultInput("--input", "pom.xml",
+                "--quiet", "--cache", "--archive", "season.lga"));
+    }
+
+    @Test
+    void leagueResultInput_BatchCheckpointWithArchive_ThrowsIllegalArgumentException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> matchService.leagueResultInput("--input", "pom.xml",
+                "--format", "csv", "--checkpoint", "--archive", "season.lga"));
+    }
+
+    @Test
+    void leagueResultInput_BatchCheckpointWithRoundOrPositions_ThrowsIllegalArgumentException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> matchService.leagueResultInput("--input", "pom.xml",
+                "--format", "csv", "--checkpoint", "--round", "1"));
+        assertThrows(IllegalArgumentException.class, () -> matchService.leagueResultInput("--input", "pom.xml",
+                "--format", "csv", "--checkpoint", "--positions"));
+    }
+
+    @Test
+    void leagueResultInput_BatchSpillDirectory_ReadsFilesOneAtATimeIntoSameTable() throws Exception {
+        // Arrange
+        Path directory = Files.createTempDirectory("league");
+        for (int file = 0; file < 3; file++) {
+            List<String> lines = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                lines.add("Team" + ((i + file) * 7 % 30) + " " + (i % 4) + ", Team" + ((i * 11 + 3) % 30) + " " + (i % 3));
+            }
+            Files.write(directory.resolve("week" + file + ".csv"), lines);
+        }
+        String inMemory;
+
+        try {
+            // Act
+            matchService.leagueResultInput("--input", directory.toString(), "--quiet");
+            inMemory = outContent.toString();
+            outContent.reset();
+            matchService.leagueResultInput("--input", directory.toString(), "--quiet", "--spill", "4");
+        } finally {
+            try (var files = Files.list(directory)) {
+                for (Path file : files.toList()) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(directory);
+        }
+
+        // Assert
+        assertTrue(inMemory.contains("Processed 300 match results"));
+        assertEquals(inMemory, outContent.toString());
+    }
+
+    @Test
+    void leagueResultInput_BatchInputFailsPartway_ThrowsWithoutWritingStandings() throws Exception {
+        // Arrange - the score of the second line overflows an int, which stops reading
+        Path input = Files.createTempFile("league", ".csv");
+        Files.write(input, List.of("Lions 3, Snakes 3", "Tarantulas 99999999999, FC Awesome 0"));
+
+        try {
+            // Act & Assert
+            for (String format : List.of("csv", "mapped")) {
+                assertThrows(IllegalArgumentException.class, () -> matchService.leagueResultInput("--input",
+                        input.toString(), "--format", format, "--quiet"));
+            }
+            assertThrows(IllegalArgumentException.class, () -> matchService.leagueResultInput("--input",
+                    input.toString(), "--quiet", "--spill", "1"));
+        } finally {
+            Files.delete(input);
+        }
+        assertFalse(outContent.toString().contains("Team Standings:"));
+    }
+
+    @Test
+    void leagueResultInput_BatchMissingInputFile_ThrowsIllegalArgumentException() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> matchService.leagueResultInput("--input", "does-not-exist.csv"));
+        assertThrows(IllegalArgumentException.class,
+                () -> matchService.leagueResultInput("--input", "does-not-exist/*.csv"));
+        verifyNoInteractions(mockScanner);
     }
 
     @Test
@@ -252,6 +919,64 @@ class MatchServiceImplTest {
         assertTrue(output.contains("Team Standings:"));
     }
 
+    @Test
+    void processResults_ParallelReduction_OutputIdenticalToSequential() {
+        // Arrange
+        List<MatchResult> results = new ArrayList<>();
+        for (int i = 0; i < 50_000; i++) {
+            results.add(createMatchResult("Team" + (i % 37), i % 5, "Team" + ((i * 11 + 3) % 37), (i / 3) % 4));
+        }
+        matchService.processResults(results);
+        String sequentialOutput = outContent.toString();
+        outContent.reset();
+
+        // Act
+        matchService.getSettings().setParallelThreshold(1);
+        matchService.processResults(results);
+
+        // Assert
+        assertEquals(sequentialOutput, outContent.toString());
+    }
+
+    @Test
+    void processResults_QuietMode_SkipsPerMatchEcho() {
+        // Arrange
+        List<MatchResult> results = Arrays.asList(
+                createMatchResult("Lions", 3, "Snakes", 1),
+                createMatchResult("Lions", 1, "FC Awesome", 1)
+        );
+        matchService.getSettings().setEchoMatches(false);
+
+        // Act
+        matchService.processResults(results);
+
+        // Assert
+        String output = outContent.toString();
+        assertFalse(output.contains("Processed:"));
+        assertTrue(output.contains("Lions: 4 pts"));
+        assertTrue(output.contains("FC Awesome: 1 pts"));
+    }
+
+    @Test
+    void processResults_TopTeams_PrintsOnlyBestRanked() {
+        // Arrange
+        List<MatchResult> results = Arrays.asList(
+                createMatchResult("Lions", 3, "Snakes", 1),
+                createMatchResult("Tarantulas", 1, "FC Awesome", 1),
+                createMatchResult("Grouches", 2, "Snakes", 0)
+        );
+        matchService.getSettings().setTop(2);
+
+        // Act
+        matchService.processResults(results);
+
+        // Assert
+        String standings = outContent.toString().substring(outContent.toString().indexOf("Team Standings:"));
+        assertTrue(standings.indexOf("Grouches: 3 pts") < standings.indexOf("Lions: 3 pts"));
+        assertFalse(standings.contains("FC Awesome"));
+        assertFalse(standings.contains("Snakes"));
+    }
+
     // Helper method to create match results for testing
     private MatchResult createMatchResult(String teamA, int scoreA, String teamB, int scoreB) {
         TeamScore teamScoreA = TeamScore.builder()
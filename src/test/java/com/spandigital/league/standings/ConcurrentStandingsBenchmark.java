@@ -0,0 +1,137 @@
+package com.spandigital.league.standings;
+
+import com.spandigital.league.benchmark.LeagueGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Contention of writer threads feeding one shared table: a {@link ConcurrentStandingsTable} updated per
+ * match, the same table fed by per-writer partials merged once, and a StandingsTable behind a single
+ * lock. Each invocation records the same matches split evenly over the writers and takes a snapshot.
+ * Run via {@link #main(String[])} or the benchmark profile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConcurrentStandingsBenchmark {
+
+    private static final int MATCHES = 1 << 20;
+
+    @Param({"1", "2", "4", "8", "16", "32", "64"})
+    private int writers;
+
+    @Param({"20", "100000"})
+    private int teams;
+
+    private String[] teamA;
+    private String[] teamB;
+    private int[] scoreA;
+    private int[] scoreB;
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        teamA = new String[MATCHES];
+        teamB = new String[MATCHES];
+        scoreA = new int[MATCHES];
+        scoreB = new int[MATCHES];
+        int[] next = new int[1];
+        LeagueGenerator.generate(MATCHES, teams, (a, goalsA, b, goalsB) -> {
+            int i = next[0]++;
+            teamA[i] = a;
+            scoreA[i] = goalsA;
+            teamB[i] = b;
+            scoreB[i] = goalsB;
+        });
+        executor = Executors.newFixedThreadPool(writers);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public StandingsTable concurrentTable() throws Exception {
+        ConcurrentStandingsTable table = new ConcurrentStandingsTable();
+        write((from, to) -> record(from, to, table));
+        return table.snapshot();
+    }
+
+    @Benchmark
+    public StandingsTable concurrentTablePartials() throws Exception {
+        ConcurrentStandingsTable table = new ConcurrentStandingsTable();
+        write((from, to) -> {
+            StandingsTable partial = table.newPartial();
+            record(from, to, partial);
+            table.merge(partial);
+        });
+        return table.snapshot();
+    }
+
+    @Benchmark
+    public StandingsTable synchronizedTable() throws Exception {
+        StandingsTable table = new StandingsTable();
+        write((from, to) -> record(from, to, (a, goalsA, b, goalsB) -> {
+            synchronized (table) {
+                table.accept(a, goalsA, b, goalsB);
+            }
+        }));
+        synchronized (table) {
+            return table;
+        }
+    }
+
+    private void record(int from, int to, MatchSink sink) {
+        for (int i = from; i < to; i++) {
+            sink.accept(teamA[i], scoreA[i], teamB[i], scoreB[i]);
+        }
+    }
+
+    private void write(Writer writer) throws InterruptedException, ExecutionException {
+        List<Future<?>> running = new ArrayList<>(writers);
+        int slice = MATCHES / writers;
+        for (int i = 0; i < writers; i++) {
+            int from = i * slice;
+            int to = i == writers - 1 ? MATCHES : from + slice;
+            running.add(executor.submit(() -> writer.write(from, to)));
+        }
+        for (Future<?> future : running) {
+            future.get();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Writer {
+        void write(int from, int to);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ConcurrentStandingsBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,132 @@
+package com.spandigital.league.standings;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentStandingsTableTest {
+
+    private static final int WRITERS = 8;
+
+    @Test
+    void accept_ConcurrentWriters_SameStandingsAsSequentialTable() throws Exception {
+        // Arrange
+        ConcurrentStandingsTable table = new ConcurrentStandingsTable(4);
+        StandingsTable expected = new StandingsTable();
+        for (int writer = 0; writer < WRITERS; writer++) {
+            play(writer, 2_000, expected);
+        }
+
+        // Act
+        runWriters(writer -> play(writer, 2_000, table));
+        StandingsTable snapshot = table.snapshot();
+
+        // Assert
+        assertEquals(WRITERS * 2_000, snapshot.matchCount());
+        assertEquals(expected.ranking(), snapshot.ranking());
+    }
+
+    @Test
+    void merge_PartialsFromManyTeams_GrowsAcrossChunks() throws Exception {
+        // Arrange
+        ConcurrentStandingsTable table = new ConcurrentStandingsTable();
+        StandingsTable expected = new StandingsTable();
+        for (int writer = 0; writer < WRITERS; writer++) {
+            manyTeams(writer, expected);
+        }
+
+        // Act
+        runWriters(writer -> {
+            StandingsTable partial = table.newPartial();
+            manyTeams(writer, partial);
+            table.merge(partial);
+        });
+        StandingsTable snapshot = table.snapshot();
+
+        // Assert
+        assertTrue(snapshot.teamCount() > ConcurrentStandingsTable.CHUNK_TEAMS);
+        assertEquals(expected.matchCount(), snapshot.matchCount());
+        assertEquals(expected.ranking(), snapshot.ranking());
+    }
+
+    @Test
+    void snapshot_WhileWriting_SeesWholeMatchesOnly() throws Exception {
+        // Arrange - every match is won by team A, so each snapshot must balance wins, losses and points
+        ConcurrentStandingsTable table = new ConcurrentStandingsTable(2);
+        AtomicBoolean writing = new AtomicBoolean(true);
+        List<String> inconsistencies = new ArrayList<>();
+
+        // Act
+        Thread reader = Thread.ofPlatform().start(() -> {
+            while (writing.get()) {
+                StandingsTable snapshot = table.snapshot();
+                long wins = 0;
+                long losses = 0;
+                long points = 0;
+                for (int team = 0; team < snapshot.teamCount(); team++) {
+                    wins += snapshot.wins(team);
+                    losses += snapshot.losses(team);
+                    points += snapshot.points(team);
+                }
+                if (wins != snapshot.matchCount() || losses != wins || points != 3 * wins) {
+                    inconsistencies.add(wins + " wins, " + losses + " losses, " + points + " points");
+                }
+            }
+        });
+        try {
+            runWriters(writer -> {
+                for (int i = 0; i < 20_000; i++) {
+                    table.accept("Team" + (i % 7), 2, "Team" + ((i + writer) % 5 + 7), 1);
+                }
+            });
+        } finally {
+            writing.set(false);
+            reader.join();
+        }
+
+        // Assert
+        assertEquals(List.of(), inconsistencies);
+        assertEquals(WRITERS * 20_000, table.matchCount());
+    }
+
+    private static void play(int writer, int matches, MatchSink sink) {
+        String[] teams = {"Lions", "Snakes", "Tarantulas", "FC Awesome", "Grouches"};
+        for (int i = 0; i < matches; i++) {
+            sink.accept(teams[(i + writer) % 5], (i * 7 + writer) % 4, teams[(i * 3 + 1) % 5], (i + writer) % 3);
+        }
+    }
+
+    private static void manyTeams(int writer, MatchSink sink) {
+        for (int i = 0; i < 1_500; i++) {
+            sink.accept("Team" + (i * WRITERS + writer) % 3_000, i % 3, "Team" + (i + writer) % 3_000, writer % 3);
+        }
+    }
+
+    private static void runWriters(Writer writer) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(WRITERS);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int i = 0; i < WRITERS; i++) {
+                int id = i;
+                writers.add(executor.submit(() -> writer.write(id)));
+            }
+            for (Future<?> future : writers) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @FunctionalInterface
+    private interface Writer {
+        void write(int writer);
+    }
+}
@@ -0,0 +1,107 @@
+package com.spandigital.league.standings;
+
+import com.spandigital.league.match.dto.Match;
+import com.spandigital.league.match.dto.MatchResult;
+import com.spandigital.league.match.dto.TeamScore;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LiveStandingsTest {
+
+    @Test
+    void accept_EveryUpdate_TableMatchesFullRanking() {
+        // Arrange
+        Random random = new Random(3);
+        LiveStandings live = new LiveStandings();
+        StandingsTable expected = new StandingsTable();
+
+        for (int i = 0; i < 2_000; i++) {
+            String teamA = "Team" + random.nextInt(60);
+            String teamB = "Team" + random.nextInt(60);
+            int scoreA = random.nextInt(4);
+            int scoreB = random.nextInt(4);
+
+            // Act
+            live.accept(teamA, scoreA, teamB, scoreB);
+            expected.accept(teamA, scoreA, teamB, scoreB);
+
+            // Assert
+            if (i % 50 == 0) {
+                assertEquals(expected.ranking(), live.table(), "after match " + i);
+            }
+        }
+        assertEquals(expected.ranking(), live.table());
+        assertEquals(expected.matchCount(), live.matchCount());
+    }
+
+    @Test
+    void rankAndTeamAt_AgreeWithTable() {
+        // Arrange
+        Random random = new Random(5);
+        LiveStandings live = new LiveStandings();
+        for (int i = 0; i < 1_000; i++) {
+            live.accept("Team" + random.nextInt(200), random.nextInt(4),
+                    "Team" + random.nextInt(200), random.nextInt(4));
+        }
+
+        // Act
+        List<TeamStanding> table = live.table();
+
+        // Assert
+        for (int position = 1; position <= table.size(); position++) {
+            TeamStanding standing = table.get(position - 1);
+            assertEquals(position, live.rank(standing.team()));
+            assertEquals(standing, live.teamAt(position));
+        }
+        assertEquals(table.subList(0, 10), live.top(10));
+    }
+
+    @Test
+    void accept_MatchResult_UpdatesRankIncrementally() {
+        // Arrange
+        LiveStandings live = new LiveStandings();
+
+        // Act
+        live.accept(result("Lions", 3, "Snakes", 3));
+        live.accept(result("Tarantulas", 1, "FC Awesome", 0));
+
+        // Assert
+        assertEquals(1, live.rank("Tarantulas"));
+        assertEquals(2, live.rank("Lions"));
+        assertEquals(3, live.rank("Snakes"));
+        assertEquals(4, live.rank("FC Awesome"));
+
+        // Act
+        live.accept(result("Snakes", 4, "Tarantulas", 0));
+
+        // Assert
+        assertEquals(1, live.rank("Snakes"));
+        assertEquals(new TeamStanding("Snakes", 4, 1, 1, 0, 7, 3), live.teamAt(1));
+        assertEquals(4, live.teamCount());
+    }
+
+    @Test
+    void rank_UnknownTeam_ReturnsMinusOneWithoutAddingIt() {
+        // Arrange
+        LiveStandings live = new LiveStandings();
+        live.accept("Lions", 1, "Snakes", 0);
+
+        // Act
+        int rank = live.rank("Grouches");
+        live.accept("Grouches", 2, "Lions", 0);
+
+        // Assert
+        assertEquals(-1, rank);
+        assertEquals(3, live.teamCount());
+        assertEquals(3, live.table().size());
+        assertThrows(IndexOutOfBoundsException.class, () -> live.teamAt(4));
+    }
+
+    private static MatchResult result(String teamA, int scoreA, String teamB, int scoreB) {
+        return new MatchResult(new Match(new TeamScore(teamA, scoreA), new TeamScore(teamB, scoreB)));
+    }
+}
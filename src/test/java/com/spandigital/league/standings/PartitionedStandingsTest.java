@@ -0,0 +1,56 @@
+package com.spandigital.league.standings;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartitionedStandingsTest {
+
+    @Test
+    void accept_SameTeamInTwoLeagues_KeptApart() {
+        // Arrange
+        PartitionedStandings standings = new PartitionedStandings();
+
+        // Act
+        standings.accept("Premier", "Lions", 3, "Snakes", 1);
+        standings.accept("Championship", "Lions", 0, "Grouches", 2);
+        standings.accept("Tarantulas", 1, "FC Awesome", 1);
+
+        // Assert
+        assertEquals(List.of("", "Championship", "Premier"), standings.leagues());
+        assertEquals(3, standings.matchCount());
+        assertEquals(3, standings.league("Premier").points("Lions"));
+        assertEquals(0, standings.league("Championship").points("Lions"));
+        assertEquals(2, standings.league(LeagueMatchSink.DEFAULT_LEAGUE).teamCount());
+    }
+
+    @Test
+    void merge_Partials_SameAsAcceptingEveryMatch() {
+        // Arrange
+        PartitionedStandings expected = new PartitionedStandings();
+        PartitionedStandings merged = new PartitionedStandings();
+        merged.setTieBreakers(List.of(TieBreaker.POINTS, TieBreaker.GOAL_DIFFERENCE, TieBreaker.NAME));
+        expected.setTieBreakers(merged.getTieBreakers());
+        PartitionedStandings first = merged.newPartial();
+        PartitionedStandings second = merged.newPartial();
+        String[] leagues = {"Premier", "Championship", "League One"};
+        for (int i = 0; i < 90; i++) {
+            String league = leagues[i % 3];
+            expected.accept(league, "Team" + i % 7, i % 4, "Team" + (i + 3) % 7, i % 3);
+            (i < 45 ? first : second).accept(league, "Team" + i % 7, i % 4, "Team" + (i + 3) % 7, i % 3);
+        }
+
+        // Act
+        merged.merge(first);
+        merged.merge(second);
+
+        // Assert
+        assertEquals(expected.leagues(), merged.leagues());
+        for (String league : leagues) {
+            assertEquals(expected.league(league).ranking(), merged.league(league).ranking());
+            assertEquals(merged.getTieBreakers(), merged.league(league).getTieBreakers());
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.spandigital.league.standings;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RankingsTest {
+
+    private static StandingsTable randomTable(int teams, int matches, long seed) {
+        Random random = new Random(seed);
+        StandingsTable table = new StandingsTable();
+        for (int i = 0; i < matches; i++) {
+            table.accept("Team" + random.nextInt(teams), random.nextInt(4),
+                    "Team" + random.nextInt(teams), random.nextInt(4));
+        }
+        return table;
+    }
+
+    @Test
+    void rankAll_MatchesComparatorSortByPointsThenName() {
+        // Arrange
+        StandingsTable table = randomTable(500, 3_000, 7);
+        List<TeamStanding> expected = table.ranking().stream()
+                                           .sorted(Comparator.comparingInt(TeamStanding::points).reversed()
+                                                             .thenComparing(TeamStanding::team))
+                                           .toList();
+
+        // Act
+        int[] ranked = Rankings.rankAll(table.teamCount(), table.rankingOrder());
+
+        // Assert
+        assertEquals(expected.size(), ranked.length);
+        for (int i = 0; i < ranked.length; i++) {
+            assertEquals(expected.get(i).team(), table.teamName(ranked[i]));
+        }
+    }
+
+    @Test
+    void top_ReturnsPrefixOfFullRanking() {
+        // Arrange
+        StandingsTable table = randomTable(300, 1_000, 11);
+        List<TeamStanding> full = table.ranking();
+
+        for (int k : new int[] {1, 2, 10, 299, 300, 1_000}) {
+            // Act
+            List<TeamStanding> top = table.ranking(k);
+
+            // Assert
+            assertEquals(full.subList(0, Math.min(k, full.size())), top, "top " + k);
+        }
+    }
+
+    @Test
+    void top_NoTeamsOrZeroK_ReturnsEmpty() {
+        // Assert
+        assertEquals(0, Rankings.top(0, 5, (a, b) -> 0).length);
+        assertEquals(0, Rankings.top(5, 0, (a, b) -> 0).length);
+    }
+}
@@ -0,0 +1,68 @@
+package com.spandigital.league.standings;
+
+import com.spandigital.league.benchmark.LeagueGenerator;
+import com.spandigital.league.match.MatchStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregating and ranking a season with many teams: the in-memory table versus {@link SpillingStandings}
+ * with a team budget of a tenth of the teams, which spills partials to disk, aggregates the partitions
+ * and merges the ranked runs. Run via {@link #main(String[])} or the benchmark profile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SpillingStandingsBenchmark {
+
+    private static final int MATCHES = 1 << 20;
+
+    @Param({"100000"})
+    private int teams;
+
+    private MatchStore matches;
+
+    @Setup
+    public void setUp() {
+        matches = new MatchStore();
+        LeagueGenerator.generate(MATCHES, teams, matches);
+    }
+
+    @Benchmark
+    public void inMemory(Blackhole blackhole) {
+        StandingsTable table = new StandingsTable();
+        matches.replay(table);
+        table.ranking().forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void spilling(Blackhole blackhole) throws IOException {
+        try (SpillingStandings spilling = new SpillingStandings(teams / 10, null)) {
+            matches.replay(spilling);
+            spilling.ranking(0).forEach(blackhole::consume);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SpillingStandingsBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,126 @@
+package com.spandigital.league.standings;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpillingStandingsTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void ranking_MoreTeamsThanBudget_SameAsInMemoryTable() throws Exception {
+        // Arrange
+        StandingsTable expected = new StandingsTable();
+        List<TieBreaker> tieBreakers = List.of(TieBreaker.POINTS, TieBreaker.GOAL_DIFFERENCE, TieBreaker.NAME);
+        expected.setTieBreakers(tieBreakers);
+        try (SpillingStandings spilling = new SpillingStandings(50, directory)) {
+            spilling.setTieBreakers(tieBreakers);
+
+            // Act
+            play(new Random(7), 1000, 20_000, expected, spilling);
+            List<TeamStanding> ranking = toList(spilling.ranking(0));
+
+            // Assert
+            assertTrue(spilling.spilled());
+            assertEquals(expected.matchCount(), spilling.matchCount());
+            assertEquals(expected.teamCount(), spilling.teamCount());
+            assertEquals(expected.ranking(), ranking);
+            assertEquals(ranking, toList(spilling.ranking(0)), "runs can be merged again");
+        }
+    }
+
+    @Test
+    void ranking_PartitionsOverBudget_RepartitionsAndKeepsTopTeams() throws Exception {
+        // Arrange - 2 teams in memory, so each of the 64 partitions of 600 teams has to be split again
+        StandingsTable expected = new StandingsTable();
+        try (SpillingStandings spilling = new SpillingStandings(2, directory)) {
+            play(new Random(11), 600, 5_000, expected, spilling);
+
+            // Act
+            List<TeamStanding> top = toList(spilling.ranking(10));
+
+            // Assert
+            assertEquals(expected.ranking(10), top);
+            assertEquals(600, spilling.teamCount());
+            assertThrows(IllegalStateException.class, () -> spilling.ranking(0));
+            assertThrows(IllegalStateException.class, () -> spilling.accept("Lions", 1, "Snakes", 0));
+        }
+    }
+
+    @Test
+    void ranking_MoreRunsThanPartitions_MergesThemInPasses() throws Exception {
+        // Arrange - 1 team in memory, so the partitions of 2000 teams are split into over a thousand runs
+        StandingsTable expected = new StandingsTable();
+        try (SpillingStandings spilling = new SpillingStandings(1, directory)) {
+            play(new Random(25), 2_000, 10_000, expected, spilling);
+
+            // Act
+            List<TeamStanding> ranking = toList(spilling.ranking(0));
+
+            // Assert
+            assertEquals(expected.ranking(), ranking);
+            assertEquals(expected.teamCount(), spilling.teamCount());
+            Path spillDirectory;
+            try (Stream<Path> files = Files.list(directory)) {
+                spillDirectory = files.findFirst().orElseThrow();
+            }
+            assertTrue(count(spillDirectory) <= SpillingStandings.PARTITIONS,
+                    "runs left for the final merge: " + count(spillDirectory));
+        }
+    }
+
+    @Test
+    void close_Spilled_DeletesTemporaryFiles() throws Exception {
+        // Arrange
+        SpillingStandings withinBudget = new SpillingStandings(10, directory);
+        SpillingStandings spilling = new SpillingStandings(1, directory);
+        withinBudget.accept("Lions", 3, "Snakes", 3);
+        spilling.accept("Lions", 3, "Snakes", 3);
+        spilling.accept("Tarantulas", 1, "FC Awesome", 0);
+        spilling.ranking(0).iterator().next();
+
+        // Act
+        long filesBeforeClose = count(directory);
+        withinBudget.close();
+        spilling.close();
+
+        // Assert
+        assertFalse(withinBudget.spilled());
+        assertEquals(1, filesBeforeClose);
+        assertEquals(0, count(directory));
+    }
+
+    private static void play(Random random, int teams, int matches, MatchSink... sinks) {
+        for (int i = 0; i < matches; i++) {
+            String teamA = "Team" + random.nextInt(teams);
+            String teamB = "Team" + random.nextInt(teams);
+            int scoreA = random.nextInt(5);
+            int scoreB = random.nextInt(5);
+            for (MatchSink sink : sinks) {
+                sink.accept(teamA, scoreA, teamB, scoreB);
+            }
+        }
+    }
+
+    private static List<TeamStanding> toList(Iterable<TeamStanding> ranking) {
+        List<TeamStanding> list = new ArrayList<>();
+        ranking.forEach(list::add);
+        return list;
+    }
+
+    private static long count(Path directory) throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.count();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.spandigital.league.standings;
+
+import com.spandigital.league.benchmark.LeagueGenerator;
+import com.spandigital.league.match.MatchStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * "What was the table after match m": a {@link StandingsHistory} lookup (nearest snapshot plus the
+ * matches since) versus recomputing the prefix from the start of the season, for points spread over
+ * the season. Run via {@link #main(String[])} or the benchmark profile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StandingsHistoryBenchmark {
+
+    private static final int MATCHES = 1 << 20;
+    // Lookup points spread over the season, visited in turn
+    private static final int POINTS = 64;
+
+    @Param({"20", "10000"})
+    private int teams;
+
+    @Param({"256", "4096"})
+    private int interval;
+
+    private StandingsHistory history;
+    private MatchStore matches;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        history = new StandingsHistory(interval);
+        matches = new MatchStore();
+        LeagueGenerator.generate(MATCHES, teams, history.andThen(matches));
+    }
+
+    @Benchmark
+    public StandingsTable historyLookup() {
+        return history.at(nextPoint());
+    }
+
+    @Benchmark
+    public StandingsTable recomputePrefix() {
+        StandingsTable table = new StandingsTable();
+        matches.replay(0, nextPoint(), table);
+        return table;
+    }
+
+    private int nextPoint() {
+        next = (next + 1) % POINTS;
+        return (int) ((long) MATCHES * (next * 2 + 1) / (POINTS * 2)) + next;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(StandingsHistoryBenchmark.class.getSimpleName()).build()).run();
+    }
+}
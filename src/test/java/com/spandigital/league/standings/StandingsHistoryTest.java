@@ -0,0 +1,96 @@
+package com.spandigital.league.standings;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StandingsHistoryTest {
+
+    private static final String[] TEAMS = {"Lions", "Snakes", "Tarantulas", "FC Awesome", "Grouches", "Badgers"};
+
+    @Test
+    void at_EveryMatchCount_SameAsTableOfThatPrefix() {
+        // Arrange - new teams keep joining after the first snapshots
+        StandingsHistory history = new StandingsHistory(7);
+        List<int[]> matches = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            int[] match = {i % 4 + (i / 20), i % 3, (i * 5 + 1) % 4 + (i / 20) + 1, (i * 7) % 4};
+            matches.add(match);
+            history.accept("Team" + match[0], match[1], "Team" + match[2], match[3]);
+        }
+
+        for (int m = 0; m <= matches.size(); m++) {
+            StandingsTable expected = new StandingsTable();
+            for (int[] match : matches.subList(0, m)) {
+                expected.accept("Team" + match[0], match[1], "Team" + match[2], match[3]);
+            }
+
+            // Act
+            StandingsTable actual = history.at(m);
+
+            // Assert
+            assertEquals(m, actual.matchCount());
+            assertEquals(expected.ranking(), actual.ranking(), "after " + m + " matches");
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> history.at(101));
+    }
+
+    @Test
+    void atRound_RoundRobinFixtures_DetectsRoundsWhereNoTeamPlaysTwice() {
+        // Arrange
+        StandingsHistory history = new StandingsHistory(4);
+
+        // Act
+        playRoundRobin(history);
+
+        // Assert
+        assertEquals(5, history.rounds());
+        assertEquals(15, history.matchCount());
+        for (int round = 1; round <= 5; round++) {
+            assertEquals(round * 3, history.roundEnd(round));
+            assertEquals(round * 3, history.atRound(round).matchCount());
+            for (TeamStanding standing : history.atRound(round).ranking()) {
+                assertEquals(round, standing.wins() + standing.draws() + standing.losses());
+            }
+        }
+        assertEquals(0, history.atRound(0).teamCount());
+        assertEquals(history.current().ranking(), history.atRound(5).ranking());
+    }
+
+    @Test
+    void positionsByRound_OnePass_MatchesRankingAfterEachRound() {
+        // Arrange
+        StandingsHistory history = new StandingsHistory();
+        history.setTieBreakers(List.of(TieBreaker.POINTS, TieBreaker.GOAL_DIFFERENCE, TieBreaker.NAME));
+        playRoundRobin(history);
+
+        // Act
+        List<StandingsHistory.TeamPositions> chart = history.positionsByRound();
+
+        // Assert
+        assertEquals(history.current().ranking().stream().map(TeamStanding::team).toList(),
+                chart.stream().map(StandingsHistory.TeamPositions::team).toList());
+        for (int round = 1; round <= history.rounds(); round++) {
+            List<TeamStanding> ranking = history.atRound(round).ranking();
+            for (StandingsHistory.TeamPositions team : chart) {
+                int expected = ranking.stream().map(TeamStanding::team).toList().indexOf(team.team()) + 1;
+                assertEquals(expected, team.positions()[round - 1], team.team() + " after round " + round);
+            }
+        }
+    }
+
+    // A single round robin of six teams: five rounds of three matches, every team playing once per round
+    private static void playRoundRobin(MatchSink sink) {
+        int teams = TEAMS.length;
+        for (int round = 0; round < teams - 1; round++) {
+            for (int pair = 0; pair < teams / 2; pair++) {
+                int home = pair == 0 ? 0 : (round + pair) % (teams - 1) + 1;
+                int away = (round + teams - 1 - pair) % (teams - 1) + 1;
+                sink.accept(TEAMS[home], (round + pair) % 4, TEAMS[away], (round * 2 + pair) % 3);
+            }
+        }
+    }
+}
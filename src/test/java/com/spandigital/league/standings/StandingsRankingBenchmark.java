@@ -0,0 +1,80 @@
+package com.spandigital.league.standings;
+
+import com.spandigital.league.benchmark.LeagueGenerator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ranking the final table: Map.Entry stream sort (the original implementation) versus the primitive
+ * id merge sort and the bounded-heap top-K selection.
+ * Run via {@link #main(String[])} or the benchmark profile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StandingsRankingBenchmark {
+
+    @Param({"20", "10000", "200000", "1000000"})
+    private int teams;
+
+    @Param({"20"})
+    private int top;
+
+    private StandingsTable table;
+    private Map<String, Integer> teamPoints;
+
+    @Setup
+    public void setUp() {
+        table = new StandingsTable();
+        LeagueGenerator.generate(teams * 10L, teams, table);
+        teamPoints = new HashMap<>();
+        for (int team = 0; team < table.teamCount(); team++) {
+            teamPoints.put(table.teamName(team), table.points(team));
+        }
+    }
+
+    @Benchmark
+    public List<Map.Entry<String, Integer>> entrySort() {
+        return teamPoints.entrySet().stream()
+                         .sorted(Map.Entry.<String, Integer>comparingByValue().reversed()
+                                          .thenComparing(Map.Entry.comparingByKey()))
+                         .toList();
+    }
+
+    @Benchmark
+    public int[] primitiveSort() {
+        return table.rankedTeamIds(0);
+    }
+
+    @Benchmark
+    public int[] topK() {
+        return table.rankedTeamIds(top);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(StandingsRankingBenchmark.class.getSimpleName())
+                                       .addProfiler(GCProfiler.class)
+                                       .build()).run();
+    }
+}
@@ -0,0 +1,209 @@
+package com.spandigital.league.standings;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StandingsTableTest {
+
+    @Test
+    void addPoints_NewTeam_AddsInitialPoints() {
+        // Arrange
+        StandingsTable table = new StandingsTable();
+
+        // Act
+        table.addPoints("NewTeam", 3);
+
+        // Assert
+        assertEquals(3, table.points("NewTeam"));
+    }
+
+    @Test
+    void addPoints_ExistingTeam_AddsPointsToExistingTotal() {
+        // Arrange
+        StandingsTable table = new StandingsTable();
+        table.addPoints("ExistingTeam", 2);
+
+        // Act
+        table.addPoints("ExistingTeam", 3);
+
+        // Assert
+        assertEquals(5, table.points("ExistingTeam"));
+    }
+
+    @Test
+    void addPoints_TeamWithZeroPoints_RemainsPresentInTable() {
+        // Arrange
+        StandingsTable table = new StandingsTable();
+
+        // Act
+        table.addPoints("ZeroPointTeam", 0);
+
+        // Assert
+        assertEquals(1, table.teamCount());
+        assertEquals(0, table.points("ZeroPointTeam"));
+    }
+
+    @Test
+    void accept_WinsLossesAndDraws_RanksByPointsThenName() {
+        // Arrange
+        StandingsTable table = new StandingsTable();
+
+        // Act
+        table.accept("Lions", 3, "Snakes", 3);
+        table.accept("Tarantulas", 1, "FC Awesome", 0);
+        table.accept("Lions", 1, "FC Awesome", 1);
+        table.accept("Tarantulas", 3, "Snakes", 1);
+        table.accept("Lions", 4, "Grouches", 0);
+
+        // Assert
+        assertEquals(5, table.matchCount());
+        assertEquals(List.of(
+                new TeamStanding("Tarantulas", 6, 2, 0, 0, 4, 1),
+                new TeamStanding("Lions", 5, 1, 2, 0, 8, 4),
+                new TeamStanding("FC Awesome", 1, 0, 1, 1, 1, 2),
+                new TeamStanding("Snakes", 1, 0, 1, 1, 4, 6),
+                new TeamStanding("Grouches", 0, 0, 0, 1, 0, 4)
+        ), table.ranking());
+    }
+
+    @Test
+    void teamId_InternsNamesToDenseIds() {
+        // Arrange
+        StandingsTable table = new StandingsTable();
+
+        // Act
+        for (int i = 0; i < 100; i++) {
+            table.accept("Team" + i, 1, "Team" + (i + 1), 0);
+        }
+
+        // Assert - ids follow first sight and the arrays grew past their initial capacity
+        assertEquals(101, table.teamCount());
+        assertEquals(0, table.teamId("Team0"));
+        assertEquals(100, table.teamId("Team100"));
+        assertEquals("Team42", table.teamName(42));
+        assertEquals(3, table.points(42));
+        assertEquals(1, table.wins(42));
+        assertEquals(1, table.losses(42));
+        assertEquals(1, table.goalsFor(42));
+        assertEquals(1, table.goalsAgainst(42));
+    }
+
+    @Test
+    void points_UnknownTeam_ReturnsZeroWithoutAddingTeam() {
+        // Arrange
+        StandingsTable table = new StandingsTable();
+
+        // Act & Assert
+        assertEquals(0, table.points("Nobody"));
+        assertEquals(0, table.teamCount());
+    }
+
+    @Test
+    void merge_Partials_SameRankingAsSingleTable() {
+        // Arrange
+        StandingsTable whole = new StandingsTable();
+        StandingsTable merged = new StandingsTable();
+        StandingsTable first = merged.newPartial();
+        StandingsTable second = merged.newPartial();
+        for (int i = 0; i < 100; i++) {
+            String home = "Team" + (i % 9);
+            String away = "Team" + ((i * 7 + 1) % 9);
+            whole.accept(home, i % 4, away, i % 3);
+            (i < 37 ? first : second).accept(home, i % 4, away, i % 3);
+        }
+
+        // Act
+        merged.merge(second);
+        merged.merge(first);
+
+        // Assert
+        assertEquals(whole.ranking(), merged.ranking());
+        assertEquals(100, merged.matchCount());
+    }
+
+    @Test
+    void accept_Matches_TracksFullTableInOnePass() {
+        // Arrange
+        StandingsTable table = new StandingsTable();
+
+        // Act
+        table.accept("Lions", 3, "Snakes", 3);
+        table.accept("Lions", 1, "Snakes", 2);
+        table.accept("Grouches", 0, "Lions", 4);
+
+        // Assert
+        int lions = table.findTeam("Lions");
+        assertEquals(3, table.played(lions));
+        assertEquals(new TeamStanding("Lions", 4, 1, 1, 1, 8, 5), table.standing(lions));
+        assertEquals(3, table.goalDifference(lions));
+        assertEquals(-4, table.standing(table.findTeam("Grouches")).goalDifference());
+        assertEquals(2, table.standing(table.findTeam("Snakes")).played());
+    }
+
+    @Test
+    void readFrom_WrittenTable_RestoresTeamsCountersAndMatchCount() throws IOException {
+        // Arrange
+        StandingsTable table = new StandingsTable();
+        table.accept("Lions", 3, "Snakes", 3);
+        table.accept("Tarantulas", 1, "FC Awesome", 0);
+        table.accept("Lions", 1, "FC Awesome", 1);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        table.writeTo(new DataOutputStream(bytes));
+
+        // Act
+        StandingsTable restored = StandingsTable.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        // Assert
+        assertEquals(3, restored.matchCount());
+        assertEquals(table.teamCount(), restored.teamCount());
+        assertEquals(table.ranking(), restored.ranking());
+        assertEquals(new TeamStanding("Lions", 2, 0, 2, 0, 4, 4), restored.standing(restored.findTeam("Lions")));
+    }
+
+    @Test
+    void rankedTeamIds_TieBreakers_AppliedInOrder() {
+        // Arrange - three teams on 3 points: Lions 3-0, Tarantulas 4-2, Snakes 5-4
+        StandingsTable table = new StandingsTable();
+        table.accept("Lions", 3, "Grouches", 0);
+        table.accept("Tarantulas", 4, "Grouches", 2);
+        StandingsTable partial = table.newPartial();
+        partial.accept("Snakes", 5, "Grouches", 4);
+        table.merge(partial);
+
+        // Act
+        List<String> byName = names(table, table.rankedTeamIds(0));
+        table.setTieBreakers(TieBreaker.parse("points, goals-for"));
+        List<String> byGoalsFor = names(table, table.rankedTeamIds(0));
+        table.setTieBreakers(TieBreaker.parse("POINTS,GOAL_DIFFERENCE,goals-for"));
+        List<String> byGoalDifference = names(table, table.rankedTeamIds(2));
+
+        // Assert
+        assertEquals(List.of("Lions", "Snakes", "Tarantulas", "Grouches"), byName);
+        assertEquals(List.of("Snakes", "Tarantulas", "Lions", "Grouches"), byGoalsFor);
+        assertEquals(List.of("Lions", "Tarantulas"), byGoalDifference);
+    }
+
+    @Test
+    void parse_TieBreakers_AppendsNameAndRejectsUnknown() {
+        // Assert
+        assertEquals(List.of(TieBreaker.POINTS, TieBreaker.GOAL_DIFFERENCE, TieBreaker.NAME),
+                TieBreaker.parse("points,goal-difference"));
+        assertEquals(List.of(TieBreaker.NAME, TieBreaker.POINTS), TieBreaker.parse("name,points"));
+        assertThrows(IllegalArgumentException.class, () -> TieBreaker.parse("points,wins"));
+        assertThrows(IllegalArgumentException.class, () -> TieBreaker.parse("points,points"));
+        assertThrows(IllegalArgumentException.class, () -> TieBreaker.parse(" , "));
+    }
+
+    private static List<String> names(StandingsTable table, int[] teams) {
+        return Arrays.stream(teams).mapToObj(table::teamName).toList();
+    }
+}